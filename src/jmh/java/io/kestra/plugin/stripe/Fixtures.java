@@ -0,0 +1,92 @@
+package io.kestra.plugin.stripe;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.stripe.net.Webhook;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+/**
+ * Recorded Stripe payloads used by the benchmarks, so that they run offline and measure the same input on every run.
+ */
+final class Fixtures {
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+
+    private Fixtures() {
+    }
+
+    static String load(String name) {
+        try (InputStream stream = Fixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (stream == null) {
+                throw new IllegalArgumentException("Unknown fixture '" + name + "'");
+            }
+            return new String(stream.readAllBytes(), StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Builds a list response body with {@code size} copies of the fixture object, each with its own ID.
+     */
+    static String listPage(String name, int size, String url) {
+        try {
+            ObjectNode item = (ObjectNode) MAPPER.readTree(load(name));
+            String id = item.get("id").asText();
+
+            ObjectNode page = MAPPER.createObjectNode()
+                .put("object", "list")
+                .put("url", url)
+                .put("has_more", true);
+            ArrayNode data = page.putArray("data");
+            for (int i = 0; i < size; i++) {
+                data.add(item.deepCopy().put("id", id + i));
+            }
+            return MAPPER.writeValueAsString(page);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Builds an {@code invoice.paid} event whose invoice has {@code lines} line items, pinned to the SDK API version.
+     */
+    static String invoicePaidEvent(int lines, String apiVersion) {
+        try {
+            ObjectNode event = (ObjectNode) MAPPER.readTree(load("invoice_paid_event.json"));
+            event.put("api_version", apiVersion);
+
+            ObjectNode item = (ObjectNode) MAPPER.readTree(load("invoice_line_item.json"));
+            ObjectNode invoiceLines = (ObjectNode) event.get("data").get("object").get("lines");
+            ArrayNode data = invoiceLines.putArray("data");
+            for (int i = 0; i < lines; i++) {
+                data.add(item.deepCopy().put("id", item.get("id").asText() + i));
+            }
+            invoiceLines.put("total_count", lines);
+
+            return MAPPER.writeValueAsString(event);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Returns a valid {@code Stripe-Signature} header for the payload, signed now with the given secret.
+     */
+    static String signatureHeader(String payload, String secret) {
+        long timestamp = Instant.now().getEpochSecond();
+        try {
+            String signature = Webhook.Util.computeHmacSha256(secret, timestamp + "." + payload);
+            return "t=" + timestamp + ",v1=" + signature;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package io.kestra.plugin.stripe;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.stripe.model.CustomerCollection;
+import com.stripe.model.PaymentIntentCollection;
+import com.stripe.model.StripeCollection;
+import com.stripe.model.StripeObject;
+import com.stripe.net.ApiResource;
+import com.stripe.net.HttpHeaders;
+import com.stripe.net.StripeResponse;
+
+/**
+ * Measures the conversion of one list page, as done by {@code customer.List} and {@code payment.ListIntents}, with and
+ * without a field projection. The page is converted from the body of its response in one pass, so the time per page
+ * must grow linearly with {@code pageSize}: about 10x from 100 to 1000 elements, where re-parsing the page for each
+ * element would be about 100x.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ListConversionBenchmark {
+    @Param({"10", "100", "1000"})
+    private int pageSize;
+
+    private CustomerCollection customers;
+    private PaymentIntentCollection paymentIntents;
+    private FieldProjection projection;
+
+    @Setup
+    public void setup() {
+        customers = page(Fixtures.listPage("customer.json", pageSize, "/v1/customers"), CustomerCollection.class);
+        paymentIntents = page(Fixtures.listPage("payment_intent.json", pageSize, "/v1/payment_intents"), PaymentIntentCollection.class);
+        projection = FieldProjection.of(List.of("id", "email", "metadata.crm_id", "amount", "status"));
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> customerList() throws IOException {
+        return StripeJson.elements(customers, null);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> customerListWithFields() throws IOException {
+        return StripeJson.elements(customers, projection);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> listIntents() throws IOException {
+        return StripeJson.elements(paymentIntents, null);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> listIntentsWithFields() throws IOException {
+        return StripeJson.elements(paymentIntents, projection);
+    }
+
+    private static <T extends StripeCollection<? extends StripeObject>> T page(String body, Class<T> type) {
+        StripeResponse response = new StripeResponse(200, HttpHeaders.of(Map.of()), body);
+        T page = ApiResource.GSON.fromJson(body, type);
+        page.setLastResponse(response);
+        page.getData().forEach(object -> object.setLastResponse(response));
+        return page;
+    }
+}
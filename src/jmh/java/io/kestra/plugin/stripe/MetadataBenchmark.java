@@ -0,0 +1,47 @@
+package io.kestra.plugin.stripe;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the metadata conversion done by {@code customer.Create} and {@code customer.Update} before each call, up to
+ * Stripe's limit of 50 keys.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MetadataBenchmark {
+    @Param({"5", "50"})
+    private int keys;
+
+    private Map<String, Object> metadata;
+
+    @Setup
+    public void setup() {
+        metadata = new LinkedHashMap<>();
+        for (int i = 0; i < keys; i++) {
+            Object value = switch (i % 4) {
+                case 0 -> "value-" + i;
+                case 1 -> i;
+                case 2 -> i % 8 == 2;
+                default -> null;
+            };
+            metadata.put("key_" + i, value);
+        }
+    }
+
+    @Benchmark
+    public Map<String, String> stripeMetadata() {
+        return AbstractStripe.stripeMetadata(metadata);
+    }
+}
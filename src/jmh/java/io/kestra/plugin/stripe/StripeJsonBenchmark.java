@@ -0,0 +1,57 @@
+package io.kestra.plugin.stripe;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.stripe.model.PaymentIntent;
+import com.stripe.net.ApiResource;
+import com.stripe.net.HttpHeaders;
+import com.stripe.net.StripeResponse;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+/**
+ * Compares the {@link StripeJson} conversions with the {@code toJson()} round-trip several tasks used before: serializing
+ * the object to a string, then parsing that string with Jackson.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class StripeJsonBenchmark {
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private PaymentIntent intent;
+
+    @Setup
+    public void setup() {
+        String paymentIntent = Fixtures.load("payment_intent.json");
+        intent = ApiResource.GSON.fromJson(paymentIntent, PaymentIntent.class);
+        intent.setLastResponse(new StripeResponse(200, HttpHeaders.of(Map.of()), paymentIntent));
+    }
+
+    @Benchmark
+    public Map<String, Object> toJsonThenParse() throws IOException {
+        return JacksonMapper.ofJson().readValue(intent.toJson(), MAP_TYPE);
+    }
+
+    @Benchmark
+    public Map<String, Object> fromResponse() throws IOException {
+        return StripeJson.fromResponse(intent);
+    }
+
+    @Benchmark
+    public Map<String, Object> fromOwnFields() {
+        return StripeJson.toMap(intent);
+    }
+}
@@ -0,0 +1,74 @@
+package io.kestra.plugin.stripe;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import com.stripe.Stripe;
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.model.Event;
+import com.stripe.net.Webhook;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+/**
+ * Measures what {@code webhook.HandleEvent} does per event: signature verification plus either the full event parse or
+ * the streamed extraction of selected fields, for a small and a large {@code invoice.paid} payload.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WebhookBenchmark {
+    private static final String SECRET = "whsec_benchmark";
+
+    /**
+     * Number of invoice line items: 1 gives a payload of about 2 KB, 500 one of about 250 KB.
+     */
+    @Param({"1", "500"})
+    private int lines;
+
+    private String payload;
+    private String signatureHeader;
+    private FieldProjection projection;
+
+    @Setup
+    public void setup() {
+        payload = Fixtures.invoicePaidEvent(lines, Stripe.API_VERSION);
+        projection = FieldProjection.of(List.of("id", "customer", "amount_paid", "status"))
+            .nest("data", "object")
+            .include("id")
+            .include("type");
+    }
+
+    /**
+     * Signs again before every iteration, as Stripe rejects signatures older than its tolerance.
+     */
+    @Setup(Level.Iteration)
+    public void sign() {
+        signatureHeader = Fixtures.signatureHeader(payload, SECRET);
+    }
+
+    @Benchmark
+    @SuppressWarnings("unchecked")
+    public Map<String, Object> verifyAndParse() throws SignatureVerificationException {
+        Event event = Webhook.constructEvent(payload, signatureHeader, SECRET);
+        return JacksonMapper.ofJson().convertValue(event.getData().getObject(), Map.class);
+    }
+
+    @Benchmark
+    public Map<String, Object> verifyAndProject() throws SignatureVerificationException, IOException {
+        Webhook.Signature.verifyHeader(payload, signatureHeader, SECRET, Webhook.DEFAULT_TOLERANCE);
+        return projection.project(payload);
+    }
+}
@@ -1,19 +1,39 @@
 package io.kestra.plugin.stripe;
 
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.stripe.Stripe;
 import com.stripe.StripeClient;
+import com.stripe.model.StripeObject;
+import com.stripe.net.LiveStripeResponseGetter;
+import com.stripe.net.RequestOptions;
+import com.stripe.net.StripeResponseGetter;
 
 import io.kestra.core.exceptions.IllegalVariableEvaluationException;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.Task;
 import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.JacksonMapper;
 
 import io.kestra.core.models.annotations.PluginProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 
 /**
  * Abstract base class for Stripe tasks using the Stripe Java SDK.
+ * <p>
+ * Every API call made through {@link #client(RunContext)}, including each page and each bulk row, is reported as a
+ * {@code request.duration} timer tagged by endpoint and HTTP status, along with {@code response.bytes} and
+ * {@code rate.limited} counters per endpoint.
  */
 @SuperBuilder
 @ToString
@@ -21,6 +41,9 @@ import lombok.experimental.SuperBuilder;
 @Getter
 @NoArgsConstructor
 public abstract class AbstractStripe extends Task implements StripeInterface {
+    private static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(30);
+    private static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(80);
+
     /**
      * Stripe API key (secret).
      */
@@ -29,14 +52,223 @@ public abstract class AbstractStripe extends Task implements StripeInterface {
     @ToString.Exclude
     protected Property<String> apiKey;
 
+    @Schema(
+        title = "HTTP transport",
+        description = "`DEFAULT` uses the Stripe SDK `HttpURLConnection` client; `JAVA_HTTP_CLIENT` uses `java.net.http` with HTTP/2 multiplexing, pooled keep-alive connections and gzip responses"
+    )
+    @NotNull
+    @Builder.Default
+    @PluginProperty(group = "connection")
+    protected Property<Transport> transport = Property.ofValue(Transport.DEFAULT);
+
+    @Schema(
+        title = "API base URL",
+        description = "Base URL of the Stripe API; change it only to go through a proxy or to point tasks at a local Stripe stand-in"
+    )
+    @NotNull
+    @Builder.Default
+    @PluginProperty(group = "connection")
+    protected Property<String> apiBase = Property.ofValue(Stripe.LIVE_API_BASE);
+
+    @Schema(title = "Connect timeout", description = "Defaults to 30 seconds")
+    @PluginProperty(group = "connection")
+    protected Property<Duration> connectTimeout;
+
+    @Schema(title = "Read timeout", description = "Maximum time to wait for a Stripe response; defaults to 80 seconds")
+    @PluginProperty(group = "connection")
+    protected Property<Duration> readTimeout;
+
+    @Schema(
+        title = "Client-side rate limit",
+        description = "When true, requests wait for a permit from a token bucket shared by every task on the worker using the same API key, instead of hitting Stripe's rate limit and failing with 429s. Time spent waiting is reported in the `rate.limit.wait` metric. Defaults to true for bulk tasks and false otherwise"
+    )
+    @PluginProperty(group = "connection")
+    protected Property<Boolean> rateLimit;
+
+    @Schema(
+        title = "Rate limit budget",
+        description = "Requests per second allowed by the client-side rate limit; defaults to Stripe's budget of 100 for live keys and 25 for test keys. The budget is shared by every task on the worker using the same API key, and the last task that sets it wins"
+    )
+    @Min(1)
+    @PluginProperty(group = "connection")
+    protected Property<Integer> requestsPerSecond;
+
+    @Schema(
+        title = "Adaptive concurrency",
+        description = "When true, the number of in-flight requests per API key on the worker adapts to Stripe's responses: it grows while responses are fast and successful and is cut back on 429s or rising latency. Time spent waiting for a slot is reported in the `concurrency.limit.wait` metric"
+    )
+    @NotNull
+    @Builder.Default
+    @PluginProperty(group = "connection")
+    protected Property<Boolean> adaptiveConcurrency = Property.ofValue(false);
+
+    @Schema(
+        title = "Maximum concurrency",
+        description = "Upper bound on this task's in-flight requests under the adaptive limit. Tasks sharing an API key share one limit, which grows up to the largest `maxConcurrency` among them"
+    )
+    @Min(1)
+    @Builder.Default
+    @PluginProperty(group = "connection")
+    protected Property<Integer> maxConcurrency = Property.ofValue(64);
+
+    @Schema(
+        title = "Network retry policy",
+        description = "On by default with 3 attempts; set `maxAttempts: 1` to fail on the first error as before. Retries transient failures (network errors, 409, 429 and 5xx responses) with exponential backoff and full jitter, waiting at least as long as Stripe's `Retry-After` header and honoring `Stripe-Should-Retry`. Mutating requests reuse the same idempotency key across attempts. Retry counts and time spent waiting are reported in the `retries` and `retry.wait` metrics"
+    )
+    @Builder.Default
+    @PluginProperty(group = "connection")
+    protected NetworkRetry networkRetry = NetworkRetry.builder().build();
+
     /**
-     * Returns a configured Stripe client.
+     * Returns a configured Stripe client. Its HTTP machinery is shared with other tasks on this worker using the same
+     * API key and options, while limits and metrics are applied to this run.
      */
     protected StripeClient client(RunContext runContext) throws IllegalVariableEvaluationException {
         String rApiKey = runContext.render(this.apiKey)
             .as(String.class)
             .orElseThrow(() -> new IllegalArgumentException("Stripe API key is required"));
 
-        return new StripeClient(rApiKey);
+        String rApiBase = runContext.render(this.apiBase).as(String.class).orElse(Stripe.LIVE_API_BASE);
+        Transport rTransport = runContext.render(this.transport).as(Transport.class).orElse(Transport.DEFAULT);
+        Duration rConnectTimeout = runContext.render(this.connectTimeout).as(Duration.class).orElse(DEFAULT_CONNECT_TIMEOUT);
+        Duration rReadTimeout = runContext.render(this.readTimeout).as(Duration.class).orElse(DEFAULT_READ_TIMEOUT);
+
+        String options = String.join(",", rApiBase, rTransport.name(), rConnectTimeout.toString(), rReadTimeout.toString());
+
+        StripeResponseGetter responseGetter = StripeClientCache.get(rApiKey, options, () -> new LiveStripeResponseGetter(
+            new ResponseGetterOptions(rApiKey, rApiBase, (int) rConnectTimeout.toMillis(), (int) rReadTimeout.toMillis()),
+            rTransport == Transport.JAVA_HTTP_CLIENT ? new JavaHttpClient(rConnectTimeout, rReadTimeout) : null
+        ));
+
+        TokenBucket rateLimiter = null;
+        if (runContext.render(this.rateLimit).as(Boolean.class).orElse(defaultRateLimit())) {
+            Integer rRequestsPerSecond = runContext.render(this.requestsPerSecond).as(Integer.class).orElse(null);
+            rateLimiter = TokenBucket.of(rApiKey, rRequestsPerSecond);
+        }
+
+        AdaptiveConcurrencyLimiter concurrencyLimiter = null;
+        int rMaxConcurrency = Integer.MAX_VALUE;
+        if (runContext.render(this.adaptiveConcurrency).as(Boolean.class).orElse(false)) {
+            rMaxConcurrency = runContext.render(this.maxConcurrency).as(Integer.class).orElse(64);
+            concurrencyLimiter = AdaptiveConcurrencyLimiter.of(rApiKey, rMaxConcurrency);
+        }
+
+        NetworkRetry rNetworkRetry = this.networkRetry != null ? this.networkRetry : NetworkRetry.builder().build();
+        TaskResponseGetter.Retry retry = new TaskResponseGetter.Retry(
+            runContext.render(rNetworkRetry.getMaxAttempts()).as(Integer.class).orElse(NetworkRetry.DEFAULT_MAX_ATTEMPTS),
+            runContext.render(rNetworkRetry.getBaseDelay()).as(Duration.class).orElse(NetworkRetry.DEFAULT_BASE_DELAY),
+            runContext.render(rNetworkRetry.getMaxDelay()).as(Duration.class).orElse(NetworkRetry.DEFAULT_MAX_DELAY),
+            runContext.render(rNetworkRetry.getMaxDuration()).as(Duration.class).orElse(NetworkRetry.DEFAULT_MAX_DURATION),
+            runContext.render(rNetworkRetry.getJitter()).as(Boolean.class).orElse(true)
+        );
+
+        return new StripeClient(new TaskResponseGetter(responseGetter, runContext, rateLimiter, concurrencyLimiter, rMaxConcurrency, retry));
+    }
+
+    /**
+     * Whether the client-side rate limit applies when {@code rateLimit} is not set.
+     */
+    protected boolean defaultRateLimit() {
+        return false;
+    }
+
+    /**
+     * Returns request options carrying the rendered idempotency key, or one derived from the execution and task run so
+     * that every attempt of this task run, including Kestra task retries, replays the same Stripe operation.
+     */
+    protected RequestOptions idempotentRequestOptions(RunContext runContext, Property<String> idempotencyKey) throws IllegalVariableEvaluationException {
+        String rIdempotencyKey = runContext.render(idempotencyKey).as(String.class).orElse(null);
+        if (rIdempotencyKey == null) {
+            rIdempotencyKey = defaultIdempotencyKey(runContext);
+        }
+
+        return rIdempotencyKey == null || rIdempotencyKey.isBlank()
+            ? RequestOptions.getDefault()
+            : RequestOptions.builder().setIdempotencyKey(rIdempotencyKey).build();
+    }
+
+    /**
+     * Converts rendered metadata to the string values Stripe expects, with null values sent as empty strings.
+     */
+    protected static Map<String, String> stripeMetadata(Map<String, Object> metadata) {
+        Map<String, String> converted = new LinkedHashMap<>(metadata.size() * 4 / 3 + 1);
+        for (Map.Entry<String, Object> entry : metadata.entrySet()) {
+            converted.put(entry.getKey(), entry.getValue() == null ? "" : entry.getValue().toString());
+        }
+        return converted;
+    }
+
+    /**
+     * Writes the raw JSON body of the response that returned this object to internal storage, without parsing it.
+     */
+    protected URI storeResponse(RunContext runContext, StripeObject object) throws IOException {
+        return storeResponse(runContext, object, null);
+    }
+
+    /**
+     * Writes the JSON of this object to internal storage, restricted to the projected fields when a projection is set.
+     */
+    protected URI storeResponse(RunContext runContext, StripeObject object, FieldProjection projection) throws IOException {
+        String body = StripeJson.responseBody(object);
+        if (projection != null) {
+            body = JacksonMapper.ofJson().writeValueAsString(projection.project(body));
+        }
+
+        File tempFile = runContext.workingDir().createTempFile(".json").toFile();
+        Files.writeString(tempFile.toPath(), body);
+        return runContext.storage().putFile(tempFile);
+    }
+
+    static String defaultIdempotencyKey(RunContext runContext) {
+        Object execution = runContext.getVariables().get("execution");
+        Object taskRun = runContext.getVariables().get("taskrun");
+        if (!(execution instanceof Map<?, ?> executionMap) || !(taskRun instanceof Map<?, ?> taskRunMap)) {
+            return null;
+        }
+
+        Object executionId = executionMap.get("id");
+        Object taskRunId = taskRunMap.get("id");
+        if (executionId == null || taskRunId == null) {
+            return null;
+        }
+
+        return "kestra-" + executionId + "-" + taskRunId;
+    }
+
+    public enum Transport {
+        DEFAULT,
+        JAVA_HTTP_CLIENT
+    }
+
+    @Builder
+    @Getter
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class NetworkRetry {
+        static final int DEFAULT_MAX_ATTEMPTS = 3;
+        static final Duration DEFAULT_BASE_DELAY = Duration.ofMillis(500);
+        static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(5);
+        static final Duration DEFAULT_MAX_DURATION = Duration.ofMinutes(1);
+
+        @Schema(title = "Maximum attempts", description = "Total attempts per request including the first one; 1 disables retries")
+        @Min(1)
+        @Builder.Default
+        private Property<Integer> maxAttempts = Property.ofValue(DEFAULT_MAX_ATTEMPTS);
+
+        @Schema(title = "Base delay", description = "Backoff before the first retry; doubled on each following attempt")
+        @Builder.Default
+        private Property<Duration> baseDelay = Property.ofValue(DEFAULT_BASE_DELAY);
+
+        @Schema(title = "Maximum delay", description = "Upper bound for the exponential backoff between two attempts")
+        @Builder.Default
+        private Property<Duration> maxDelay = Property.ofValue(DEFAULT_MAX_DELAY);
+
+        @Schema(title = "Total retry budget", description = "No retry is scheduled once this much time has elapsed since the first attempt")
+        @Builder.Default
+        private Property<Duration> maxDuration = Property.ofValue(DEFAULT_MAX_DURATION);
+
+        @Schema(title = "Full jitter", description = "When true, each backoff is a random duration between zero and the exponential delay")
+        @Builder.Default
+        private Property<Boolean> jitter = Property.ofValue(true);
     }
 }
@@ -0,0 +1,138 @@
+package io.kestra.plugin.stripe;
+
+import java.net.URI;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.stripe.StripeClient;
+import com.stripe.net.RequestOptions;
+
+import io.kestra.core.models.property.Data;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+
+import io.kestra.core.models.annotations.PluginProperty;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+/**
+ * Abstract base class for Stripe tasks that issue one API call per input row.
+ * <p>
+ * Rows are processed concurrently on virtual threads and each result is written, in input order, as a row of an ION
+ * file in internal storage. A failing row is reported in its result and never aborts the batch.
+ */
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+public abstract class AbstractStripeBulk extends AbstractStripe implements Data.From {
+    @Schema(
+        title = Data.From.TITLE,
+        description = Data.From.DESCRIPTION,
+        anyOf = {String.class, java.util.List.class, Map.class}
+    )
+    @NotNull
+    @PluginProperty(dynamic = true, internalStorageURI = true, group = "main")
+    private Object from;
+
+    @Schema(
+        title = "Concurrency",
+        description = "Maximum number of rows sent to Stripe at the same time, each on its own virtual thread. Combine with `rateLimit` or `adaptiveConcurrency` to stay within Stripe's budget"
+    )
+    @Min(1)
+    @Builder.Default
+    @PluginProperty(group = "processing")
+    private Property<Integer> concurrency = Property.ofValue(10);
+
+    @Schema(
+        title = "Checkpoint progress",
+        description = "When true, progress is saved in the namespace KV store while rows are processed, so that a retry of the same task run skips rows that already succeeded and reports them as `skipped`, with the result fields, such as the created object ID, saved by the attempt that processed them. Failed rows are processed again with the same idempotency key, so that a request which reached Stripe is never applied twice: for 24 hours Stripe replays the error of a request it started executing, such as a declined payment, rather than processing it again, while rows rejected by validation or that never reached Stripe are processed again. Defaults to true for tasks that modify Stripe objects and false for read-only tasks, which can simply fetch again"
+    )
+    @PluginProperty(group = "processing")
+    private Property<Boolean> checkpoint;
+
+    /**
+     * Runs the handler on every input row and stores one result row per input row.
+     */
+    protected BulkResult processRows(RunContext runContext, RowHandler handler) throws Exception {
+        return processRows(runContext, Data.from(this.from).read(runContext).toIterable(), handler);
+    }
+
+    /**
+     * Runs the handler on the given rows, for tasks that derive their rows from {@code from} themselves.
+     */
+    protected BulkResult processRows(RunContext runContext, Iterable<Map<String, Object>> rows, RowHandler handler) throws Exception {
+        return processRows(runContext, rows, handler, result -> {
+        });
+    }
+
+    /**
+     * Runs the handler on every input row and hands each result row, including rows skipped thanks to the checkpoint
+     * with the result saved by a previous attempt, to {@code onResult} in input order.
+     */
+    protected BulkResult processRows(RunContext runContext, RowHandler handler, Consumer<Map<String, Object>> onResult) throws Exception {
+        return processRows(runContext, Data.from(this.from).read(runContext).toIterable(), handler, onResult);
+    }
+
+    private BulkResult processRows(RunContext runContext, Iterable<Map<String, Object>> rows, RowHandler handler, Consumer<Map<String, Object>> onResult) throws Exception {
+        int rConcurrency = runContext.render(this.concurrency).as(Integer.class).orElse(10);
+        StripeClient client = client(runContext);
+
+        BulkCheckpoint rCheckpoint = runContext.render(this.checkpoint).as(Boolean.class).orElse(defaultCheckpoint())
+            ? BulkCheckpoint.load(runContext)
+            : null;
+        if (rCheckpoint != null && rCheckpoint.previousPosition() > 0) {
+            runContext.logger().info(
+                "Resuming from checkpoint: {} rows already processed, of which {} failed and are processed again",
+                rCheckpoint.previousPosition(),
+                rCheckpoint.previousFailureCount()
+            );
+        }
+
+        return new BulkProcessor(runContext, rConcurrency).process(
+            rows,
+            (row, index) -> handler.apply(client, row, index),
+            rCheckpoint,
+            onResult
+        );
+    }
+
+    /**
+     * Whether progress is checkpointed when {@code checkpoint} is not set.
+     */
+    protected boolean defaultCheckpoint() {
+        return true;
+    }
+
+    /**
+     * Bulk tasks share the worker's rate limit unless it is explicitly disabled.
+     */
+    @Override
+    protected boolean defaultRateLimit() {
+        return true;
+    }
+
+    /**
+     * Returns request options with an idempotency key unique to this row of this task run, so that a retried task
+     * replays rows Stripe already applied instead of repeating them.
+     */
+    protected RequestOptions rowRequestOptions(RunContext runContext, long index) {
+        String key = defaultIdempotencyKey(runContext);
+        return key == null ? RequestOptions.getDefault() : RequestOptions.builder().setIdempotencyKey(key + "-" + index).build();
+    }
+
+    /**
+     * Issues the Stripe call for one input row and returns the fields to add to its result row.
+     */
+    @FunctionalInterface
+    protected interface RowHandler {
+        Map<String, Object> apply(StripeClient client, Map<String, Object> row, long index) throws Exception;
+    }
+
+    protected record BulkResult(URI uri, long successCount, long failureCount, long skippedCount) {
+    }
+}
@@ -0,0 +1,222 @@
+package io.kestra.plugin.stripe;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Additive-increase / multiplicative-decrease limit on the number of in-flight Stripe requests, shared by every task on
+ * the worker that uses the same API key, since Stripe throttles per account whatever each task's settings.
+ * <p>
+ * Each fast successful response raises the limit by {@code 1 / limit} (about one extra slot per round trip), a
+ * response much slower than the best latency seen recently on the same endpoint lowers it by 10%, and a 429 halves it.
+ * The limit therefore settles near the highest concurrency Stripe sustains without throttling, without manual tuning.
+ * The shared limit grows up to the largest {@code maxConcurrency} of its callers, and each caller never has more than
+ * its own {@code maxConcurrency} requests in flight.
+ * <p>
+ * Limiters are bounded to {@link #MAX_SIZE} entries and dropped after {@link #IDLE_TIMEOUT} without use, like
+ * {@link TokenBucket}; a limiter with requests in flight is never dropped.
+ */
+final class AdaptiveConcurrencyLimiter {
+    static final double INITIAL_LIMIT = 4;
+    static final double MIN_LIMIT = 1;
+
+    /**
+     * A response slower than this multiple of the best recent latency is treated as a congestion signal.
+     */
+    static final double LATENCY_TOLERANCE = 2.0;
+
+    private static final double LATENCY_BACKOFF = 0.9;
+    private static final double RATE_LIMIT_BACKOFF = 0.5;
+
+    /**
+     * Lets the best observed latency of an endpoint drift upward slowly so that a stale minimum does not keep the limit
+     * down forever.
+     */
+    private static final double MIN_LATENCY_DRIFT = 1.001;
+
+    static final int MAX_SIZE = 64;
+    static final Duration IDLE_TIMEOUT = Duration.ofMinutes(10);
+
+    private static final Map<String, AdaptiveConcurrencyLimiter> LIMITERS = new ConcurrentHashMap<>();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition available = lock.newCondition();
+    private final Map<String, Double> minLatencyNanos = new HashMap<>();
+    private double maxLimit;
+    private double limit;
+    private int inFlight;
+    private long lastDecrease;
+    private boolean decreased;
+    private volatile long lastAccess = System.nanoTime();
+
+    AdaptiveConcurrencyLimiter(int maxLimit) {
+        this.maxLimit = Math.max(MIN_LIMIT, maxLimit);
+        this.limit = Math.min(INITIAL_LIMIT, this.maxLimit);
+    }
+
+    /**
+     * Returns the limiter shared by all tasks using this API key, allowing its limit to grow up to
+     * {@code maxConcurrency}.
+     */
+    static AdaptiveConcurrencyLimiter of(String apiKey, int maxConcurrency) {
+        return of(apiKey, maxConcurrency, System.nanoTime());
+    }
+
+    static AdaptiveConcurrencyLimiter of(String apiKey, int maxConcurrency, long now) {
+        long idleNanos = IDLE_TIMEOUT.toNanos();
+        LIMITERS.values().removeIf(limiter -> now - limiter.lastAccess > idleNanos && limiter.isIdle());
+
+        AdaptiveConcurrencyLimiter limiter = LIMITERS.computeIfAbsent(apiKey, key -> new AdaptiveConcurrencyLimiter(maxConcurrency));
+        limiter.lastAccess = now;
+        limiter.raiseMaxLimit(maxConcurrency);
+
+        while (LIMITERS.size() > MAX_SIZE) {
+            // When every other limiter has requests in flight, the map stays above its bound until one of them is idle
+            boolean evicted = LIMITERS.entrySet().stream()
+                .filter(e -> e.getValue() != limiter && e.getValue().isIdle())
+                .min(Comparator.comparingLong(e -> e.getValue().lastAccess))
+                .map(e -> LIMITERS.remove(e.getKey(), e.getValue()))
+                .orElse(false);
+            if (!evicted) {
+                break;
+            }
+        }
+
+        return limiter;
+    }
+
+    static int size() {
+        return LIMITERS.size();
+    }
+
+    static void clear() {
+        LIMITERS.clear();
+    }
+
+    /**
+     * Blocks until the number of in-flight requests is below the current limit, then takes a slot.
+     *
+     * @return the time spent waiting, in nanoseconds, or 0 when a slot was free
+     */
+    long acquire() throws InterruptedException {
+        return acquire(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Blocks until the number of in-flight requests is below both the current limit and the caller's
+     * {@code maxConcurrency}, then takes a slot.
+     *
+     * @return the time spent waiting, in nanoseconds, or 0 when a slot was free
+     */
+    long acquire(int maxConcurrency) throws InterruptedException {
+        long start = System.nanoTime();
+        lastAccess = start;
+        boolean waited = false;
+        lock.lockInterruptibly();
+        try {
+            while (inFlight >= Math.min((int) limit, Math.max((int) MIN_LIMIT, maxConcurrency))) {
+                waited = true;
+                available.await();
+            }
+            inFlight++;
+        } finally {
+            lock.unlock();
+        }
+        return waited ? System.nanoTime() - start : 0;
+    }
+
+    /**
+     * Releases a slot after a successful response and adapts the limit to its latency, compared with the best recent
+     * latency of the same endpoint so that a slow endpoint (e.g. a search) is not mistaken for congestion on a fast one.
+     */
+    void onSuccess(String endpoint, long latencyNanos) {
+        lock.lock();
+        try {
+            double minLatency = minLatencyNanos.merge(endpoint, (double) latencyNanos, (previous, latency) -> Math.min(latency, previous * MIN_LATENCY_DRIFT));
+
+            if (latencyNanos > minLatency * LATENCY_TOLERANCE) {
+                decrease(LATENCY_BACKOFF, latencyNanos);
+            } else {
+                limit = Math.min(maxLimit, limit + 1 / limit);
+            }
+
+            release();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases a slot after Stripe rejected the request with a 429 and cuts the limit in half.
+     */
+    void onRateLimited(long latencyNanos) {
+        lock.lock();
+        try {
+            decrease(RATE_LIMIT_BACKOFF, latencyNanos);
+            release();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Releases a slot without adapting the limit, for failures that say nothing about Stripe's capacity.
+     */
+    void onIgnored() {
+        lock.lock();
+        try {
+            release();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void raiseMaxLimit(int maxConcurrency) {
+        lock.lock();
+        try {
+            maxLimit = Math.max(maxLimit, maxConcurrency);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean isIdle() {
+        lock.lock();
+        try {
+            return inFlight == 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    double limit() {
+        lock.lock();
+        try {
+            return limit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void decrease(double factor, long latencyNanos) {
+        // Responses that were already in flight when the limit was cut report the same congestion: cut once per round trip
+        long now = System.nanoTime();
+        if (decreased && now - lastDecrease < latencyNanos) {
+            return;
+        }
+
+        decreased = true;
+        lastDecrease = now;
+        limit = Math.max(MIN_LIMIT, limit * factor);
+    }
+
+    private void release() {
+        inFlight--;
+        available.signalAll();
+    }
+}
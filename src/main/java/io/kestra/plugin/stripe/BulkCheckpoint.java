@@ -0,0 +1,223 @@
+package io.kestra.plugin.stripe;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import io.kestra.core.exceptions.ResourceExpiredException;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+
+/**
+ * Progress of a bulk task run, saved in the namespace KV store so that a retried attempt of the same task run skips
+ * the rows that previous attempts completed successfully.
+ * <p>
+ * The checkpoint holds the number of rows whose result was written and how many of them failed. The result fields of
+ * every written row, such as the ID of the created object or the {@code error}, are saved alongside in ION chunk files
+ * in internal storage: the retry reads them back in input order to skip the rows that succeeded with the result of the
+ * attempt that processed them, and to process the failed rows again. The KV entry only lists the chunk URIs, so its
+ * size does not depend on the number of failures. Chunks are deleted once a later attempt saved its own progress past
+ * them, and all of them once every row has a result.
+ * <p>
+ * A failed row is sent again with the same row idempotency key, so that a request that reached Stripe before the
+ * failure is not applied twice. For 24 hours Stripe then replays the saved error of a request that started executing,
+ * such as a declined payment, instead of processing it again; requests rejected by validation or that never reached
+ * Stripe are processed again.
+ */
+final class BulkCheckpoint {
+    static final int FLUSH_ROWS = 1000;
+    static final Duration FLUSH_INTERVAL = Duration.ofSeconds(10);
+    static final Duration TTL = Duration.ofDays(7);
+
+    private final RunContext runContext;
+    private final KVStore store;
+    private final String key;
+    private final long previousPosition;
+    private final long previousFailureCount;
+    private final List<String> previousChunks;
+
+    private final List<String> chunks = new ArrayList<>();
+    private final List<Map<String, Object>> buffer = new ArrayList<>();
+    private long position;
+    private long failureCount;
+    private boolean previousChunksDeleted;
+    private long lastFlush = System.nanoTime();
+
+    private Iterator<String> previousChunkIterator;
+    private Iterator<Object> previousResults = Collections.emptyIterator();
+    private long previousResultIndex;
+
+    BulkCheckpoint(RunContext runContext, KVStore store, String key, long previousPosition, long previousFailureCount, List<String> previousChunks) {
+        this.runContext = runContext;
+        this.store = store;
+        this.key = key;
+        this.previousPosition = previousPosition;
+        this.previousFailureCount = previousFailureCount;
+        this.previousChunks = previousChunks;
+    }
+
+    /**
+     * Loads the checkpoint of the current task run, or returns null outside a flow execution.
+     */
+    static BulkCheckpoint load(RunContext runContext) throws IOException {
+        String idempotencyKey = AbstractStripe.defaultIdempotencyKey(runContext);
+        if (idempotencyKey == null || runContext.flowInfo() == null || runContext.flowInfo().namespace() == null) {
+            return null;
+        }
+
+        KVStore store = runContext.namespaceKv(runContext.flowInfo().namespace());
+        String key = "stripe_bulk_" + idempotencyKey.replaceAll("[^a-zA-Z0-9._-]", "_");
+
+        Object value;
+        try {
+            value = store.getValue(key).map(KVValue::value).orElse(null);
+        } catch (ResourceExpiredException e) {
+            value = null;
+        }
+
+        long position = 0;
+        long failureCount = 0;
+        List<String> chunks = new ArrayList<>();
+        if (value instanceof Map<?, ?> checkpoint) {
+            position = checkpoint.get("position") instanceof Number number ? number.longValue() : 0;
+            failureCount = checkpoint.get("failureCount") instanceof Number number ? number.longValue() : 0;
+            if (checkpoint.get("chunks") instanceof List<?> list) {
+                list.forEach(uri -> chunks.add(uri.toString()));
+            }
+        }
+
+        return new BulkCheckpoint(runContext, store, key, position, failureCount, chunks);
+    }
+
+    long previousPosition() {
+        return previousPosition;
+    }
+
+    long previousFailureCount() {
+        return previousFailureCount;
+    }
+
+    /**
+     * Returns the result fields that a previous attempt saved for this row when it succeeded, or null when the row
+     * must be processed, because no attempt reached it or it failed. Every row must be requested, in increasing index
+     * order, as chunks are read sequentially.
+     */
+    Map<String, Object> completedResult(long index) throws IOException {
+        if (index >= previousPosition) {
+            return null;
+        }
+
+        Map<String, Object> result = previousResult(index);
+        return result.isEmpty() || result.get("error") != null ? null : result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> previousResult(long index) throws IOException {
+        if (previousChunkIterator == null) {
+            previousChunkIterator = previousChunks.iterator();
+        }
+
+        while (previousResultIndex <= index) {
+            while (!previousResults.hasNext()) {
+                if (!previousChunkIterator.hasNext()) {
+                    return Map.of();
+                }
+                previousResults = readChunk(URI.create(previousChunkIterator.next()));
+            }
+
+            Object result = previousResults.next();
+            if (previousResultIndex++ == index) {
+                return result instanceof Map<?, ?> map ? (Map<String, Object>) map : Map.of();
+            }
+        }
+        return Map.of();
+    }
+
+    private Iterator<Object> readChunk(URI uri) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(uri)), FileSerde.BUFFER_SIZE)) {
+            return FileSerde.readAll(reader).collectList().block().iterator();
+        }
+    }
+
+    /**
+     * Records the result fields of the next row, in input order, and saves the checkpoint periodically. A row
+     * succeeded when its {@code error} field is null.
+     */
+    void advance(Map<String, Object> result) throws IOException {
+        if (result.get("error") != null) {
+            failureCount++;
+        }
+        buffer.add(result);
+        position++;
+
+        if (buffer.size() >= FLUSH_ROWS || System.nanoTime() - lastFlush >= FLUSH_INTERVAL.toNanos()) {
+            flush();
+        }
+    }
+
+    void flush() throws IOException {
+        if (!buffer.isEmpty()) {
+            File chunk = runContext.workingDir().createTempFile(".ion").toFile();
+            try (OutputStream output = new BufferedOutputStream(new FileOutputStream(chunk), FileSerde.BUFFER_SIZE)) {
+                for (Map<String, Object> result : buffer) {
+                    FileSerde.write(output, result);
+                }
+            }
+            chunks.add(runContext.storage().putFile(chunk).toString());
+            chunk.delete();
+            buffer.clear();
+        }
+        lastFlush = System.nanoTime();
+
+        // Never save less progress than a previous attempt made, otherwise an early crash would forget its rows
+        if (position < previousPosition) {
+            return;
+        }
+
+        store.put(key, new KVValueAndMetadata(
+            new KVMetadata("Stripe bulk task checkpoint", TTL),
+            Map.of("position", position, "failureCount", failureCount, "chunks", chunks)
+        ));
+
+        // The saved chunks now cover every row of the previous attempt, whose own chunks were read to get there
+        deletePreviousChunks();
+    }
+
+    /**
+     * Removes the checkpoint and its chunks once every row has a result.
+     */
+    void clear() throws IOException {
+        store.delete(key);
+        deletePreviousChunks();
+        delete(chunks);
+        chunks.clear();
+    }
+
+    private void deletePreviousChunks() throws IOException {
+        if (!previousChunksDeleted) {
+            delete(previousChunks);
+            previousChunksDeleted = true;
+        }
+    }
+
+    private void delete(List<String> uris) throws IOException {
+        for (String uri : uris) {
+            runContext.storage().deleteFile(URI.create(uri));
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package io.kestra.plugin.stripe;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Consumer;
+
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+
+/**
+ * Runs one call per input row on virtual threads, at most {@code concurrency} at a time, and writes one result row per
+ * input row to an ION file in internal storage, in input order. Rows completed by a previous attempt, according to
+ * the optional {@link BulkCheckpoint}, are written as skipped without calling Stripe, with the result fields that
+ * attempt saved.
+ */
+final class BulkProcessor {
+    /**
+     * Completed results may queue behind a slow row up to this multiple of the concurrency before new rows wait.
+     */
+    private static final int WINDOW_FACTOR = 4;
+
+    private final RunContext runContext;
+    private final int concurrency;
+
+    BulkProcessor(RunContext runContext, int concurrency) {
+        this.runContext = runContext;
+        this.concurrency = concurrency;
+    }
+
+    AbstractStripeBulk.BulkResult process(Iterable<Map<String, Object>> rows, RowCall call, BulkCheckpoint checkpoint) throws Exception {
+        return process(rows, call, checkpoint, result -> {
+        });
+    }
+
+    /**
+     * Processes the rows and hands every result row, skipped ones included, to {@code onResult} in input order, from a
+     * single thread.
+     */
+    AbstractStripeBulk.BulkResult process(Iterable<Map<String, Object>> rows, RowCall call, BulkCheckpoint checkpoint, Consumer<Map<String, Object>> onResult) throws Exception {
+        File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+        Semaphore permits = new Semaphore(concurrency);
+        Deque<Future<Map<String, Object>>> pending = new ArrayDeque<>();
+        long index = 0;
+        long[] counts = new long[3];
+
+        try (
+            ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+            OutputStream output = new BufferedOutputStream(new FileOutputStream(tempFile), FileSerde.BUFFER_SIZE)
+        ) {
+            for (Map<String, Object> row : rows) {
+                long rowIndex = index++;
+                Map<String, Object> completed = checkpoint != null ? checkpoint.completedResult(rowIndex) : null;
+                if (completed != null) {
+                    Map<String, Object> skipped = new LinkedHashMap<>();
+                    skipped.put("row", row);
+                    skipped.putAll(completed);
+                    skipped.put("error", null);
+                    skipped.put("skipped", true);
+                    pending.add(CompletableFuture.completedFuture(skipped));
+                    continue;
+                }
+
+                permits.acquire();
+                pending.add(executor.submit(() -> {
+                    try {
+                        return result(call, row, rowIndex);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+
+                while (!pending.isEmpty() && (pending.peekFirst().isDone() || pending.size() > concurrency * WINDOW_FACTOR)) {
+                    write(output, pending.pollFirst(), counts, checkpoint, onResult);
+                }
+            }
+
+            while (!pending.isEmpty()) {
+                write(output, pending.pollFirst(), counts, checkpoint, onResult);
+            }
+        } catch (Exception e) {
+            if (checkpoint != null) {
+                // Rows that reached Stripe before the failure must not be sent again by the retry
+                for (Future<Map<String, Object>> future : pending) {
+                    if (!future.isDone() || future.state() != Future.State.SUCCESS) {
+                        break;
+                    }
+                    checkpoint.advance(checkpointFields(future.resultNow()));
+                }
+                checkpoint.flush();
+            }
+            throw e;
+        }
+
+        synchronized (runContext) {
+            runContext.metric(Counter.of("rows.succeeded", counts[0]));
+            runContext.metric(Counter.of("rows.failed", counts[1]));
+            runContext.metric(Counter.of("rows.skipped", counts[2]));
+        }
+
+        AbstractStripeBulk.BulkResult result = new AbstractStripeBulk.BulkResult(runContext.storage().putFile(tempFile), counts[0], counts[1], counts[2]);
+        if (checkpoint != null) {
+            checkpoint.clear();
+        }
+
+        return result;
+    }
+
+    private static Map<String, Object> result(RowCall call, Map<String, Object> row, long index) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("row", row);
+        try {
+            result.putAll(call.apply(row, index));
+            result.put("error", null);
+        } catch (Exception e) {
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            result.put("error", e.getMessage() != null ? e.getMessage() : e.getClass().getName());
+        }
+        return result;
+    }
+
+    private static void write(OutputStream output, Future<Map<String, Object>> future, long[] counts, BulkCheckpoint checkpoint, Consumer<Map<String, Object>> onResult) throws Exception {
+        Map<String, Object> result;
+        try {
+            result = future.get();
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Failed to process bulk row: " + e.getCause().getMessage(), e.getCause());
+        }
+
+        boolean success = result.get("error") == null;
+        counts[result.containsKey("skipped") ? 2 : success ? 0 : 1]++;
+        FileSerde.write(output, result);
+        onResult.accept(result);
+
+        if (checkpoint != null) {
+            checkpoint.advance(checkpointFields(result));
+        }
+    }
+
+    /**
+     * Returns the result fields to save for a row: everything but the input row, which the retry reads again.
+     */
+    private static Map<String, Object> checkpointFields(Map<String, Object> result) {
+        Map<String, Object> fields = new LinkedHashMap<>(result);
+        fields.remove("row");
+        fields.remove("skipped");
+        return fields;
+    }
+
+    @FunctionalInterface
+    interface RowCall {
+        Map<String, Object> apply(Map<String, Object> row, long index) throws Exception;
+    }
+}
@@ -0,0 +1,29 @@
+package io.kestra.plugin.stripe;
+
+import java.util.List;
+
+import io.kestra.core.models.property.Property;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.kestra.core.models.annotations.PluginProperty;
+
+/**
+ * Common interface for Stripe tasks that can ask Stripe to expand related objects in the same response.
+ */
+public interface ExpandInterface {
+    @Schema(
+        title = "Related objects to expand",
+        description = "Stripe `expand` paths such as `customer` or `latest_charge.balance_transaction`, relative to each returned object. Expanded objects replace their ID in the response, so related data comes back in the same request instead of one follow-up call per object"
+    )
+    @PluginProperty(group = "advanced")
+    Property<List<String>> getExpand();
+
+    /**
+     * Prefixes expand paths with {@code data.}, as Stripe expects them relative to the list response.
+     */
+    static List<String> listExpand(List<String> expand) {
+        return expand.stream()
+            .map(path -> path.startsWith("data.") ? path : "data." + path)
+            .toList();
+    }
+}
@@ -0,0 +1,197 @@
+package io.kestra.plugin.stripe;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.stripe.model.StripeObject;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+/**
+ * Extracts selected fields from a Stripe JSON response in a single streaming pass, or from a Stripe object that does
+ * not own its response.
+ * <p>
+ * Paths are either dotted ({@code address.city}) or JSON pointers ({@code /address/city}). Only the selected fields
+ * are materialized; every other value is skipped without being converted. A path crossing an
+ * array applies to each of its elements, and a path that reaches a scalar before its end, such as an unexpanded ID,
+ * keeps that scalar. Missing fields are omitted from the result.
+ */
+public final class FieldProjection {
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+
+    private final Node root;
+
+    private FieldProjection(Node root) {
+        this.root = root;
+    }
+
+    public static FieldProjection of(Collection<String> fields) {
+        Node root = new Node();
+        for (String field : fields) {
+            root.add(segments(field));
+        }
+        return new FieldProjection(root);
+    }
+
+    /**
+     * Returns a projection selecting these fields below the given path, for objects nested in a larger payload.
+     */
+    public FieldProjection nest(String... path) {
+        Node nested = this.root;
+        for (int i = path.length - 1; i >= 0; i--) {
+            Node parent = new Node();
+            parent.children.put(path[i], nested);
+            nested = parent;
+        }
+        return new FieldProjection(nested);
+    }
+
+    /**
+     * Returns a projection also selecting the given field.
+     */
+    public FieldProjection include(String field) {
+        this.root.add(segments(field));
+        return this;
+    }
+
+    public Map<String, Object> project(String json) throws IOException {
+        try (JsonParser parser = MAPPER.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Expected a JSON object");
+            }
+            return readObject(parser, root);
+        }
+    }
+
+    /**
+     * Projects each element of the {@code data} array of a list page in a single streaming pass over the page body.
+     */
+    public List<Map<String, Object>> projectElements(String json) throws IOException {
+        List<Map<String, Object>> elements = new ArrayList<>();
+        try (JsonParser parser = MAPPER.getFactory().createParser(json)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IllegalArgumentException("Expected a JSON object");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (!"data".equals(name) || token != JsonToken.START_ARRAY) {
+                    parser.skipChildren();
+                    continue;
+                }
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    elements.add(readObject(parser, root));
+                }
+            }
+        }
+        return elements;
+    }
+
+    /**
+     * Projects an object from its own fields, for objects that do not own their response, converting only the
+     * selected fields.
+     */
+    public Map<String, Object> project(StripeObject object) {
+        return projectObject(StripeJson.tree(object), root);
+    }
+
+    private static Map<String, Object> projectObject(JsonObject object, Node node) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (Map.Entry<String, Node> child : node.children.entrySet()) {
+            if (object.has(child.getKey())) {
+                map.put(child.getKey(), projectValue(object.get(child.getKey()), child.getValue()));
+            }
+        }
+        return map;
+    }
+
+    private static Object projectValue(JsonElement element, Node node) {
+        if (node.whole || element.isJsonNull() || element.isJsonPrimitive()) {
+            return StripeJson.toValue(element);
+        }
+        if (element.isJsonObject()) {
+            return projectObject(element.getAsJsonObject(), node);
+        }
+
+        List<Object> list = new ArrayList<>(element.getAsJsonArray().size());
+        element.getAsJsonArray().forEach(item -> list.add(projectValue(item, node)));
+        return list;
+    }
+
+    private static Map<String, Object> readObject(JsonParser parser, Node node) throws IOException {
+        Map<String, Object> map = new LinkedHashMap<>();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            Node child = node.children.get(name);
+            JsonToken token = parser.nextToken();
+            if (child == null) {
+                parser.skipChildren();
+                continue;
+            }
+            map.put(name, read(parser, token, child));
+        }
+        return map;
+    }
+
+    private static Object read(JsonParser parser, JsonToken token, Node node) throws IOException {
+        if (node.whole) {
+            return MAPPER.readValue(parser, Object.class);
+        }
+
+        return switch (token) {
+            case START_OBJECT -> readObject(parser, node);
+            case START_ARRAY -> {
+                List<Object> list = new ArrayList<>();
+                JsonToken item;
+                while ((item = parser.nextToken()) != JsonToken.END_ARRAY) {
+                    list.add(read(parser, item, node));
+                }
+                yield list;
+            }
+            default -> MAPPER.readValue(parser, Object.class);
+        };
+    }
+
+    private static List<String> segments(String field) {
+        if (field == null || field.isBlank()) {
+            throw new IllegalArgumentException("Field paths must not be empty");
+        }
+
+        List<String> segments = field.startsWith("/")
+            ? List.of(field.substring(1).split("/", -1)).stream()
+                .map(segment -> segment.replace("~1", "/").replace("~0", "~"))
+                .toList()
+            : List.of(field.split("\\.", -1));
+
+        if (segments.stream().anyMatch(String::isEmpty)) {
+            throw new IllegalArgumentException("Invalid field path '" + field + "'");
+        }
+        return segments;
+    }
+
+    private static final class Node {
+        private final Map<String, Node> children = new LinkedHashMap<>();
+        private boolean whole;
+
+        private void add(List<String> segments) {
+            Node node = this;
+            for (String segment : segments) {
+                if (node.whole) {
+                    return;
+                }
+                node = node.children.computeIfAbsent(segment, key -> new Node());
+            }
+            node.whole = true;
+            node.children.clear();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package io.kestra.plugin.stripe;
+
+import java.util.List;
+
+import io.kestra.core.models.property.Property;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.kestra.core.models.annotations.PluginProperty;
+
+/**
+ * Common interface for Stripe tasks that can restrict their output to selected fields of each Stripe object.
+ */
+public interface FieldsInterface {
+    @Schema(
+        title = "Fields to keep",
+        description = "Dotted paths such as `address.city` or JSON pointers such as `/address/city`, relative to each returned Stripe object. When set, only these fields are extracted while the response is parsed, keeping their nesting; a path crossing a list applies to every element. When unset, the whole object is returned"
+    )
+    @PluginProperty(group = "processing")
+    Property<List<String>> getFields();
+}
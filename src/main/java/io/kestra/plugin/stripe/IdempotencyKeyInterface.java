@@ -0,0 +1,19 @@
+package io.kestra.plugin.stripe;
+
+import io.kestra.core.models.property.Property;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.kestra.core.models.annotations.PluginProperty;
+
+/**
+ * Common interface for Stripe tasks that create or change a Stripe object and can be safely retried with an
+ * idempotency key.
+ */
+public interface IdempotencyKeyInterface {
+    @Schema(
+        title = "Idempotency key",
+        description = "Sent as Stripe's `Idempotency-Key` header so that retries of this request, even concurrent ones, return the original result instead of repeating the operation. Defaults to a key derived from the execution and task run IDs, which stays stable across Kestra task retries"
+    )
+    @PluginProperty(group = "advanced")
+    Property<String> getIdempotencyKey();
+}
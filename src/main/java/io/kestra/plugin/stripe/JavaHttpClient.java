@@ -0,0 +1,110 @@
+package io.kestra.plugin.stripe;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.net.HttpClient;
+import com.stripe.net.HttpHeaders;
+import com.stripe.net.StripeRequest;
+import com.stripe.net.StripeResponse;
+import com.stripe.net.StripeResponseStream;
+
+/**
+ * Stripe SDK transport backed by {@link java.net.http.HttpClient}.
+ * <p>
+ * Unlike the SDK's default {@code HttpURLConnection} client, requests negotiate HTTP/2 so concurrent calls from bulk
+ * tasks are multiplexed over a few pooled keep-alive connections, and responses are requested gzip-encoded.
+ */
+public class JavaHttpClient extends HttpClient {
+    private final java.net.http.HttpClient httpClient;
+    private final Duration readTimeout;
+
+    public JavaHttpClient(Duration connectTimeout, Duration readTimeout) {
+        this.httpClient = java.net.http.HttpClient.newBuilder()
+            .version(java.net.http.HttpClient.Version.HTTP_2)
+            .connectTimeout(connectTimeout)
+            .followRedirects(java.net.http.HttpClient.Redirect.NEVER)
+            .build();
+        this.readTimeout = readTimeout;
+    }
+
+    @Override
+    public StripeResponse request(StripeRequest request) throws ApiConnectionException {
+        StripeResponseStream response = requestStream(request);
+
+        try (InputStream body = response.body()) {
+            return new StripeResponse(response.code(), response.headers(), new String(body.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw connectionException(e);
+        }
+    }
+
+    @Override
+    public StripeResponseStream requestStream(StripeRequest request) throws ApiConnectionException {
+        HttpResponse<InputStream> response;
+        try {
+            response = this.httpClient.send(toHttpRequest(request), HttpResponse.BodyHandlers.ofInputStream());
+        } catch (IOException e) {
+            throw connectionException(e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw connectionException(e);
+        }
+
+        InputStream body = response.body();
+        boolean gzip = response.headers().firstValue("Content-Encoding")
+            .map(encoding -> encoding.equalsIgnoreCase("gzip"))
+            .orElse(false);
+        if (gzip) {
+            try {
+                body = new GZIPInputStream(body);
+            } catch (IOException e) {
+                throw connectionException(e);
+            }
+        }
+
+        return new StripeResponseStream(response.statusCode(), HttpHeaders.of(response.headers().map()), body);
+    }
+
+    private HttpRequest toHttpRequest(StripeRequest request) throws ApiConnectionException {
+        Integer requestReadTimeout = request.options().getReadTimeout();
+
+        HttpRequest.Builder builder;
+        try {
+            builder = HttpRequest.newBuilder(request.url().toURI());
+        } catch (URISyntaxException e) {
+            throw new ApiConnectionException("Invalid Stripe request URL: " + request.url(), e);
+        }
+
+        builder.timeout(requestReadTimeout != null ? Duration.ofMillis(requestReadTimeout) : this.readTimeout)
+            .header("User-Agent", buildUserAgentString(request))
+            .header("X-Stripe-Client-User-Agent", buildXStripeClientUserAgentString())
+            .header("Accept-Encoding", "gzip");
+
+        for (Map.Entry<String, List<String>> header : request.headers().map().entrySet()) {
+            builder.header(header.getKey(), String.join(",", header.getValue()));
+        }
+
+        if (request.content() == null) {
+            builder.method(request.method().name(), HttpRequest.BodyPublishers.noBody());
+        } else {
+            builder.header("Content-Type", request.content().contentType())
+                .method(request.method().name(), HttpRequest.BodyPublishers.ofByteArray(request.content().byteArrayContent()));
+        }
+
+        return builder.build();
+    }
+
+    private static ApiConnectionException connectionException(Exception e) {
+        return new ApiConnectionException("IOException during API request to Stripe: " + e.getMessage(), e);
+    }
+}
@@ -0,0 +1,39 @@
+package io.kestra.plugin.stripe;
+
+import java.net.PasswordAuthentication;
+import java.net.Proxy;
+
+import com.stripe.Stripe;
+import com.stripe.net.Authenticator;
+import com.stripe.net.BearerTokenAuthenticator;
+import com.stripe.net.StripeResponseGetterOptions;
+
+import lombok.Getter;
+
+/**
+ * Client options handed to the SDK's {@code LiveStripeResponseGetter}, mirroring the defaults of
+ * {@code StripeClient.builder()} so that tasks can own the response getter and decorate it per run.
+ */
+@Getter
+final class ResponseGetterOptions extends StripeResponseGetterOptions {
+    private final Authenticator authenticator;
+    private final int connectTimeout;
+    private final int readTimeout;
+    private final String apiBase;
+    private final String clientId = null;
+    private final Proxy connectionProxy = null;
+    private final PasswordAuthentication proxyCredential = null;
+    private final int maxNetworkRetries = 0;
+    private final String filesBase = Stripe.UPLOAD_API_BASE;
+    private final String connectBase = Stripe.CONNECT_API_BASE;
+    private final String meterEventsBase = Stripe.METER_EVENTS_API_BASE;
+    private final String stripeAccount = null;
+    private final String stripeContext = null;
+
+    ResponseGetterOptions(String apiKey, String apiBase, int connectTimeout, int readTimeout) {
+        this.authenticator = new BearerTokenAuthenticator(apiKey);
+        this.apiBase = apiBase;
+        this.connectTimeout = connectTimeout;
+        this.readTimeout = readTimeout;
+    }
+}
@@ -0,0 +1,21 @@
+package io.kestra.plugin.stripe;
+
+import io.kestra.core.models.property.Property;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
+import io.kestra.core.models.annotations.PluginProperty;
+
+/**
+ * Common interface for Stripe tasks returning a single Stripe object, which can be kept out of the execution by
+ * storing it in internal storage.
+ */
+public interface StoreInterface {
+    @Schema(
+        title = "Store the Stripe object in internal storage",
+        description = "When true, the raw JSON response is written as is to a file in internal storage and its URI is returned in `uri`, instead of the whole object being parsed into the task output. Only the identifying fields stay in the output, which keeps large objects out of the execution state"
+    )
+    @NotNull
+    @PluginProperty(group = "processing")
+    Property<Boolean> getStore();
+}
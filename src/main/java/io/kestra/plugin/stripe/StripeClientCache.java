@@ -0,0 +1,96 @@
+package io.kestra.plugin.stripe;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import com.stripe.net.StripeResponseGetter;
+
+/**
+ * Worker-wide cache of the Stripe SDK response getters (which own the HTTP client) so that tasks using the same API
+ * key and client options reuse the same HTTP machinery (pooled connections, TLS sessions) instead of building a new
+ * client per run.
+ * <p>
+ * Entries are keyed by a SHA-256 hash of the API key and options so the raw secret is never kept as a map key.
+ * The cache is bounded to {@link #MAX_SIZE} entries and drops entries idle for longer than {@link #IDLE_TIMEOUT}.
+ */
+final class StripeClientCache {
+    static final int MAX_SIZE = 64;
+    static final Duration IDLE_TIMEOUT = Duration.ofMinutes(10);
+
+    private static final Map<String, Entry> CLIENTS = new ConcurrentHashMap<>();
+
+    private StripeClientCache() {
+    }
+
+    /**
+     * Returns the cached response getter for this API key and options, creating it with the factory on first use.
+     */
+    static StripeResponseGetter get(String apiKey, String options, Supplier<StripeResponseGetter> factory) {
+        return get(apiKey, options, factory, System.nanoTime());
+    }
+
+    static StripeResponseGetter get(String apiKey, String options, Supplier<StripeResponseGetter> factory, long now) {
+        evictIdle(now);
+
+        Entry entry = CLIENTS.compute(
+            key(apiKey, options),
+            (key, existing) -> existing != null ? existing.touch(now) : new Entry(factory.get(), now)
+        );
+
+        while (CLIENTS.size() > MAX_SIZE) {
+            CLIENTS.entrySet().stream()
+                .filter(e -> e.getValue() != entry)
+                .min(Comparator.comparingLong(e -> e.getValue().lastAccess))
+                .ifPresent(e -> CLIENTS.remove(e.getKey(), e.getValue()));
+        }
+
+        return entry.responseGetter;
+    }
+
+    static int size() {
+        return CLIENTS.size();
+    }
+
+    static void clear() {
+        CLIENTS.clear();
+    }
+
+    private static void evictIdle(long now) {
+        long idleNanos = IDLE_TIMEOUT.toNanos();
+        CLIENTS.values().removeIf(entry -> now - entry.lastAccess > idleNanos);
+    }
+
+    static String key(String apiKey, String options) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(apiKey.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(options.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static final class Entry {
+        private final StripeResponseGetter responseGetter;
+        private volatile long lastAccess;
+
+        private Entry(StripeResponseGetter responseGetter, long lastAccess) {
+            this.responseGetter = responseGetter;
+            this.lastAccess = lastAccess;
+        }
+
+        private Entry touch(long now) {
+            this.lastAccess = now;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package io.kestra.plugin.stripe;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.stripe.model.HasId;
+import com.stripe.model.StripeCollection;
+import com.stripe.model.StripeObject;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+/**
+ * Converts Stripe objects to the maps returned in task outputs, in a single pass and without serializing them back to
+ * a JSON string first.
+ * <p>
+ * An object returned by its own API call is parsed straight from the response body, and the elements of a list page
+ * from the body of the page, once for the whole page rather than once per element. Only an object without a response,
+ * such as one built by hand, falls back to a walk of its own fields through Gson: the result then has the same value
+ * types, but lists unset fields as null and leaves out fields the SDK model does not know.
+ */
+public final class StripeJson {
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private StripeJson() {
+    }
+
+    /**
+     * Parses the body of the response that returned this object, falling back to its own fields when it has none.
+     */
+    public static Map<String, Object> fromResponse(StripeObject object) throws IOException {
+        if (object.getLastResponse() == null) {
+            return toMap(object);
+        }
+        return parse(object.getLastResponse().body());
+    }
+
+    /**
+     * Converts the elements of a list page, restricted to the projection's fields when it is not null, in one pass over
+     * the body of the response that returned the page, falling back to the fields of each element when it has none.
+     */
+    @SuppressWarnings("unchecked")
+    public static List<Map<String, Object>> elements(StripeCollection<? extends HasId> page, FieldProjection projection) throws IOException {
+        if (page.getLastResponse() == null) {
+            List<Map<String, Object>> elements = new ArrayList<>(page.getData().size());
+            for (HasId element : page.getData()) {
+                elements.add(projection == null ? toMap((StripeObject) element) : projection.project((StripeObject) element));
+            }
+            return elements;
+        }
+
+        String body = page.getLastResponse().body();
+        if (projection != null) {
+            return projection.projectElements(body);
+        }
+        return parse(body).get("data") instanceof List<?> data ? (List<Map<String, Object>>) data : List.of();
+    }
+
+    /**
+     * Returns the raw JSON body of the response that returned this object, falling back to serializing it.
+     */
+    public static String responseBody(StripeObject object) {
+        if (object.getLastResponse() == null) {
+            return object.toJson();
+        }
+        return object.getLastResponse().body();
+    }
+
+    /**
+     * Converts an object from its own fields, for objects without a response.
+     */
+    public static Map<String, Object> toMap(StripeObject object) {
+        return toMap(tree(object));
+    }
+
+    public static Map<String, Object> parse(String json) throws IOException {
+        return MAPPER.readValue(json, MAP_TYPE);
+    }
+
+    static JsonObject tree(StripeObject object) {
+        return StripeObject.PRETTY_PRINT_GSON.toJsonTree(object).getAsJsonObject();
+    }
+
+    static Map<String, Object> toMap(JsonObject object) {
+        Map<String, Object> map = new LinkedHashMap<>(object.size());
+        for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+            map.put(entry.getKey(), toValue(entry.getValue()));
+        }
+        return map;
+    }
+
+    static Object toValue(JsonElement element) {
+        if (element == null || element.isJsonNull()) {
+            return null;
+        }
+        if (element.isJsonObject()) {
+            return toMap(element.getAsJsonObject());
+        }
+        if (element.isJsonArray()) {
+            List<Object> list = new ArrayList<>(element.getAsJsonArray().size());
+            element.getAsJsonArray().forEach(item -> list.add(toValue(item)));
+            return list;
+        }
+
+        JsonPrimitive primitive = element.getAsJsonPrimitive();
+        if (primitive.isBoolean()) {
+            return primitive.getAsBoolean();
+        }
+        if (primitive.isString()) {
+            return primitive.getAsString();
+        }
+
+        // Keep the same number types Jackson would produce when parsing the raw response
+        String raw = primitive.getAsString();
+        if (raw.indexOf('.') < 0 && raw.indexOf('e') < 0 && raw.indexOf('E') < 0) {
+            long value = primitive.getAsLong();
+            return value == (int) value ? (Object) (int) value : (Object) value;
+        }
+        return primitive.getAsDouble();
+    }
+}
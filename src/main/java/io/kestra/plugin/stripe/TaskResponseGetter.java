@@ -0,0 +1,388 @@
+package io.kestra.plugin.stripe;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import com.stripe.exception.ApiConnectionException;
+import com.stripe.exception.RateLimitException;
+import com.stripe.exception.StripeException;
+import com.stripe.model.StripeObject;
+import com.stripe.net.ApiMode;
+import com.stripe.net.ApiRequest;
+import com.stripe.net.ApiResource;
+import com.stripe.net.BaseAddress;
+import com.stripe.net.RawApiRequest;
+import com.stripe.net.HttpHeaders;
+import com.stripe.net.RequestOptions;
+import com.stripe.net.StripeResponse;
+import com.stripe.net.StripeResponseGetter;
+
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.models.executions.metrics.Timer;
+import io.kestra.core.runners.RunContext;
+
+/**
+ * Per-run decorator around the worker-shared SDK response getter.
+ * <p>
+ * Every Stripe API call made by a task goes through this class, which applies the worker-wide limits configured on
+ * the task and reports what it did as metrics on the task's {@link RunContext}.
+ */
+final class TaskResponseGetter implements StripeResponseGetter {
+    private final StripeResponseGetter delegate;
+    private final RunContext runContext;
+    private final TokenBucket rateLimiter;
+    private final AdaptiveConcurrencyLimiter concurrencyLimiter;
+    private final int maxConcurrency;
+    private final Retry retry;
+
+    TaskResponseGetter(StripeResponseGetter delegate, RunContext runContext, TokenBucket rateLimiter, AdaptiveConcurrencyLimiter concurrencyLimiter, int maxConcurrency, Retry retry) {
+        this.delegate = delegate;
+        this.runContext = runContext;
+        this.rateLimiter = rateLimiter;
+        this.concurrencyLimiter = concurrencyLimiter;
+        this.maxConcurrency = maxConcurrency;
+        this.retry = retry;
+    }
+
+    @Override
+    public <T extends StripeObject> T request(BaseAddress baseAddress, ApiResource.RequestMethod method, String path, Map<String, Object> params, Type typeToken, RequestOptions options, ApiMode apiMode) throws StripeException {
+        RequestOptions retryOptions = withIdempotencyKey(method, options);
+        return call(endpoint(method, path), () -> delegate.request(baseAddress, method, path, params, typeToken, retryOptions, apiMode));
+    }
+
+    @Override
+    public <T extends StripeObject> T request(ApiRequest request, Type typeToken) throws StripeException {
+        ApiRequest retryRequest = withIdempotencyKey(request);
+        return call(endpoint(request.getMethod(), request.getPath()), () -> delegate.request(retryRequest, typeToken));
+    }
+
+    @Override
+    public InputStream requestStream(BaseAddress baseAddress, ApiResource.RequestMethod method, String path, Map<String, Object> params, RequestOptions options, ApiMode apiMode) throws StripeException {
+        RequestOptions retryOptions = withIdempotencyKey(method, options);
+        String endpoint = endpoint(method, path);
+        return countBytes(endpoint, call(endpoint, () -> delegate.requestStream(baseAddress, method, path, params, retryOptions, apiMode)));
+    }
+
+    @Override
+    public InputStream requestStream(ApiRequest request) throws StripeException {
+        ApiRequest retryRequest = withIdempotencyKey(request);
+        String endpoint = endpoint(request.getMethod(), request.getPath());
+        return countBytes(endpoint, call(endpoint, () -> delegate.requestStream(retryRequest)));
+    }
+
+    @Override
+    public StripeResponse rawRequest(RawApiRequest request) throws StripeException {
+        // The raw request cannot be rebuilt with a generated idempotency key: only retry it when Stripe applies it at most once
+        boolean retryable = request.getMethod() == ApiResource.RequestMethod.GET
+            || (request.getOptions() != null && request.getOptions().getIdempotencyKey() != null);
+        return call(endpoint(request.getMethod(), request.getPath()), retryable, () -> delegate.rawRequest(request));
+    }
+
+    @Override
+    public void validateRequestOptions(RequestOptions options) {
+        delegate.validateRequestOptions(options);
+    }
+
+    private <T> T call(String endpoint, StripeCall<T> call) throws StripeException {
+        return call(endpoint, true, call);
+    }
+
+    /**
+     * Runs the call, retrying transient failures according to the task's {@link Retry} policy when it is retryable.
+     */
+    private <T> T call(String endpoint, boolean retryable, StripeCall<T> call) throws StripeException {
+        StripeCall<T> measured = () -> measured(endpoint, call);
+        long start = System.nanoTime();
+        int attempt = 1;
+
+        while (true) {
+            try {
+                return limited(endpoint, measured);
+            } catch (StripeException e) {
+                long elapsed = System.nanoTime() - start;
+                Optional<Duration> delay = retryable ? retry.delay(e, attempt, Duration.ofNanos(elapsed)) : Optional.empty();
+                if (delay.isEmpty()) {
+                    throw e;
+                }
+
+                metric(Counter.of("retries", 1, "endpoint", endpoint));
+                metric(Timer.of("retry.wait", delay.get(), "endpoint", endpoint));
+                sleep(delay.get());
+                attempt++;
+            }
+        }
+    }
+
+    /**
+     * Runs a single attempt and records its latency by endpoint and HTTP status, 429s and the response size.
+     */
+    private <T> T measured(String endpoint, StripeCall<T> call) throws StripeException {
+        long start = System.nanoTime();
+        try {
+            T result = call.execute();
+
+            StripeResponse response = result instanceof StripeResponse raw ? raw
+                : result instanceof StripeObject object ? object.getLastResponse()
+                : null;
+            int status = response != null ? response.code() : 200;
+
+            metric(Timer.of("request.duration", Duration.ofNanos(System.nanoTime() - start), "endpoint", endpoint, "status", String.valueOf(status)));
+            if (response != null && response.body() != null) {
+                metric(Counter.of("response.bytes", utf8Length(response.body()), "endpoint", endpoint));
+            }
+
+            return result;
+        } catch (StripeException e) {
+            String status = e.getStatusCode() != null ? String.valueOf(e.getStatusCode()) : "error";
+
+            metric(Timer.of("request.duration", Duration.ofNanos(System.nanoTime() - start), "endpoint", endpoint, "status", status));
+            if (e instanceof RateLimitException || "429".equals(status)) {
+                metric(Counter.of("rate.limited", 1, "endpoint", endpoint));
+            }
+
+            throw e;
+        }
+    }
+
+    /**
+     * Reports the size of a streamed response once the caller has consumed and closed it.
+     */
+    private InputStream countBytes(String endpoint, InputStream stream) {
+        return new FilterInputStream(stream) {
+            private long count;
+            private boolean closed;
+
+            @Override
+            public int read() throws IOException {
+                int read = super.read();
+                if (read >= 0) {
+                    count++;
+                }
+                return read;
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                int read = super.read(b, off, len);
+                if (read > 0) {
+                    count += read;
+                }
+                return read;
+            }
+
+            @Override
+            public void close() throws IOException {
+                super.close();
+                if (!closed) {
+                    closed = true;
+                    metric(Counter.of("response.bytes", count, "endpoint", endpoint));
+                }
+            }
+        };
+    }
+
+    /**
+     * Returns a low-cardinality metric tag for a call, with object IDs replaced by a placeholder, e.g.
+     * {@code POST /v1/customers/{id}}.
+     */
+    static String endpoint(ApiResource.RequestMethod method, String path) {
+        StringBuilder endpoint = new StringBuilder(method.name()).append(' ');
+
+        int queryStart = path.indexOf('?');
+        String[] segments = (queryStart >= 0 ? path.substring(0, queryStart) : path).split("/");
+        for (int i = 0; i < segments.length; i++) {
+            if (i > 0) {
+                endpoint.append('/');
+            }
+            endpoint.append(isObjectId(segments[i]) ? "{id}" : segments[i]);
+        }
+
+        return endpoint.toString();
+    }
+
+    private static boolean isObjectId(String segment) {
+        // Stripe IDs are a lowercase prefix, an underscore and a random part, e.g. cus_NffrFeUfNV2Hib
+        return segment.indexOf('_') > 0 && segment.chars().anyMatch(c -> Character.isDigit(c) || Character.isUpperCase(c));
+    }
+
+    private static long utf8Length(String value) {
+        long length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        return length;
+    }
+
+    private <T> T limited(String endpoint, StripeCall<T> call) throws StripeException {
+        if (rateLimiter != null) {
+            long waited;
+            try {
+                waited = rateLimiter.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ApiConnectionException("Interrupted while waiting for the Stripe rate limiter", e);
+            }
+
+            if (waited > 0) {
+                metric(Timer.of("rate.limit.wait", Duration.ofNanos(waited)));
+            }
+        }
+
+        if (concurrencyLimiter == null) {
+            return call.execute();
+        }
+
+        return callWithConcurrencyLimit(endpoint, call);
+    }
+
+    private <T> T callWithConcurrencyLimit(String endpoint, StripeCall<T> call) throws StripeException {
+        long waited;
+        try {
+            waited = concurrencyLimiter.acquire(maxConcurrency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiConnectionException("Interrupted while waiting for the Stripe concurrency limiter", e);
+        }
+
+        if (waited > 0) {
+            metric(Timer.of("concurrency.limit.wait", Duration.ofNanos(waited)));
+        }
+
+        long start = System.nanoTime();
+        try {
+            T result = call.execute();
+            concurrencyLimiter.onSuccess(endpoint, System.nanoTime() - start);
+            return result;
+        } catch (RateLimitException e) {
+            concurrencyLimiter.onRateLimited(System.nanoTime() - start);
+            throw e;
+        } catch (RuntimeException | StripeException e) {
+            concurrencyLimiter.onIgnored();
+            throw e;
+        }
+    }
+
+    private RequestOptions withIdempotencyKey(ApiResource.RequestMethod method, RequestOptions options) {
+        // Retried POSTs must carry the same key on every attempt so that Stripe applies them at most once
+        if (method != ApiResource.RequestMethod.POST || retry.maxAttempts() <= 1 || (options != null && options.getIdempotencyKey() != null)) {
+            return options;
+        }
+
+        return (options != null ? options.toBuilderFullCopy() : RequestOptions.builder())
+            .setIdempotencyKey(UUID.randomUUID().toString())
+            .build();
+    }
+
+    private ApiRequest withIdempotencyKey(ApiRequest request) {
+        RequestOptions options = withIdempotencyKey(request.getMethod(), request.getOptions());
+        if (options == request.getOptions()) {
+            return request;
+        }
+
+        return new ApiRequest(request.getBaseAddress(), request.getMethod(), request.getPath(), request.getParams(), options);
+    }
+
+    private static void sleep(Duration delay) throws ApiConnectionException {
+        try {
+            TimeUnit.NANOSECONDS.sleep(delay.toNanos());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ApiConnectionException("Interrupted while waiting to retry a Stripe request", e);
+        }
+    }
+
+    private void metric(io.kestra.core.models.executions.AbstractMetricEntry<?> metric) {
+        // Bulk tasks issue calls from several threads while the run context metric list is not thread-safe
+        synchronized (runContext) {
+            runContext.metric(metric);
+        }
+    }
+
+    @FunctionalInterface
+    private interface StripeCall<T> {
+        T execute() throws StripeException;
+    }
+
+    /**
+     * Rendered network retry policy: exponential backoff with optional full jitter, bounded by a total time budget.
+     */
+    record Retry(int maxAttempts, Duration baseDelay, Duration maxDelay, Duration maxDuration, boolean jitter) {
+        /**
+         * Returns how long to wait before the next attempt, or empty when the failure must be surfaced.
+         */
+        Optional<Duration> delay(StripeException e, int attempt, Duration elapsed) {
+            if (attempt >= maxAttempts || !isRetryable(e)) {
+                return Optional.empty();
+            }
+
+            long backoff = Math.min(maxDelay.toNanos(), baseDelay.toNanos() << Math.min(attempt - 1, 30));
+            if (jitter) {
+                backoff = ThreadLocalRandom.current().nextLong(backoff + 1);
+            }
+
+            // Stripe's Retry-After is the earliest it will accept the request again, never a reason to retry sooner
+            Duration delay = Duration.ofNanos(backoff);
+            Optional<Duration> retryAfter = retryAfter(e).filter(value -> !value.isNegative());
+            if (retryAfter.isPresent() && retryAfter.get().compareTo(delay) > 0) {
+                delay = retryAfter.get();
+            }
+
+            if (elapsed.plus(delay).compareTo(maxDuration) > 0) {
+                return Optional.empty();
+            }
+
+            return Optional.of(delay);
+        }
+
+        static boolean isRetryable(StripeException e) {
+            Optional<String> shouldRetry = headers(e).flatMap(headers -> headers.firstValue("Stripe-Should-Retry"));
+            if (shouldRetry.isPresent()) {
+                return Boolean.parseBoolean(shouldRetry.get());
+            }
+
+            if (e instanceof ApiConnectionException) {
+                return true;
+            }
+
+            Integer status = e.getStatusCode();
+            return status != null && (status == 409 || status == 429 || status >= 500);
+        }
+
+        private static Optional<Duration> retryAfter(StripeException e) {
+            return headers(e)
+                .flatMap(headers -> headers.firstValue("Retry-After"))
+                .flatMap(value -> {
+                    try {
+                        return Optional.of(Duration.ofMillis((long) (Double.parseDouble(value.trim()) * 1000)));
+                    } catch (NumberFormatException ignored) {
+                        return Optional.empty();
+                    }
+                });
+        }
+
+        private static Optional<HttpHeaders> headers(StripeException e) {
+            if (e.getStripeError() == null || e.getStripeError().getLastResponse() == null) {
+                return Optional.empty();
+            }
+            return Optional.of(e.getStripeError().getLastResponse().headers());
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package io.kestra.plugin.stripe;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import com.stripe.exception.StripeException;
+import com.stripe.model.HasId;
+import com.stripe.model.StripeCollection;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.models.executions.metrics.Counter;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+
+/**
+ * Exports a {@code created} range of a Stripe list by splitting it into time windows and paginating each window on
+ * its own virtual thread.
+ * <p>
+ * Windows are half-open, {@code created[gte]} their start and {@code created[lt]} their end, and {@code created} never
+ * changes, so every object belongs to exactly one window and none is written twice at window edges. Each window is
+ * written to its own ION file; the files are then stored as is or concatenated, newest window first, which keeps the
+ * newest-first order of a sequential export.
+ */
+public final class TimeSlicedExport {
+    public static final long MAX_PAGE_SIZE = 100;
+
+    private final RunContext runContext;
+    private final long start;
+    private final long end;
+    private final int windows;
+    private final boolean filePerWindow;
+
+    private TimeSlicedExport(RunContext runContext, long start, long end, int windows, boolean filePerWindow) {
+        this.runContext = runContext;
+        this.start = start;
+        this.end = end;
+        this.windows = windows;
+        this.filePerWindow = filePerWindow;
+    }
+
+    /**
+     * Renders the window properties of a task.
+     */
+    public static TimeSlicedExport of(RunContext runContext, TimeWindowsInterface task) throws IllegalVariableEvaluationException {
+        int rWindows = runContext.render(task.getWindows()).as(Integer.class).orElse(1);
+        ZonedDateTime rCreatedAfter = runContext.render(task.getCreatedAfter()).as(ZonedDateTime.class)
+            .orElseThrow(() -> new IllegalArgumentException("createdAfter is required to export time windows"));
+        long end = runContext.render(task.getCreatedBefore()).as(ZonedDateTime.class)
+            .map(ZonedDateTime::toEpochSecond)
+            .orElse(Instant.now().getEpochSecond() + 1);
+        boolean rFilePerWindow = runContext.render(task.getFilePerWindow()).as(Boolean.class).orElse(false);
+
+        long start = rCreatedAfter.toEpochSecond();
+        if (end <= start) {
+            throw new IllegalArgumentException("createdBefore must be after createdAfter");
+        }
+
+        // Windows are at least one second wide, the resolution of Stripe timestamps
+        return new TimeSlicedExport(runContext, start, end, (int) Math.min(rWindows, end - start), rFilePerWindow);
+    }
+
+    /**
+     * Paginates every window concurrently and returns the merged file, or the file of each window, newest first. Objects
+     * are restricted to the projection's fields when it is not null.
+     */
+    public <T extends HasId> Result export(PageFetcher<T> fetcher, FieldProjection projection) throws Exception {
+        List<Window> slices = slices();
+        List<File> files = new ArrayList<>(slices.size());
+        List<Future<Long>> counts = new ArrayList<>(slices.size());
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Window window : slices) {
+                File file = runContext.workingDir().createTempFile(".ion").toFile();
+                files.add(file);
+                counts.add(executor.submit(() -> exportWindow(window, file, fetcher, projection)));
+            }
+
+            long total = 0;
+            for (Future<Long> count : counts) {
+                try {
+                    total += count.get();
+                } catch (ExecutionException e) {
+                    executor.shutdownNow();
+                    throw e.getCause() instanceof Exception cause ? cause : e;
+                }
+            }
+
+            runContext.metric(Counter.of("windows", slices.size()));
+            runContext.logger().info("Exported {} objects from {} time windows", total, slices.size());
+
+            if (!filePerWindow) {
+                return new Result(runContext.storage().putFile(merge(files)), null, total);
+            }
+
+            List<URI> uris = new ArrayList<>(files.size());
+            for (File file : files) {
+                uris.add(runContext.storage().putFile(file));
+            }
+            return new Result(null, uris, total);
+        }
+    }
+
+    private <T extends HasId> long exportWindow(Window window, File file, PageFetcher<T> fetcher, FieldProjection projection) throws Exception {
+        long count = 0;
+        try (OutputStream output = new BufferedOutputStream(new FileOutputStream(file), FileSerde.BUFFER_SIZE)) {
+            String startingAfter = null;
+            while (true) {
+                StripeCollection<T> page = fetcher.fetch(window.start(), window.end(), startingAfter);
+                List<T> data = page.getData();
+                for (Map<String, Object> object : StripeJson.elements(page, projection)) {
+                    FileSerde.write(output, object);
+                    count++;
+                }
+
+                if (data.isEmpty() || !Boolean.TRUE.equals(page.getHasMore())) {
+                    break;
+                }
+                startingAfter = data.getLast().getId();
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Splits the range into windows of equal length, newest first.
+     */
+    List<Window> slices() {
+        List<Window> slices = new ArrayList<>(windows);
+        long length = end - start;
+        for (int i = windows - 1; i >= 0; i--) {
+            slices.add(new Window(start + length * i / windows, start + length * (i + 1) / windows));
+        }
+        return slices;
+    }
+
+    private File merge(List<File> files) throws Exception {
+        File merged = runContext.workingDir().createTempFile(".ion").toFile();
+        try (OutputStream output = new BufferedOutputStream(new FileOutputStream(merged), FileSerde.BUFFER_SIZE)) {
+            for (File file : files) {
+                Files.copy(file.toPath(), output);
+                Files.delete(file.toPath());
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Fetches one page of a window: objects created at or after {@code createdGte} and before {@code createdLt}, after
+     * the {@code startingAfter} cursor when it is not null, at most {@link #MAX_PAGE_SIZE} per page.
+     */
+    @FunctionalInterface
+    public interface PageFetcher<T extends HasId> {
+        StripeCollection<T> fetch(long createdGte, long createdLt, String startingAfter) throws StripeException;
+    }
+
+    record Window(long start, long end) {
+    }
+
+    public record Result(URI uri, List<URI> uris, long count) {
+    }
+}
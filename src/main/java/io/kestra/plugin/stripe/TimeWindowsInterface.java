@@ -0,0 +1,44 @@
+package io.kestra.plugin.stripe;
+
+import java.time.ZonedDateTime;
+
+import io.kestra.core.models.property.Property;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import io.kestra.core.models.annotations.PluginProperty;
+
+/**
+ * Common interface for Stripe list tasks that can export a {@code created} range by paginating several time windows
+ * concurrently.
+ */
+public interface TimeWindowsInterface {
+    @Schema(
+        title = "Parallel time windows",
+        description = "When set, the `createdAfter`/`createdBefore` range is split into this many equal time windows that are paginated concurrently, and every object is written to internal storage. Cursor pagination is sequential, so a large export otherwise runs at the speed of one page round-trip; combine with `rateLimit` to stay within Stripe's budget. Windows take precedence over `fetchType`, since the whole range is always stored, and cannot be combined with `limit`"
+    )
+    @Min(1)
+    @PluginProperty(group = "processing")
+    Property<Integer> getWindows();
+
+    @Schema(
+        title = "Start of the exported range",
+        description = "Objects created at or after this date are exported; required with `windows`"
+    )
+    @PluginProperty(group = "processing")
+    Property<ZonedDateTime> getCreatedAfter();
+
+    @Schema(
+        title = "End of the exported range",
+        description = "Objects created before this date are exported; defaults to now"
+    )
+    @PluginProperty(group = "processing")
+    Property<ZonedDateTime> getCreatedBefore();
+
+    @Schema(
+        title = "One file per window",
+        description = "When true, each time window is stored in its own file, returned in `uris` from newest to oldest window. When false, windows are merged into a single file"
+    )
+    @PluginProperty(group = "processing")
+    Property<Boolean> getFilePerWindow();
+}
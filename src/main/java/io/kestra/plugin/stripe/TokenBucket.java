@@ -0,0 +1,148 @@
+package io.kestra.plugin.stripe;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token bucket rate limiter shared by every task on the worker that uses the same Stripe API key.
+ * <p>
+ * Callers reserve a permit and then sleep until it becomes available, so bursts above the budget queue up in order
+ * instead of being rejected by Stripe with a 429. The bucket holds at most one second worth of permits.
+ * <p>
+ * There is one bucket per API key, whatever the budget each task asks for, since Stripe enforces the budget per
+ * account: the bucket takes the budget of the last task that set one. Buckets are keyed by a SHA-256 hash of the API
+ * key, bounded to {@link #MAX_SIZE} entries and dropped after {@link #IDLE_TIMEOUT} without use, like
+ * {@link StripeClientCache}.
+ */
+final class TokenBucket {
+    /**
+     * Stripe's default budget for live mode keys, in requests per second.
+     */
+    static final int LIVE_MODE_REQUESTS_PER_SECOND = 100;
+
+    /**
+     * Stripe's default budget for test mode (sandbox) keys, in requests per second.
+     */
+    static final int TEST_MODE_REQUESTS_PER_SECOND = 25;
+
+    static final int MAX_SIZE = 64;
+    static final Duration IDLE_TIMEOUT = Duration.ofMinutes(10);
+
+    private static final Map<String, TokenBucket> BUCKETS = new ConcurrentHashMap<>();
+
+    private double permitsPerNano;
+    private double capacity;
+    private double permits;
+    private long lastRefill;
+    private volatile long lastAccess;
+
+    TokenBucket(int requestsPerSecond) {
+        this.permitsPerNano = requestsPerSecond / (double) TimeUnit.SECONDS.toNanos(1);
+        this.capacity = requestsPerSecond;
+        this.permits = requestsPerSecond;
+        this.lastRefill = System.nanoTime();
+        this.lastAccess = this.lastRefill;
+    }
+
+    /**
+     * Returns the bucket shared by all tasks using this API key. An explicit budget replaces the bucket's current one;
+     * without one, a new bucket starts with Stripe's default for the key's mode and an existing bucket is left as is.
+     */
+    static TokenBucket of(String apiKey, Integer requestsPerSecond) {
+        return of(apiKey, requestsPerSecond, System.nanoTime());
+    }
+
+    static TokenBucket of(String apiKey, Integer requestsPerSecond, long now) {
+        evictIdle(now);
+
+        TokenBucket bucket = BUCKETS.compute(
+            StripeClientCache.key(apiKey, ""),
+            (key, existing) -> {
+                if (existing == null) {
+                    return new TokenBucket(requestsPerSecond != null ? requestsPerSecond : defaultRequestsPerSecond(apiKey));
+                }
+                if (requestsPerSecond != null) {
+                    existing.rate(requestsPerSecond, now);
+                }
+                return existing;
+            }
+        );
+        bucket.lastAccess = now;
+
+        while (BUCKETS.size() > MAX_SIZE) {
+            BUCKETS.entrySet().stream()
+                .filter(e -> e.getValue() != bucket)
+                .min(Comparator.comparingLong(e -> e.getValue().lastAccess))
+                .ifPresent(e -> BUCKETS.remove(e.getKey(), e.getValue()));
+        }
+
+        return bucket;
+    }
+
+    static int size() {
+        return BUCKETS.size();
+    }
+
+    static void clear() {
+        BUCKETS.clear();
+    }
+
+    private static void evictIdle(long now) {
+        long idleNanos = IDLE_TIMEOUT.toNanos();
+        BUCKETS.values().removeIf(bucket -> now - bucket.lastAccess > idleNanos);
+    }
+
+    static int defaultRequestsPerSecond(String apiKey) {
+        return apiKey.contains("_live_") ? LIVE_MODE_REQUESTS_PER_SECOND : TEST_MODE_REQUESTS_PER_SECOND;
+    }
+
+    /**
+     * Blocks until a permit is available.
+     *
+     * @return the time spent waiting, in nanoseconds
+     */
+    long acquire() throws InterruptedException {
+        long wait = reserve(System.nanoTime());
+        if (wait > 0) {
+            TimeUnit.NANOSECONDS.sleep(wait);
+        }
+        return wait;
+    }
+
+    int requestsPerSecond() {
+        return (int) capacity;
+    }
+
+    /**
+     * Changes the budget, keeping the permits already accrued at the previous rate up to the new capacity.
+     */
+    synchronized void rate(int requestsPerSecond, long now) {
+        if (requestsPerSecond == capacity) {
+            return;
+        }
+        refill(now);
+        permitsPerNano = requestsPerSecond / (double) TimeUnit.SECONDS.toNanos(1);
+        capacity = requestsPerSecond;
+        permits = Math.min(capacity, permits);
+    }
+
+    /**
+     * Takes one permit, possibly going into debt, and returns how long the caller must wait before using it.
+     */
+    synchronized long reserve(long now) {
+        refill(now);
+        permits -= 1;
+
+        return permits >= 0 ? 0 : (long) Math.ceil(-permits / permitsPerNano);
+    }
+
+    private void refill(long now) {
+        if (now > lastRefill) {
+            permits = Math.min(capacity, permits + (now - lastRefill) * permitsPerNano);
+            lastRefill = now;
+        }
+    }
+}
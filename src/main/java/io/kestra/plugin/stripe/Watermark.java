@@ -0,0 +1,124 @@
+package io.kestra.plugin.stripe;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import io.kestra.core.exceptions.ResourceExpiredException;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+
+/**
+ * Position of an incremental export, saved in the namespace KV store between runs.
+ * <p>
+ * The watermark holds the highest {@code created} timestamp exported so far and the IDs of the objects created at
+ * that second. Stripe timestamps have a one-second resolution, so the next run lists objects created at or after the
+ * watermark and skips only the IDs it already holds; objects created later in the same second are still exported.
+ */
+public final class Watermark {
+    private final KVStore store;
+    private final String key;
+    private final Long created;
+    private final Set<String> ids;
+
+    private Long nextCreated;
+    private Set<String> nextIds;
+
+    private Watermark(KVStore store, String key, Long created, Set<String> ids) {
+        this.store = store;
+        this.key = key;
+        this.created = created;
+        this.ids = ids;
+        this.nextCreated = created;
+        this.nextIds = new HashSet<>(ids);
+    }
+
+    /**
+     * Loads the watermark saved under this key in the namespace of the current flow.
+     */
+    public static Watermark load(RunContext runContext, String key) throws IOException {
+        if (runContext.flowInfo() == null || runContext.flowInfo().namespace() == null) {
+            throw new IllegalArgumentException("Incremental mode needs a flow execution to store its watermark");
+        }
+
+        KVStore store = runContext.namespaceKv(runContext.flowInfo().namespace());
+        String sanitized = key.replaceAll("[^a-zA-Z0-9._-]", "_");
+
+        Object value;
+        try {
+            value = store.getValue(sanitized).map(KVValue::value).orElse(null);
+        } catch (ResourceExpiredException e) {
+            value = null;
+        }
+
+        Long created = null;
+        Set<String> ids = new HashSet<>();
+        if (value instanceof Map<?, ?> watermark) {
+            created = watermark.get("created") instanceof Number number ? number.longValue() : null;
+            if (watermark.get("ids") instanceof List<?> list) {
+                list.forEach(id -> ids.add(id.toString()));
+            }
+        }
+
+        return new Watermark(store, sanitized, created, ids);
+    }
+
+    /**
+     * Returns the default key of a task, unique to its flow.
+     */
+    public static String defaultKey(RunContext runContext, String prefix, String taskId) {
+        String flowId = runContext.flowInfo() != null ? runContext.flowInfo().id() : null;
+        return prefix + "_" + flowId + "_" + taskId;
+    }
+
+    /**
+     * Returns the {@code created} timestamp of the previous run, or null on the first run.
+     */
+    public Long created() {
+        return created;
+    }
+
+    /**
+     * Returns true when this object was not exported by a previous run.
+     */
+    public boolean isNew(long created, String id) {
+        return this.created == null || created > this.created || (created == this.created && !ids.contains(id));
+    }
+
+    /**
+     * Records an exported object; the watermark moves forward only once {@link #save()} is called.
+     */
+    public void observe(long created, String id) {
+        if (nextCreated == null || created > nextCreated) {
+            nextCreated = created;
+            nextIds = new HashSet<>();
+        }
+        if (created == nextCreated) {
+            nextIds.add(id);
+        }
+    }
+
+    /**
+     * Returns the {@code created} timestamp the next run will start from.
+     */
+    public Long next() {
+        return nextCreated;
+    }
+
+    public void save() throws IOException {
+        if (nextCreated == null) {
+            return;
+        }
+
+        store.put(key, new KVValueAndMetadata(
+            new KVMetadata("Stripe incremental export watermark", (Duration) null),
+            Map.of("created", nextCreated, "ids", List.copyOf(nextIds))
+        ));
+    }
+}
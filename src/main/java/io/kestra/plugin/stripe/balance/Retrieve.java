@@ -1,21 +1,25 @@
 package io.kestra.plugin.stripe.balance;
 
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.stripe.model.Balance;
 
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
-import io.kestra.core.serializers.JacksonMapper;
 import io.kestra.plugin.stripe.AbstractStripe;
+import io.kestra.plugin.stripe.StoreInterface;
+import io.kestra.plugin.stripe.StripeJson;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import io.kestra.core.models.annotations.PluginProperty;
 
 @SuperBuilder
 @ToString
@@ -43,17 +47,17 @@ import lombok.experimental.SuperBuilder;
         )
     }
 )
-public class Retrieve extends AbstractStripe implements RunnableTask<Retrieve.Output> {
+public class Retrieve extends AbstractStripe implements RunnableTask<Retrieve.Output>, StoreInterface {
+
+    @NotNull
+    @Builder.Default
+    @PluginProperty(group = "processing")
+    private Property<Boolean> store = Property.ofValue(false);
 
     @Override
     public Output run(RunContext runContext) throws Exception {
         Balance balance = client(runContext).balance().retrieve();
 
-        // Parse raw JSON into Map
-        String rawJson = balance.getLastResponse().body();
-        Map<String, Object> rawData = JacksonMapper.ofJson().readValue(rawJson, new TypeReference<>() {
-        });
-
         List<Map<String, Object>> available = balance.getAvailable().stream()
             .map(
                 money -> Map.<String, Object> of(
@@ -72,10 +76,16 @@ public class Retrieve extends AbstractStripe implements RunnableTask<Retrieve.Ou
             )
             .toList();
 
-        return Output.builder()
+        Output.OutputBuilder output = Output.builder()
             .available(available)
-            .pending(pending)
-            .raw(rawData)
+            .pending(pending);
+
+        if (runContext.render(this.store).as(Boolean.class).orElse(false)) {
+            return output.uri(storeResponse(runContext, balance)).build();
+        }
+
+        return output
+            .raw(StripeJson.fromResponse(balance))
             .build();
     }
 
@@ -92,5 +102,8 @@ public class Retrieve extends AbstractStripe implements RunnableTask<Retrieve.Ou
 
         @Schema(title = "Raw Stripe response", description = "Full balance payload converted to a map for debugging or downstream use")
         private Map<String, Object> raw;
+
+        @Schema(title = "URI of the stored balance", description = "JSON file with the raw balance payload; only set when `store` is true, in which case `raw` is empty")
+        private URI uri;
     }
 }
@@ -0,0 +1,104 @@
+package io.kestra.plugin.stripe.customer;
+
+import java.net.URI;
+import java.util.Map;
+
+import com.stripe.model.Customer;
+import com.stripe.param.CustomerCreateParams;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.stripe.AbstractStripeBulk;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Create Stripe customers in bulk",
+    description = "Creates one Stripe customer per `{name, email, metadata}` row of an ION or JSONL file, with bounded concurrency. Writes an ION file with the input row, the created `customerId` and the `error` of each row; a failing row does not abort the batch. Each row is sent with its own idempotency key, so a retried task does not create duplicates."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Create the customers listed in an uploaded file",
+            full = true,
+            code = """
+                id: onboard_customers
+                namespace: company.team
+
+                inputs:
+                  - id: customers
+                    type: FILE
+
+                tasks:
+                  - id: create_customers
+                    type: io.kestra.plugin.stripe.customer.BulkCreate
+                    apiKey: "{{ secret('STRIPE_API_KEY') }}"
+                    from: "{{ inputs.customers }}"
+                    concurrency: 20
+                    rateLimit: true
+                """
+        )
+    }
+)
+public class BulkCreate extends AbstractStripeBulk implements RunnableTask<BulkCreate.Output> {
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        BulkResult result = processRows(runContext, (client, row, index) -> {
+            Customer customer = client.customers().create(params(row), rowRequestOptions(runContext, index));
+            return Map.of("customerId", customer.getId());
+        });
+
+        return Output.builder()
+            .uri(result.uri())
+            .successCount(result.successCount())
+            .failureCount(result.failureCount())
+            .skippedCount(result.skippedCount())
+            .build();
+    }
+
+    static CustomerCreateParams params(Map<String, Object> row) {
+        Object name = row.get("name");
+        if (name == null) {
+            throw new IllegalArgumentException("Field 'name' is required");
+        }
+
+        CustomerCreateParams.Builder builder = CustomerCreateParams.builder()
+            .setName(name.toString());
+
+        if (row.get("email") != null) {
+            builder.setEmail(row.get("email").toString());
+        }
+
+        if (row.get("metadata") instanceof Map<?, ?> metadata) {
+            metadata.forEach((key, value) -> builder.putMetadata(key.toString(), value == null ? "" : value.toString()));
+        }
+
+        return builder.build();
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "URI of the result file", description = "ION file with one `{row, customerId, error}` row per input row, in input order; rows completed by a previous attempt keep that attempt's result and have `skipped: true`")
+        private final URI uri;
+
+        @Schema(title = "Number of customers created")
+        private final long successCount;
+
+        @Schema(title = "Number of rows that failed")
+        private final long failureCount;
+
+        @Schema(title = "Number of rows skipped", description = "Rows already created by a previous attempt of this task run")
+        private final long skippedCount;
+    }
+}
@@ -0,0 +1,81 @@
+package io.kestra.plugin.stripe.customer;
+
+import java.net.URI;
+import java.util.Map;
+
+import com.stripe.model.Customer;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.stripe.AbstractStripeBulk;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Delete Stripe customers in bulk",
+    description = "Deletes the customer of every `{customerId}` row of an ION or JSONL file, with bounded concurrency and the worker's shared rate limit. Writes an ION file with the input row, `deleted` flag and `error` of each row; a failing row does not abort the batch, and a retried task skips rows already deleted."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Remove churned test accounts",
+            full = true,
+            code = """
+                id: purge_test_customers
+                namespace: company.team
+
+                tasks:
+                  - id: delete_customers
+                    type: io.kestra.plugin.stripe.customer.BulkDelete
+                    apiKey: "{{ secret('STRIPE_API_KEY') }}"
+                    from: "{{ outputs.find_churned.uri }}"
+                    concurrency: 20
+                """
+        )
+    }
+)
+public class BulkDelete extends AbstractStripeBulk implements RunnableTask<BulkDelete.Output> {
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        BulkResult result = processRows(runContext, (client, row, index) -> {
+            Customer customer = client.customers().delete(BulkUpdate.customerId(row), rowRequestOptions(runContext, index));
+            return Map.of(
+                "customerId", customer.getId(),
+                "deleted", customer.getDeleted() != null && customer.getDeleted()
+            );
+        });
+
+        return Output.builder()
+            .uri(result.uri())
+            .successCount(result.successCount())
+            .failureCount(result.failureCount())
+            .skippedCount(result.skippedCount())
+            .build();
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "URI of the result file", description = "ION file with one `{row, customerId, deleted, error}` row per input row, in input order; rows completed by a previous attempt keep that attempt's result and have `skipped: true`")
+        private final URI uri;
+
+        @Schema(title = "Number of customers deleted")
+        private final long successCount;
+
+        @Schema(title = "Number of rows that failed")
+        private final long failureCount;
+
+        @Schema(title = "Number of rows skipped", description = "Rows already deleted by a previous attempt of this task run")
+        private final long skippedCount;
+    }
+}
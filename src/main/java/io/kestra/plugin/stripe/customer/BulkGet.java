@@ -0,0 +1,144 @@
+package io.kestra.plugin.stripe.customer;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.property.Data;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.stripe.AbstractStripeBulk;
+import io.kestra.plugin.stripe.StripeJson;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Fetch Stripe customers in bulk",
+    description = "Retrieves the customers whose IDs are given as a list of strings or as `{customerId}` rows of an ION or JSONL file. Duplicate IDs are fetched only once, so API calls scale with unique IDs. Writes an ION file with one `{row: {customerId, rows}, customer, error}` row per unique ID, where `rows` lists the zero-based input positions of that ID."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Enrich orders with their Stripe customers",
+            full = true,
+            code = """
+                id: enrich_orders
+                namespace: company.team
+
+                tasks:
+                  - id: get_customers
+                    type: io.kestra.plugin.stripe.customer.BulkGet
+                    apiKey: "{{ secret('STRIPE_API_KEY') }}"
+                    from: "{{ outputs.extract_orders.uri }}"
+                    concurrency: 20
+                """
+        ),
+        @Example(
+            title = "Fetch a few customers by ID",
+            full = true,
+            code = """
+                id: get_customers
+                namespace: company.team
+
+                tasks:
+                  - id: get_customers
+                    type: io.kestra.plugin.stripe.customer.BulkGet
+                    apiKey: "{{ secret('STRIPE_API_KEY') }}"
+                    from:
+                      - cus_123456789
+                      - cus_987654321
+                """
+        )
+    }
+)
+public class BulkGet extends AbstractStripeBulk implements RunnableTask<BulkGet.Output> {
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        Map<String, java.util.List<Long>> rowsById = new LinkedHashMap<>();
+        long inputCount = 0;
+        for (String customerId : customerIds(runContext)) {
+            rowsById.computeIfAbsent(customerId, key -> new ArrayList<>()).add(inputCount++);
+        }
+
+        java.util.List<Map<String, Object>> uniqueRows = rowsById.entrySet().stream()
+            .map(entry -> Map.<String, Object>of("customerId", entry.getKey(), "rows", entry.getValue()))
+            .toList();
+
+        BulkResult result = processRows(runContext, uniqueRows, (client, row, index) ->
+            Map.of("customer", StripeJson.fromResponse(client.customers().retrieve((String) row.get("customerId"))))
+        );
+
+        return Output.builder()
+            .uri(result.uri())
+            .inputCount(inputCount)
+            .uniqueCount(rowsById.size())
+            .successCount(result.successCount())
+            .failureCount(result.failureCount())
+            .skippedCount(result.skippedCount())
+            .build();
+    }
+
+    /**
+     * Retrieving customers again is harmless and cheaper than saving every full customer with the checkpoint.
+     */
+    @Override
+    protected boolean defaultCheckpoint() {
+        return false;
+    }
+
+    private Iterable<String> customerIds(RunContext runContext) throws Exception {
+        java.util.List<String> customerIds = new ArrayList<>();
+
+        if (this.getFrom() instanceof java.util.List<?> list) {
+            for (Object item : list) {
+                customerIds.add(item instanceof Map<?, ?> map ? customerId(map) : runContext.render(item.toString()));
+            }
+            return customerIds;
+        }
+
+        return Data.from(this.getFrom()).read(runContext)
+            .map(BulkGet::customerId)
+            .toIterable();
+    }
+
+    private static String customerId(Map<?, ?> row) {
+        Object customerId = row.get("customerId") != null ? row.get("customerId") : row.get("id");
+        if (customerId == null) {
+            throw new IllegalArgumentException("Every row must have a 'customerId' field");
+        }
+        return customerId.toString();
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "URI of the result file", description = "ION file with one `{row: {customerId, rows}, customer, error}` row per unique customer ID, in order of first appearance")
+        private final URI uri;
+
+        @Schema(title = "Number of input rows")
+        private final long inputCount;
+
+        @Schema(title = "Number of unique customer IDs", description = "Number of Stripe API calls made, excluding retries and skipped rows")
+        private final long uniqueCount;
+
+        @Schema(title = "Number of customers retrieved")
+        private final long successCount;
+
+        @Schema(title = "Number of unique IDs that failed")
+        private final long failureCount;
+
+        @Schema(title = "Number of unique IDs skipped", description = "IDs already retrieved by a previous attempt of this task run; always 0 unless `checkpoint` is enabled")
+        private final long skippedCount;
+    }
+}
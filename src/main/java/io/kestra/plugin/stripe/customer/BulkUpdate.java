@@ -0,0 +1,105 @@
+package io.kestra.plugin.stripe.customer;
+
+import java.net.URI;
+import java.util.Map;
+
+import com.stripe.model.Customer;
+import com.stripe.param.CustomerUpdateParams;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.stripe.AbstractStripeBulk;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Update Stripe customers in bulk",
+    description = "Applies one `{customerId, name, email, metadata}` patch row of an ION or JSONL file per customer, with bounded concurrency and the worker's shared rate limit. Only the fields present in a row are changed. Writes an ION file with the input row, `customerId` and `error` of each row; a failing row does not abort the batch, and a retried task skips rows already updated."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Sync CRM metadata from a file produced by a previous task",
+            full = true,
+            code = """
+                id: crm_sync
+                namespace: company.team
+
+                tasks:
+                  - id: update_customers
+                    type: io.kestra.plugin.stripe.customer.BulkUpdate
+                    apiKey: "{{ secret('STRIPE_API_KEY') }}"
+                    from: "{{ outputs.export_crm.uri }}"
+                    concurrency: 50
+                """
+        )
+    }
+)
+public class BulkUpdate extends AbstractStripeBulk implements RunnableTask<BulkUpdate.Output> {
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        BulkResult result = processRows(runContext, (client, row, index) -> {
+            Customer customer = client.customers().update(customerId(row), params(row), rowRequestOptions(runContext, index));
+            return Map.of("customerId", customer.getId());
+        });
+
+        return Output.builder()
+            .uri(result.uri())
+            .successCount(result.successCount())
+            .failureCount(result.failureCount())
+            .skippedCount(result.skippedCount())
+            .build();
+    }
+
+    static String customerId(Map<String, Object> row) {
+        Object customerId = row.get("customerId") != null ? row.get("customerId") : row.get("id");
+        if (customerId == null) {
+            throw new IllegalArgumentException("Field 'customerId' is required");
+        }
+        return customerId.toString();
+    }
+
+    static CustomerUpdateParams params(Map<String, Object> row) {
+        CustomerUpdateParams.Builder builder = CustomerUpdateParams.builder();
+
+        if (row.get("name") != null) {
+            builder.setName(row.get("name").toString());
+        }
+
+        if (row.get("email") != null) {
+            builder.setEmail(row.get("email").toString());
+        }
+
+        if (row.get("metadata") instanceof Map<?, ?> metadata) {
+            metadata.forEach((key, value) -> builder.putMetadata(key.toString(), value == null ? "" : value.toString()));
+        }
+
+        return builder.build();
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "URI of the result file", description = "ION file with one `{row, customerId, error}` row per input row, in input order; rows completed by a previous attempt keep that attempt's result and have `skipped: true`")
+        private final URI uri;
+
+        @Schema(title = "Number of customers updated")
+        private final long successCount;
+
+        @Schema(title = "Number of rows that failed")
+        private final long failureCount;
+
+        @Schema(title = "Number of rows skipped", description = "Rows already updated by a previous attempt of this task run")
+        private final long skippedCount;
+    }
+}
@@ -1,9 +1,7 @@
 package io.kestra.plugin.stripe.customer;
 
 import java.util.Map;
-import java.util.stream.Collectors;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.stripe.exception.StripeException;
 import com.stripe.model.Customer;
 import com.stripe.param.CustomerCreateParams;
@@ -13,8 +11,9 @@ import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
-import io.kestra.core.serializers.JacksonMapper;
 import io.kestra.plugin.stripe.AbstractStripe;
+import io.kestra.plugin.stripe.IdempotencyKeyInterface;
+import io.kestra.plugin.stripe.StripeJson;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
@@ -53,7 +52,7 @@ import io.kestra.core.models.annotations.PluginProperty;
         )
     }
 )
-public class Create extends AbstractStripe implements RunnableTask<Create.Output> {
+public class Create extends AbstractStripe implements RunnableTask<Create.Output>, IdempotencyKeyInterface {
 
     @Schema(title = "Customer name", description = "Full name stored on the Stripe customer; required")
     @NotNull
@@ -77,6 +76,8 @@ public class Create extends AbstractStripe implements RunnableTask<Create.Output
     @PluginProperty(group = "destination")
     private Property<Boolean> includeFullCustomerData = Property.ofValue(false);
 
+    private Property<String> idempotencyKey;
+
     @Override
     public Output run(RunContext runContext) throws Exception {
         // Resolve parameters
@@ -89,14 +90,7 @@ public class Create extends AbstractStripe implements RunnableTask<Create.Output
         Map<String, Object> rMetadata = runContext.render(this.metadata).asMap(String.class, Object.class);
 
         // Convert metadata values to String for Stripe
-        Map<String, String> metadataForStripe = rMetadata.entrySet()
-            .stream()
-            .collect(
-                Collectors.toMap(
-                    Map.Entry::getKey,
-                    e -> e.getValue() == null ? "" : e.getValue().toString()
-                )
-            );
+        Map<String, String> metadataForStripe = stripeMetadata(rMetadata);
 
         // Build customer create params
         CustomerCreateParams.Builder builder = CustomerCreateParams.builder();
@@ -109,7 +103,7 @@ public class Create extends AbstractStripe implements RunnableTask<Create.Output
 
         Customer customer;
         try {
-            customer = client(runContext).customers().create(builder.build());
+            customer = client(runContext).customers().create(builder.build(), idempotentRequestOptions(runContext, this.idempotencyKey));
         } catch (StripeException e) {
             throw new RuntimeException("Failed to create Stripe customer: " + e.getMessage(), e);
         }
@@ -121,10 +115,7 @@ public class Create extends AbstractStripe implements RunnableTask<Create.Output
         // Only include full customer data if explicitly requested
         boolean includeFull = runContext.render(this.includeFullCustomerData).as(Boolean.class).orElse(false);
         if (includeFull) {
-            String json = customer.getLastResponse().body();
-            Map<String, Object> customerData = JacksonMapper.ofJson().readValue(json, new TypeReference<>() {
-            });
-            output.customerData(customerData);
+            output.customerData(StripeJson.fromResponse(customer));
         }
 
         return output.build();
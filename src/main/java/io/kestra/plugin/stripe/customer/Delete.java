@@ -2,7 +2,6 @@ package io.kestra.plugin.stripe.customer;
 
 import java.util.Map;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.stripe.exception.StripeException;
 import com.stripe.model.Customer;
 
@@ -11,8 +10,8 @@ import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
-import io.kestra.core.serializers.JacksonMapper;
 import io.kestra.plugin.stripe.AbstractStripe;
+import io.kestra.plugin.stripe.StripeJson;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
@@ -69,9 +68,7 @@ public class Delete extends AbstractStripe implements RunnableTask<Delete.Output
         }
 
         // Convert Stripe customer JSON to Map<String,Object>
-        String json = customer.getLastResponse().body();
-        Map<String, Object> customerData = JacksonMapper.ofJson().readValue(json, new TypeReference<>() {
-        });
+        Map<String, Object> customerData = StripeJson.fromResponse(customer);
 
         return Output.builder()
             .customerId(customer.getId())
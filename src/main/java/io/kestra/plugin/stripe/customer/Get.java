@@ -1,18 +1,23 @@
 package io.kestra.plugin.stripe.customer;
 
+import java.net.URI;
 import java.util.Map;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.stripe.exception.StripeException;
 import com.stripe.model.Customer;
+import com.stripe.param.CustomerRetrieveParams;
 
 import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
-import io.kestra.core.serializers.JacksonMapper;
 import io.kestra.plugin.stripe.AbstractStripe;
+import io.kestra.plugin.stripe.ExpandInterface;
+import io.kestra.plugin.stripe.FieldProjection;
+import io.kestra.plugin.stripe.FieldsInterface;
+import io.kestra.plugin.stripe.StoreInterface;
+import io.kestra.plugin.stripe.StripeJson;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
@@ -47,32 +52,54 @@ import io.kestra.core.models.annotations.PluginProperty;
         )
     }
 )
-public class Get extends AbstractStripe implements RunnableTask<Get.Output> {
+public class Get extends AbstractStripe implements RunnableTask<Get.Output>, StoreInterface, FieldsInterface, ExpandInterface {
 
     @Schema(title = "Customer ID to retrieve", required = true)
     @NotNull
     @PluginProperty(group = "main")
     private Property<String> customerId;
 
+    @NotNull
+    @Builder.Default
+    @PluginProperty(group = "processing")
+    private Property<Boolean> store = Property.ofValue(false);
+
+    private Property<java.util.List<String>> fields;
+
+    private Property<java.util.List<String>> expand;
+
     @Override
     public Output run(RunContext runContext) throws Exception {
         // Resolve customer ID
         String rCustomerId = runContext.render(this.customerId)
             .as(String.class)
             .orElseThrow(() -> new IllegalArgumentException("customerId is required"));
+        java.util.List<String> rExpand = runContext.render(this.expand).asList(String.class);
 
         Customer customer;
         try {
-            customer = client(runContext).customers().retrieve(rCustomerId);
+            CustomerRetrieveParams.Builder paramsBuilder = CustomerRetrieveParams.builder();
+            if (!rExpand.isEmpty()) {
+                paramsBuilder.addAllExpand(rExpand);
+            }
+
+            customer = client(runContext).customers().retrieve(rCustomerId, paramsBuilder.build());
         } catch (StripeException e) {
             throw new RuntimeException("Failed to retrieve Stripe customer: " + e.getMessage(), e);
         }
 
+        java.util.List<String> rFields = runContext.render(this.fields).asList(String.class);
+        if (runContext.render(this.store).as(Boolean.class).orElse(false)) {
+            return Output.builder()
+                .customerId(customer.getId())
+                .uri(storeResponse(runContext, customer, rFields.isEmpty() ? null : FieldProjection.of(rFields)))
+                .build();
+        }
+
         // Convert Stripe customer JSON to Map<String,Object>
-        String json = customer.getLastResponse().body();
-        Map<String, Object> customerData = JacksonMapper.ofJson()
-            .readValue(json, new TypeReference<>() {
-            });
+        Map<String, Object> customerData = rFields.isEmpty()
+            ? StripeJson.fromResponse(customer)
+            : FieldProjection.of(rFields).project(StripeJson.responseBody(customer));
 
         return Output.builder()
             .customerId(customer.getId())
@@ -88,5 +115,8 @@ public class Get extends AbstractStripe implements RunnableTask<Get.Output> {
 
         @Schema(title = "Raw customer payload", description = "Stripe customer object converted to a map")
         private final Map<String, Object> customerData;
+
+        @Schema(title = "URI of the stored customer", description = "JSON file with the raw Stripe customer, restricted to `fields` when set; only set when `store` is true, in which case `customerData` is empty")
+        private final URI uri;
     }
 }
@@ -1,8 +1,17 @@
 package io.kestra.plugin.stripe.customer;
 
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.ZonedDateTime;
+import java.util.ArrayList;
 import java.util.Map;
+import java.util.function.Consumer;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.stripe.StripeClient;
 import com.stripe.exception.StripeException;
 import com.stripe.model.Customer;
 import com.stripe.model.StripeCollection;
@@ -12,16 +21,26 @@ import io.kestra.core.models.annotations.Example;
 import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
-import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.serializers.FileSerde;
 import io.kestra.plugin.stripe.AbstractStripe;
+import io.kestra.plugin.stripe.ExpandInterface;
+import io.kestra.plugin.stripe.FieldProjection;
+import io.kestra.plugin.stripe.FieldsInterface;
+import io.kestra.plugin.stripe.StripeJson;
+import io.kestra.plugin.stripe.TimeSlicedExport;
+import io.kestra.plugin.stripe.TimeWindowsInterface;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
 import io.kestra.core.models.annotations.PluginProperty;
 
+import static io.kestra.core.utils.Rethrow.throwConsumer;
+
 @SuperBuilder
 @ToString
 @EqualsAndHashCode
@@ -29,7 +48,7 @@ import io.kestra.core.models.annotations.PluginProperty;
 @NoArgsConstructor
 @Schema(
     title = "List Stripe customers",
-    description = "Lists customers with optional email filter and limit. Uses the provided secret key; outputs raw customer maps for further filtering."
+    description = "Lists customers with optional email filter and limit. Follows the `starting_after` cursor across pages; `fetchType` controls whether customers are returned in the output or streamed to an ION file in internal storage. With `windows`, a `created` range is split into time windows that are exported concurrently."
 )
 @Plugin(
     examples = {
@@ -46,67 +65,217 @@ import io.kestra.core.models.annotations.PluginProperty;
                     apiKey: "{{ secret('STRIPE_API_KEY') }}"
                     limit: 10
                 """
+        ),
+        @Example(
+            title = "Export every customer to internal storage",
+            full = true,
+            code = """
+                id: export_customers
+                namespace: company.team
+
+                tasks:
+                  - id: export_customers
+                    type: io.kestra.plugin.stripe.customer.List
+                    apiKey: "{{ secret('STRIPE_API_KEY') }}"
+                    fetchType: STORE
+                """
+        ),
+        @Example(
+            title = "Export the customers created in 2025 by paginating 12 time windows concurrently",
+            full = true,
+            code = """
+                id: export_customers_2025
+                namespace: company.team
+
+                tasks:
+                  - id: export_customers
+                    type: io.kestra.plugin.stripe.customer.List
+                    apiKey: "{{ secret('STRIPE_API_KEY') }}"
+                    createdAfter: "2025-01-01T00:00:00Z"
+                    createdBefore: "2026-01-01T00:00:00Z"
+                    windows: 12
+                    rateLimit: true
+                """
         )
     }
 )
-public class List extends AbstractStripe implements RunnableTask<List.Output> {
+public class List extends AbstractStripe implements RunnableTask<List.Output>, FieldsInterface, ExpandInterface, TimeWindowsInterface {
+    private static final int MAX_PAGE_SIZE = 100;
 
-    @Schema(title = "Maximum customers to return", description = "Defaults to 10; Stripe caps apply")
+    @Schema(
+        title = "Maximum customers to return",
+        description = "Defaults to 10 for `FETCH`; unbounded for `STORE` so every customer is exported. Pages of up to 100 customers are requested until the limit is reached"
+    )
     @Min(1)
-    @Builder.Default
     @PluginProperty(group = "processing")
-    private Property<Integer> limit = Property.ofValue(10);
+    private Property<Integer> limit;
 
     @Schema(title = "Email filter", description = "If set, returns customers whose email matches the value")
     @PluginProperty(group = "advanced")
     private Property<String> email;
 
+    @Schema(
+        title = "Fetch strategy",
+        description = "`FETCH` returns customers in the output, `FETCH_ONE` returns only the first customer, `STORE` streams every customer as a row into an ION file in internal storage"
+    )
+    @NotNull
+    @Builder.Default
+    @PluginProperty(group = "processing")
+    private Property<FetchType> fetchType = Property.ofValue(FetchType.FETCH);
+
+    private Property<java.util.List<String>> fields;
+
+    private Property<java.util.List<String>> expand;
+
+    private Property<Integer> windows;
+
+    private Property<ZonedDateTime> createdAfter;
+
+    private Property<ZonedDateTime> createdBefore;
+
+    private Property<Boolean> filePerWindow;
+
     @Override
     public Output run(RunContext runContext) throws Exception {
-        Integer rLimit = runContext.render(this.limit).as(Integer.class).orElse(10);
+        FetchType rFetchType = runContext.render(this.fetchType).as(FetchType.class).orElse(FetchType.FETCH);
+        Integer rWindows = runContext.render(this.windows).as(Integer.class).orElse(null);
+        Integer rLimit = runContext.render(this.limit).as(Integer.class).orElse(null);
+        if (rWindows != null && rLimit != null) {
+            throw new IllegalArgumentException("limit and windows cannot be used together: windows export the whole created range");
+        }
+        if (rLimit == null && rFetchType != FetchType.STORE) {
+            rLimit = 10;
+        }
         String rEmail = runContext.render(this.email).as(String.class).orElse(null);
+        java.util.List<String> rFields = runContext.render(this.fields).asList(String.class);
+
+        FieldProjection projection = rFields.isEmpty() ? null : FieldProjection.of(rFields);
 
-        CustomerListParams.Builder paramsBuilder = CustomerListParams.builder()
-            .setLimit(Long.valueOf(rLimit));
+        CustomerListParams.Builder paramsBuilder = CustomerListParams.builder();
+
+        java.util.List<String> rExpand = runContext.render(this.expand).asList(String.class);
+        if (!rExpand.isEmpty()) {
+            paramsBuilder.addAllExpand(ExpandInterface.listExpand(rExpand));
+        }
 
         if (rEmail != null && !rEmail.isEmpty()) {
             paramsBuilder.setEmail(rEmail);
         }
 
-        StripeCollection<Customer> customers;
-        try {
-            // Use the client from AbstractStripe (instead of setting apiKey manually)
-            customers = client(runContext).customers().list(paramsBuilder.build());
-        } catch (StripeException e) {
-            throw new RuntimeException("Failed to list Stripe customers: " + e.getMessage(), e);
+        // Use the client from AbstractStripe (instead of setting apiKey manually)
+        StripeClient client = client(runContext);
+        Output.OutputBuilder output = Output.builder();
+
+        if (rWindows != null) {
+            TimeSlicedExport.Result result = TimeSlicedExport.of(runContext, this).export(
+                (createdGte, createdLt, startingAfter) -> {
+                    CustomerListParams.Builder windowParams = CustomerListParams.builder()
+                        .setCreated(CustomerListParams.Created.builder().setGte(createdGte).setLt(createdLt).build())
+                        .setLimit(TimeSlicedExport.MAX_PAGE_SIZE);
+                    if (!rExpand.isEmpty()) {
+                        windowParams.addAllExpand(ExpandInterface.listExpand(rExpand));
+                    }
+                    if (rEmail != null && !rEmail.isEmpty()) {
+                        windowParams.setEmail(rEmail);
+                    }
+                    if (startingAfter != null) {
+                        windowParams.setStartingAfter(startingAfter);
+                    }
+                    return client.customers().list(windowParams.build());
+                },
+                projection
+            );
+
+            return output.uri(result.uri())
+                .uris(result.uris())
+                .totalCount((int) result.count())
+                .build();
         }
 
-        java.util.List<Map<String, Object>> customerList = customers.getData().stream()
-            .map(customer ->
-            {
-                try {
-                    String json = customer.getLastResponse().body();
-                    return JacksonMapper.ofJson().readValue(json, new TypeReference<Map<String, Object>>() {
-                    });
-                } catch (Exception ex) {
-                    throw new RuntimeException("Failed to parse customer JSON: " + ex.getMessage(), ex);
+        switch (rFetchType) {
+            case FETCH_ONE -> {
+                java.util.List<Map<String, Object>> first = new ArrayList<>();
+                long count = paginate(client, paramsBuilder, 1, projection, first::add);
+
+                output.customer(first.isEmpty() ? null : first.getFirst())
+                    .totalCount((int) count);
+            }
+            case FETCH -> {
+                java.util.List<Map<String, Object>> customerList = new ArrayList<>();
+                long count = paginate(client, paramsBuilder, rLimit, projection, customerList::add);
+
+                output.customers(customerList)
+                    .totalCount((int) count);
+            }
+            case STORE -> {
+                File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+                long count;
+                try (OutputStream fileOutput = new BufferedOutputStream(new FileOutputStream(tempFile), FileSerde.BUFFER_SIZE)) {
+                    count = paginate(client, paramsBuilder, rLimit, projection, throwConsumer(customer -> FileSerde.write(fileOutput, customer)));
                 }
-            })
-            .toList();
 
-        return Output.builder()
-            .customers(customerList)
-            .totalCount(customerList.size())
-            .build();
+                output.uri(runContext.storage().putFile(tempFile))
+                    .totalCount((int) count);
+            }
+            default -> throw new IllegalArgumentException("Unsupported fetchType: " + rFetchType);
+        }
+
+        return output.build();
+    }
+
+    /**
+     * Walks the customer list page by page using the `starting_after` cursor, handing each customer to the consumer
+     * so that only one page is held in memory at a time. Stops when Stripe reports no more pages or {@code max} is reached.
+     */
+    private long paginate(StripeClient client, CustomerListParams.Builder paramsBuilder, Integer max, FieldProjection projection, Consumer<Map<String, Object>> consumer) throws IOException {
+        long count = 0;
+        String startingAfter = null;
+
+        while (max == null || count < max) {
+            long pageSize = max == null ? MAX_PAGE_SIZE : Math.min(MAX_PAGE_SIZE, max - count);
+            paramsBuilder.setLimit(pageSize);
+            if (startingAfter != null) {
+                paramsBuilder.setStartingAfter(startingAfter);
+            }
+
+            StripeCollection<Customer> page;
+            try {
+                page = client.customers().list(paramsBuilder.build());
+            } catch (StripeException e) {
+                throw new RuntimeException("Failed to list Stripe customers: " + e.getMessage(), e);
+            }
+
+            java.util.List<Customer> data = page.getData();
+            for (Map<String, Object> customer : StripeJson.elements(page, projection)) {
+                consumer.accept(customer);
+                count++;
+            }
+
+            if (data.isEmpty() || !Boolean.TRUE.equals(page.getHasMore())) {
+                break;
+            }
+            startingAfter = data.getLast().getId();
+        }
+
+        return count;
     }
 
     @Builder
     @Getter
     public static class Output implements io.kestra.core.models.tasks.Output {
-        @Schema(title = "Customer objects", description = "Each entry is the raw Stripe customer converted to a map")
+        @Schema(title = "Customer objects", description = "Each entry is the raw Stripe customer converted to a map; present only with `fetchType: FETCH`")
         private final java.util.List<Map<String, Object>> customers;
 
-        @Schema(title = "Returned count")
+        @Schema(title = "First customer", description = "Raw Stripe customer converted to a map; present only with `fetchType: FETCH_ONE`")
+        private final Map<String, Object> customer;
+
+        @Schema(title = "Stored customers URI", description = "ION file in internal storage with one customer per row; present only with `fetchType: STORE`, or with `windows` unless `filePerWindow` is true")
+        private final URI uri;
+
+        @Schema(title = "Stored window URIs", description = "ION file of each time window, newest first; present only with `windows` and `filePerWindow`")
+        private final java.util.List<URI> uris;
+
+        @Schema(title = "Returned count", description = "Number of customers returned or written to the stored file")
         private final Integer totalCount;
     }
 }
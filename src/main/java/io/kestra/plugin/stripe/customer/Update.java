@@ -1,9 +1,8 @@
 package io.kestra.plugin.stripe.customer;
 
+import java.net.URI;
 import java.util.Map;
-import java.util.stream.Collectors;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.stripe.exception.StripeException;
 import com.stripe.model.Customer;
 import com.stripe.param.CustomerUpdateParams;
@@ -13,8 +12,9 @@ import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
-import io.kestra.core.serializers.JacksonMapper;
 import io.kestra.plugin.stripe.AbstractStripe;
+import io.kestra.plugin.stripe.StoreInterface;
+import io.kestra.plugin.stripe.StripeJson;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
@@ -53,7 +53,7 @@ import io.kestra.core.models.annotations.PluginProperty;
         )
     }
 )
-public class Update extends AbstractStripe implements RunnableTask<Update.Output> {
+public class Update extends AbstractStripe implements RunnableTask<Update.Output>, StoreInterface {
 
     @Schema(title = "Customer ID to update", required = true)
     @NotNull
@@ -72,6 +72,11 @@ public class Update extends AbstractStripe implements RunnableTask<Update.Output
     @PluginProperty(group = "advanced")
     private Property<Map<String, Object>> metadata;
 
+    @NotNull
+    @Builder.Default
+    @PluginProperty(group = "processing")
+    private Property<Boolean> store = Property.ofValue(false);
+
     @Override
     public Output run(RunContext runContext) throws Exception {
         // Resolve customer ID
@@ -84,14 +89,8 @@ public class Update extends AbstractStripe implements RunnableTask<Update.Output
         String rEmail = runContext.render(this.email).as(String.class).orElse(null);
         Map<String, Object> rMetadata = runContext.render(this.metadata).asMap(String.class, Object.class);
 
-        // Convert metadata to Map<String,String> for Stripe
-        Map<String, String> metadataForStripe = rMetadata.entrySet().stream()
-            .collect(
-                Collectors.toMap(
-                    Map.Entry::getKey,
-                    e -> e.getValue() == null ? "" : e.getValue().toString()
-                )
-            );
+        // Convert metadata values to String for Stripe
+        Map<String, String> metadataForStripe = stripeMetadata(rMetadata);
 
         // Build update params
         CustomerUpdateParams.Builder builder = CustomerUpdateParams.builder();
@@ -112,10 +111,15 @@ public class Update extends AbstractStripe implements RunnableTask<Update.Output
             throw new RuntimeException("Failed to update Stripe customer: " + e.getMessage(), e);
         }
 
+        if (runContext.render(this.store).as(Boolean.class).orElse(false)) {
+            return Output.builder()
+                .customerId(customer.getId())
+                .uri(storeResponse(runContext, customer))
+                .build();
+        }
+
         // Convert Stripe customer JSON to Map<String,Object>
-        String json = customer.getLastResponse().body();
-        Map<String, Object> customerData = JacksonMapper.ofJson().readValue(json, new TypeReference<>() {
-        });
+        Map<String, Object> customerData = StripeJson.fromResponse(customer);
 
         return Output.builder()
             .customerId(customer.getId())
@@ -131,5 +135,8 @@ public class Update extends AbstractStripe implements RunnableTask<Update.Output
 
         @Schema(title = "Raw customer payload", description = "Stripe customer object after update as a map")
         private final Map<String, Object> customerData;
+
+        @Schema(title = "URI of the stored customer", description = "JSON file with the raw updated customer; only set when `store` is true, in which case `customerData` is empty")
+        private final URI uri;
     }
 }
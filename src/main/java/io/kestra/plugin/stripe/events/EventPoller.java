@@ -0,0 +1,123 @@
+package io.kestra.plugin.stripe.events;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import com.stripe.StripeClient;
+import com.stripe.exception.StripeException;
+import com.stripe.model.Event;
+import com.stripe.model.StripeCollection;
+import com.stripe.param.EventListParams;
+
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.plugin.stripe.AbstractStripe;
+import io.kestra.plugin.stripe.FieldProjection;
+import io.kestra.plugin.stripe.StripeJson;
+
+import lombok.experimental.SuperBuilder;
+
+import static io.kestra.core.utils.Rethrow.throwConsumer;
+
+/**
+ * Reads the Stripe event list for {@link Trigger}, with the client configuration of the other tasks. Not a task
+ * itself: it only exists so that the trigger's polls go through {@link AbstractStripe#client(RunContext)}.
+ */
+@SuperBuilder
+final class EventPoller extends AbstractStripe {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final List<String> types;
+
+    private final List<String> fields;
+
+    /**
+     * Returns the ID of the most recent event, or null when there is none.
+     */
+    String latest(RunContext runContext) throws Exception {
+        StripeCollection<Event> page;
+        try {
+            page = client(runContext).events().list(params().setLimit(1L).build());
+        } catch (StripeException e) {
+            throw new RuntimeException("Failed to list Stripe events: " + e.getMessage(), e);
+        }
+        return page.getData().isEmpty() ? null : page.getData().getFirst().getId();
+    }
+
+    /**
+     * Writes up to {@code max} events created after {@code endingBefore} to an ION file in internal storage, oldest
+     * first.
+     */
+    Batch next(RunContext runContext, String endingBefore, int max) throws Exception {
+        FieldProjection projection = fields == null || fields.isEmpty() ? null : FieldProjection.of(fields);
+
+        StripeClient client = client(runContext);
+        File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+        Batch page;
+        try (OutputStream fileOutput = new BufferedOutputStream(new FileOutputStream(tempFile), FileSerde.BUFFER_SIZE)) {
+            page = paginate(client, endingBefore, max, projection, throwConsumer(event -> FileSerde.write(fileOutput, event)));
+        }
+
+        return page.count() == 0 ? page : new Batch(runContext.storage().putFile(tempFile), page.count(), page.lastEventId(), page.hasMore());
+    }
+
+    /**
+     * Hands events to the consumer one page at a time, oldest first with the {@code ending_before} cursor, as Stripe
+     * returns the events closest to that cursor.
+     */
+    private Batch paginate(StripeClient client, String endingBefore, int max, FieldProjection projection, Consumer<Map<String, Object>> consumer) throws IOException {
+        EventListParams.Builder paramsBuilder = params();
+        long count = 0;
+        String cursor = endingBefore;
+        boolean hasMore = false;
+
+        while (count < max) {
+            paramsBuilder.setLimit((long) Math.min(MAX_PAGE_SIZE, max - count))
+                .setEndingBefore(cursor);
+
+            StripeCollection<Event> page;
+            try {
+                page = client.events().list(paramsBuilder.build());
+            } catch (StripeException e) {
+                throw new RuntimeException("Failed to list Stripe events: " + e.getMessage(), e);
+            }
+
+            List<Event> data = page.getData();
+            if (data.isEmpty()) {
+                hasMore = false;
+                break;
+            }
+
+            for (Map<String, Object> event : StripeJson.elements(page, projection).reversed()) {
+                consumer.accept(event);
+            }
+            cursor = data.getFirst().getId();
+            count += data.size();
+
+            hasMore = Boolean.TRUE.equals(page.getHasMore());
+            if (!hasMore) {
+                break;
+            }
+        }
+
+        return new Batch(null, count, cursor, hasMore);
+    }
+
+    private EventListParams.Builder params() {
+        EventListParams.Builder paramsBuilder = EventListParams.builder();
+        if (types != null && !types.isEmpty()) {
+            paramsBuilder.addAllType(types);
+        }
+        return paramsBuilder;
+    }
+
+    record Batch(URI uri, long count, String lastEventId, boolean hasMore) {
+    }
+}
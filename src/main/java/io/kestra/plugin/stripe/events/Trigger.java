@@ -0,0 +1,229 @@
+package io.kestra.plugin.stripe.events;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+import com.stripe.Stripe;
+import com.stripe.exception.InvalidRequestException;
+
+import io.kestra.core.exceptions.IllegalVariableEvaluationException;
+import io.kestra.core.exceptions.ResourceExpiredException;
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.triggers.AbstractTrigger;
+import io.kestra.core.models.triggers.PollingTriggerInterface;
+import io.kestra.core.models.triggers.TriggerContext;
+import io.kestra.core.models.triggers.TriggerOutput;
+import io.kestra.core.models.triggers.TriggerService;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.storages.kv.KVMetadata;
+import io.kestra.core.storages.kv.KVStore;
+import io.kestra.core.storages.kv.KVValue;
+import io.kestra.core.storages.kv.KVValueAndMetadata;
+import io.kestra.plugin.stripe.StripeInterface;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import io.kestra.core.models.annotations.PluginProperty;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Trigger a flow on new Stripe events",
+    description = "Polls the Stripe events API and starts one execution per batch of new events, written to an ION file in internal storage, oldest first. The ID of the newest event listed is saved in the namespace KV store, so that polls resume from it across restarts. Delivery is at most once, not exactly once: the position is saved before the execution is created, so a crash in between skips that batch, and Stripe's event list is only eventually consistent, so an event that shows up late behind a newer one is not emitted. Deduplicate or reconcile on the event ID where that matters. The first poll only records the current position: events that happened before the trigger was enabled are not emitted. Stripe keeps events for 30 days: when the saved event has expired, for example after the trigger was disabled for longer, the trigger logs a warning and starts again from the most recent event, without emitting the events in between. The saved position expires 30 days after the last poll, so it does not outlive a deleted flow or trigger for long."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Process paid invoices and failed payments in batches, every 30 seconds",
+            full = true,
+            code = """
+                id: stripe_events
+                namespace: company.team
+
+                tasks:
+                  - id: log
+                    type: io.kestra.plugin.core.log.Log
+                    message: "{{ trigger.count }} new events in {{ trigger.uri }}"
+
+                triggers:
+                  - id: events
+                    type: io.kestra.plugin.stripe.events.Trigger
+                    apiKey: "{{ secret('STRIPE_API_KEY') }}"
+                    types:
+                      - invoice.paid
+                      - payment_intent.payment_failed
+                    batchSize: 5000
+                    interval: PT30S
+                """
+        )
+    }
+)
+public class Trigger extends AbstractTrigger implements PollingTriggerInterface, TriggerOutput<Trigger.Output>, StripeInterface {
+    // Stripe keeps events for 30 days, so an older position is useless anyway
+    private static final Duration CURSOR_TTL = Duration.ofDays(30);
+    private static final Duration CURSOR_REFRESH = Duration.ofDays(1);
+
+    @NotNull
+    @PluginProperty(secret = true, group = "main")
+    @ToString.Exclude
+    private Property<String> apiKey;
+
+    @Schema(
+        title = "API base URL",
+        description = "Base URL of the Stripe API; change it only to go through a proxy or to point the trigger at a local Stripe stand-in"
+    )
+    @NotNull
+    @Builder.Default
+    @PluginProperty(group = "connection")
+    private Property<String> apiBase = Property.ofValue(Stripe.LIVE_API_BASE);
+
+    @Schema(
+        title = "Event types",
+        description = "Up to 20 event types such as `invoice.paid`; when unset, every event type is emitted"
+    )
+    @Size(max = 20)
+    @PluginProperty(group = "main")
+    private Property<java.util.List<String>> types;
+
+    @Schema(
+        title = "Maximum events per execution",
+        description = "A burst larger than this is split across successive polls, one execution each"
+    )
+    @Min(1)
+    @Builder.Default
+    @PluginProperty(group = "processing")
+    private Property<Integer> batchSize = Property.ofValue(1000);
+
+    @Schema(
+        title = "Fields to keep",
+        description = "Dotted paths such as `data.object.id` or JSON pointers, relative to each event. When unset, whole events are stored"
+    )
+    @PluginProperty(group = "processing")
+    private Property<java.util.List<String>> fields;
+
+    @Schema(title = "Interval between polls", description = "Defaults to one minute")
+    @Builder.Default
+    private final Duration interval = Duration.ofMinutes(1);
+
+    @Override
+    public Optional<Execution> evaluate(ConditionContext conditionContext, TriggerContext context) throws Exception {
+        RunContext runContext = conditionContext.getRunContext();
+        KVStore store = runContext.namespaceKv(context.getNamespace());
+        String key = ("stripe_events_" + context.getFlowId() + "_" + this.getId()).replaceAll("[^a-zA-Z0-9._-]", "_");
+        EventPoller poller = poller(runContext);
+
+        Cursor cursor = cursor(store, key);
+        if (cursor == null) {
+            // First poll: start from the most recent event instead of replaying the last 30 days
+            startFromLatest(runContext, poller, store, key);
+            return Optional.empty();
+        }
+
+        int rBatchSize = runContext.render(this.batchSize).as(Integer.class).orElse(1000);
+        EventPoller.Batch batch;
+        try {
+            batch = poller.next(runContext, cursor.lastEventId(), rBatchSize);
+        } catch (RuntimeException e) {
+            if (!(e.getCause() instanceof InvalidRequestException invalid) || !"resource_missing".equals(invalid.getCode())) {
+                throw e;
+            }
+
+            // Stripe no longer has the saved event, so there is no position left to resume from
+            runContext.logger().warn("Stripe event {} no longer exists, most likely older than 30 days; restarting from the most recent event, events in between are not emitted", cursor.lastEventId());
+            startFromLatest(runContext, poller, store, key);
+            return Optional.empty();
+        }
+        if (batch.count() == 0) {
+            // Keep the position alive while the trigger is polling, however long no new event arrives
+            if (cursor.savedAt().plus(CURSOR_REFRESH).isBefore(Instant.now())) {
+                saveCursor(store, key, cursor.lastEventId());
+            }
+            return Optional.empty();
+        }
+
+        saveCursor(store, key, batch.lastEventId());
+        runContext.logger().info("Found {} new Stripe events{}", batch.count(), batch.hasMore() ? ", more left for the next poll" : "");
+
+        Output output = Output.builder()
+            .uri(batch.uri())
+            .count((int) batch.count())
+            .lastEventId(batch.lastEventId())
+            .hasMore(batch.hasMore())
+            .build();
+        return Optional.of(TriggerService.generateExecution(this, conditionContext, context, output));
+    }
+
+    private EventPoller poller(RunContext runContext) throws IllegalVariableEvaluationException {
+        return EventPoller.builder()
+            .id(this.getId())
+            .type(Trigger.class.getName())
+            .apiKey(this.apiKey)
+            .apiBase(this.apiBase)
+            .types(runContext.render(this.types).asList(String.class))
+            .fields(runContext.render(this.fields).asList(String.class))
+            .build();
+    }
+
+    private static void startFromLatest(RunContext runContext, EventPoller poller, KVStore store, String key) throws Exception {
+        String latest = poller.latest(runContext);
+        if (latest != null) {
+            saveCursor(store, key, latest);
+        } else {
+            store.delete(key);
+        }
+    }
+
+    private static Cursor cursor(KVStore store, String key) throws IOException {
+        try {
+            return store.getValue(key)
+                .map(KVValue::value)
+                .map(value -> value instanceof Map<?, ?> map && map.get("lastEventId") instanceof String lastEventId
+                    ? new Cursor(lastEventId, map.get("savedAt") instanceof String savedAt ? Instant.parse(savedAt) : Instant.EPOCH)
+                    : null)
+                .orElse(null);
+        } catch (ResourceExpiredException e) {
+            return null;
+        }
+    }
+
+    private static void saveCursor(KVStore store, String key, String lastEventId) throws IOException {
+        store.put(key, new KVValueAndMetadata(
+            new KVMetadata("Stripe events trigger position", CURSOR_TTL),
+            Map.of("lastEventId", lastEventId, "savedAt", Instant.now().toString())
+        ));
+    }
+
+    private record Cursor(String lastEventId, Instant savedAt) {
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "Stored events URI", description = "ION file in internal storage with one event per row, oldest first")
+        private final URI uri;
+
+        @Schema(title = "Number of events in the batch")
+        private final Integer count;
+
+        @Schema(title = "Newest event ID", description = "ID of the most recent event of the batch, saved as the position of the next poll")
+        private final String lastEventId;
+
+        @Schema(title = "More events available", description = "True when `batchSize` was reached before the last new event; the rest is emitted by the next poll")
+        private final Boolean hasMore;
+    }
+}
@@ -0,0 +1,8 @@
+@PluginSubGroup(
+    title = "Stripe Events",
+    description = "This sub-group of plugins contains a trigger to poll Stripe events.",
+    categories = { PluginSubGroup.PluginCategory.BUSINESS }
+)
+package io.kestra.plugin.stripe.events;
+
+import io.kestra.core.models.annotations.PluginSubGroup;
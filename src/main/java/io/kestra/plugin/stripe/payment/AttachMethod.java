@@ -1,8 +1,8 @@
 package io.kestra.plugin.stripe.payment;
 
+import java.net.URI;
 import java.util.Map;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentMethod;
 import com.stripe.param.PaymentMethodAttachParams;
@@ -12,8 +12,9 @@ import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
-import io.kestra.core.serializers.JacksonMapper;
 import io.kestra.plugin.stripe.AbstractStripe;
+import io.kestra.plugin.stripe.StoreInterface;
+import io.kestra.plugin.stripe.StripeJson;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
@@ -49,7 +50,7 @@ import io.kestra.core.models.annotations.PluginProperty;
         )
     }
 )
-public class AttachMethod extends AbstractStripe implements RunnableTask<AttachMethod.Output> {
+public class AttachMethod extends AbstractStripe implements RunnableTask<AttachMethod.Output>, StoreInterface {
 
     @Schema(title = "PaymentMethod ID to attach")
     @NotNull
@@ -61,6 +62,11 @@ public class AttachMethod extends AbstractStripe implements RunnableTask<AttachM
     @PluginProperty(group = "main")
     private Property<String> customerId;
 
+    @NotNull
+    @Builder.Default
+    @PluginProperty(group = "processing")
+    private Property<Boolean> store = Property.ofValue(false);
+
     @Override
     public Output run(RunContext runContext) throws Exception {
         // Resolve parameters
@@ -84,15 +90,19 @@ public class AttachMethod extends AbstractStripe implements RunnableTask<AttachM
             throw new RuntimeException("Failed to attach PaymentMethod to customer: " + e.getMessage(), e);
         }
 
-        // Convert Stripe PaymentMethod JSON to Map<String,Object>
-        String json = attached.getLastResponse().body();
-        Map<String, Object> paymentMethodData = JacksonMapper.ofJson().readValue(json, new TypeReference<>() {
-        });
-
-        return Output.builder()
+        Output.OutputBuilder output = Output.builder()
             .paymentMethodId(attached.getId())
             .customerId(attached.getCustomer())
-            .type(attached.getType())
+            .type(attached.getType());
+
+        if (runContext.render(this.store).as(Boolean.class).orElse(false)) {
+            return output.uri(storeResponse(runContext, attached)).build();
+        }
+
+        // Convert Stripe PaymentMethod JSON to Map<String,Object>
+        Map<String, Object> paymentMethodData = StripeJson.fromResponse(attached);
+
+        return output
             .paymentMethodData(paymentMethodData)
             .build();
     }
@@ -111,5 +121,8 @@ public class AttachMethod extends AbstractStripe implements RunnableTask<AttachM
 
         @Schema(title = "Raw PaymentMethod payload", description = "Full PaymentMethod object converted to a map")
         private final Map<String, Object> paymentMethodData;
+
+        @Schema(title = "URI of the stored PaymentMethod", description = "JSON file with the raw PaymentMethod; only set when `store` is true, in which case `paymentMethodData` is empty")
+        private final URI uri;
     }
 }
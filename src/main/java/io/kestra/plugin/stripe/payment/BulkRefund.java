@@ -0,0 +1,126 @@
+package io.kestra.plugin.stripe.payment;
+
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.stripe.param.RefundCreateParams;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.tasks.RunnableTask;
+import io.kestra.core.runners.RunContext;
+import io.kestra.plugin.stripe.AbstractStripeBulk;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Refund Stripe payments in bulk",
+    description = "Issues one refund per `{chargeId, paymentIntentId, amount}` row of an ION or JSONL file, with bounded concurrency and the worker's shared rate limit. Each row needs `chargeId` or `paymentIntentId`; `amount` defaults to a full refund. Every row is sent with its own idempotency key, so a retried task never refunds a payment twice. Writes an ION file with the input row, `refundId`, `status`, `amount`, `currency` and `error` of each row and reports refunded totals per currency; a failing row does not abort the batch."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Refund every payment affected by an incident",
+            full = true,
+            code = """
+                id: incident_refunds
+                namespace: company.team
+
+                inputs:
+                  - id: payments
+                    type: FILE
+
+                tasks:
+                  - id: refund_payments
+                    type: io.kestra.plugin.stripe.payment.BulkRefund
+                    apiKey: "{{ secret('STRIPE_API_KEY') }}"
+                    from: "{{ inputs.payments }}"
+                    concurrency: 50
+                """
+        )
+    }
+)
+public class BulkRefund extends AbstractStripeBulk implements RunnableTask<BulkRefund.Output> {
+
+    @Override
+    public Output run(RunContext runContext) throws Exception {
+        Map<String, Long> refunded = new TreeMap<>();
+
+        BulkResult result = processRows(runContext, (client, row, index) -> {
+            com.stripe.model.Refund refund = client.refunds().create(params(row), rowRequestOptions(runContext, index));
+
+            Map<String, Object> fields = new LinkedHashMap<>();
+            fields.put("refundId", refund.getId());
+            fields.put("status", refund.getStatus());
+            fields.put("amount", refund.getAmount());
+            fields.put("currency", refund.getCurrency());
+            return fields;
+        }, refund -> {
+            // Skipped rows carry the refund saved by the attempt that created it, so retries keep the totals whole
+            if (refund.get("error") == null && refund.get("amount") instanceof Number amount && refund.get("currency") instanceof String currency && isRefunded((String) refund.get("status"))) {
+                refunded.merge(currency, amount.longValue(), Long::sum);
+            }
+        });
+
+        return Output.builder()
+            .uri(result.uri())
+            .successCount(result.successCount())
+            .failureCount(result.failureCount())
+            .skippedCount(result.skippedCount())
+            .refundedAmounts(refunded)
+            .build();
+    }
+
+    static RefundCreateParams params(Map<String, Object> row) {
+        Object chargeId = row.get("chargeId");
+        Object paymentIntentId = row.get("paymentIntentId");
+        if (chargeId == null && paymentIntentId == null) {
+            throw new IllegalArgumentException("Either chargeId or paymentIntentId must be provided.");
+        }
+
+        RefundCreateParams.Builder builder = RefundCreateParams.builder();
+        if (chargeId != null) {
+            builder.setCharge(chargeId.toString());
+        }
+        if (paymentIntentId != null) {
+            builder.setPaymentIntent(paymentIntentId.toString());
+        }
+        if (row.get("amount") != null) {
+            builder.setAmount(row.get("amount") instanceof Number number ? number.longValue() : Long.parseLong(row.get("amount").toString()));
+        }
+
+        return builder.build();
+    }
+
+    private static boolean isRefunded(String status) {
+        return !"failed".equals(status) && !"canceled".equals(status);
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "URI of the result file", description = "ION file with one `{row, refundId, status, amount, currency, error}` row per input row, in input order; rows completed by a previous attempt keep that attempt's result and have `skipped: true`")
+        private final URI uri;
+
+        @Schema(title = "Number of refunds created")
+        private final long successCount;
+
+        @Schema(title = "Number of rows that failed")
+        private final long failureCount;
+
+        @Schema(title = "Number of rows skipped", description = "Rows already refunded by a previous attempt of this task run; their refunds are reported from that attempt and counted in `refundedAmounts`")
+        private final long skippedCount;
+
+        @Schema(title = "Refunded amount per currency", description = "Sum of the refunds that are not failed or canceled, including those created by previous attempts of this task run, in the smallest currency unit, keyed by lowercase ISO currency code")
+        private final Map<String, Long> refundedAmounts;
+    }
+}
@@ -1,5 +1,7 @@
 package io.kestra.plugin.stripe.payment;
 
+import java.util.List;
+
 import com.stripe.exception.StripeException;
 import com.stripe.model.PaymentIntent;
 import com.stripe.param.PaymentIntentConfirmParams;
@@ -10,6 +12,9 @@ import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
 import io.kestra.plugin.stripe.AbstractStripe;
+import io.kestra.plugin.stripe.ExpandInterface;
+import io.kestra.plugin.stripe.IdempotencyKeyInterface;
+import io.kestra.plugin.stripe.StripeJson;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
@@ -44,7 +49,7 @@ import io.kestra.core.models.annotations.PluginProperty;
         )
     }
 )
-public class ConfirmIntent extends AbstractStripe implements RunnableTask<ConfirmIntent.Output> {
+public class ConfirmIntent extends AbstractStripe implements RunnableTask<ConfirmIntent.Output>, ExpandInterface, IdempotencyKeyInterface {
 
     @Schema(title = "PaymentIntent ID to confirm")
     @NotNull
@@ -59,6 +64,10 @@ public class ConfirmIntent extends AbstractStripe implements RunnableTask<Confir
     @PluginProperty(group = "connection")
     private Property<String> returnUrl;
 
+    private Property<String> idempotencyKey;
+
+    private Property<List<String>> expand;
+
     @Override
     public Output run(RunContext runContext) throws Exception {
         // Resolve PaymentIntent ID
@@ -71,10 +80,16 @@ public class ConfirmIntent extends AbstractStripe implements RunnableTask<Confir
 
         String rReturnUrl = runContext.render(this.returnUrl).as(String.class).orElse(null);
 
+        List<String> rExpand = runContext.render(this.expand).asList(String.class);
+
         try {
             // Build confirm params
             PaymentIntentConfirmParams.Builder paramsBuilder = PaymentIntentConfirmParams.builder();
 
+            if (!rExpand.isEmpty()) {
+                paramsBuilder.addAllExpand(rExpand);
+            }
+
             if (rPaymentMethod != null) {
                 paramsBuilder.setPaymentMethod(rPaymentMethod);
             }
@@ -86,13 +101,14 @@ public class ConfirmIntent extends AbstractStripe implements RunnableTask<Confir
             // Use the client from AbstractStripe
             PaymentIntent confirmed = client(runContext).paymentIntents().confirm(
                 rId,
-                paramsBuilder.build()
+                paramsBuilder.build(),
+                idempotentRequestOptions(runContext, this.idempotencyKey)
             );
 
             return Output.builder()
                 .paymentIntentId(confirmed.getId())
                 .status(confirmed.getStatus())
-                .raw(confirmed.toJson())
+                .raw(StripeJson.responseBody(confirmed))
                 .build();
         } catch (StripeException e) {
             throw new RuntimeException("Failed to confirm PaymentIntent: " + rId, e);
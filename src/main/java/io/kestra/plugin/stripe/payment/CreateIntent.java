@@ -1,8 +1,8 @@
 package io.kestra.plugin.stripe.payment;
 
+import java.net.URI;
 import java.util.Map;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.stripe.model.PaymentIntent;
 import com.stripe.param.PaymentIntentCreateParams;
 
@@ -11,8 +11,10 @@ import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
-import io.kestra.core.serializers.JacksonMapper;
 import io.kestra.plugin.stripe.AbstractStripe;
+import io.kestra.plugin.stripe.IdempotencyKeyInterface;
+import io.kestra.plugin.stripe.StoreInterface;
+import io.kestra.plugin.stripe.StripeJson;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
@@ -49,7 +51,7 @@ import io.kestra.core.models.annotations.PluginProperty;
         )
     }
 )
-public class CreateIntent extends AbstractStripe implements RunnableTask<CreateIntent.Output> {
+public class CreateIntent extends AbstractStripe implements RunnableTask<CreateIntent.Output>, StoreInterface, IdempotencyKeyInterface {
     @NotNull
     @Schema(
         title = "Amount to collect", description = "Amount in the smallest currency unit (for USD, cents)"
@@ -71,6 +73,13 @@ public class CreateIntent extends AbstractStripe implements RunnableTask<CreateI
     @PluginProperty(group = "main")
     private Property<String> customer;
 
+    private Property<String> idempotencyKey;
+
+    @NotNull
+    @Builder.Default
+    @PluginProperty(group = "processing")
+    private Property<Boolean> store = Property.ofValue(false);
+
     @Override
     public Output run(RunContext runContext) throws Exception {
         // Resolve input fields
@@ -89,14 +98,18 @@ public class CreateIntent extends AbstractStripe implements RunnableTask<CreateI
         }
 
         // Use the client from AbstractStripe
-        PaymentIntent intent = client(runContext).paymentIntents().create(paramsBuilder.build());
+        PaymentIntent intent = client(runContext).paymentIntents().create(paramsBuilder.build(), idempotentRequestOptions(runContext, this.idempotencyKey));
+
+        if (runContext.render(this.store).as(Boolean.class).orElse(false)) {
+            return Output.builder()
+                .paymentIntentId(intent.getId())
+                .status(intent.getStatus())
+                .uri(storeResponse(runContext, intent))
+                .build();
+        }
 
         // Convert Stripe object JSON into Map
-        Map<String, Object> paymentIntentMap = JacksonMapper.ofJson().readValue(
-            intent.toJson(),
-            new TypeReference<>() {
-            }
-        );
+        Map<String, Object> paymentIntentMap = StripeJson.fromResponse(intent);
 
         return Output.builder()
             .paymentIntentId(intent.getId())
@@ -116,5 +129,8 @@ public class CreateIntent extends AbstractStripe implements RunnableTask<CreateI
 
         @Schema(title = "Raw PaymentIntent payload", description = "Full PaymentIntent object converted to a map")
         private final Map<String, Object> rawResponse;
+
+        @Schema(title = "URI of the stored PaymentIntent", description = "JSON file with the raw PaymentIntent; only set when `store` is true, in which case `rawResponse` is empty")
+        private final URI uri;
     }
 }
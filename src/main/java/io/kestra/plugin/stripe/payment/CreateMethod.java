@@ -2,7 +2,6 @@ package io.kestra.plugin.stripe.payment;
 
 import java.util.Map;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.stripe.model.PaymentMethod;
 import com.stripe.param.PaymentMethodCreateParams;
 
@@ -11,8 +10,9 @@ import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
-import io.kestra.core.serializers.JacksonMapper;
 import io.kestra.plugin.stripe.AbstractStripe;
+import io.kestra.plugin.stripe.IdempotencyKeyInterface;
+import io.kestra.plugin.stripe.StripeJson;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
@@ -51,7 +51,7 @@ import io.kestra.core.models.annotations.PluginProperty;
         )
     }
 )
-public class CreateMethod extends AbstractStripe implements RunnableTask<CreateMethod.Output> {
+public class CreateMethod extends AbstractStripe implements RunnableTask<CreateMethod.Output>, IdempotencyKeyInterface {
     @NotNull
     @Schema(title = "PaymentMethod type", description = "Type enum such as `card`; controls required fields")
     @PluginProperty(group = "main")
@@ -73,6 +73,8 @@ public class CreateMethod extends AbstractStripe implements RunnableTask<CreateM
     @PluginProperty(group = "advanced")
     private Property<String> cvc;
 
+    private Property<String> idempotencyKey;
+
     @Override
     public Output run(RunContext runContext) throws Exception {
         // Resolve inputs
@@ -102,14 +104,10 @@ public class CreateMethod extends AbstractStripe implements RunnableTask<CreateM
         }
 
         // Use the client from AbstractStripe
-        PaymentMethod paymentMethod = client(runContext).paymentMethods().create(builder.build());
+        PaymentMethod paymentMethod = client(runContext).paymentMethods().create(builder.build(), idempotentRequestOptions(runContext, this.idempotencyKey));
 
         // Convert to Map for raw response
-        Map<String, Object> paymentMethodMap = JacksonMapper.ofJson().readValue(
-            paymentMethod.toJson(),
-            new TypeReference<Map<String, Object>>() {
-            }
-        );
+        Map<String, Object> paymentMethodMap = StripeJson.fromResponse(paymentMethod);
 
         return Output.builder()
             .paymentMethodId(paymentMethod.getId())
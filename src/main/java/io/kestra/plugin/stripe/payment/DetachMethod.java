@@ -2,7 +2,6 @@ package io.kestra.plugin.stripe.payment;
 
 import java.util.Map;
 
-import com.fasterxml.jackson.core.type.TypeReference;
 import com.stripe.model.PaymentMethod;
 
 import io.kestra.core.models.annotations.Example;
@@ -10,8 +9,8 @@ import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
-import io.kestra.core.serializers.JacksonMapper;
 import io.kestra.plugin.stripe.AbstractStripe;
+import io.kestra.plugin.stripe.StripeJson;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
@@ -63,11 +62,7 @@ public class DetachMethod extends AbstractStripe implements RunnableTask<DetachM
         PaymentMethod detached = client(runContext).paymentMethods().detach(pmId);
 
         // Convert to Map
-        Map<String, Object> detachedMap = JacksonMapper.ofJson().readValue(
-            detached.toJson(),
-            new TypeReference<>() {
-            }
-        );
+        Map<String, Object> detachedMap = StripeJson.fromResponse(detached);
 
         return Output.builder()
             .id(detached.getId())
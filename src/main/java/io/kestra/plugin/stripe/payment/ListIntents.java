@@ -1,11 +1,17 @@
 package io.kestra.plugin.stripe.payment;
 
-import java.util.ArrayList;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.time.ZonedDateTime;
 import java.util.List;
 import java.util.Map;
 
-import com.fasterxml.jackson.core.type.TypeReference;
+import com.stripe.StripeClient;
 import com.stripe.model.PaymentIntent;
+import com.stripe.model.StripeCollection;
 import com.stripe.param.PaymentIntentListParams;
 
 import io.kestra.core.models.annotations.Example;
@@ -13,10 +19,18 @@ import io.kestra.core.models.annotations.Plugin;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
-import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.core.serializers.FileSerde;
 import io.kestra.plugin.stripe.AbstractStripe;
+import io.kestra.plugin.stripe.ExpandInterface;
+import io.kestra.plugin.stripe.FieldProjection;
+import io.kestra.plugin.stripe.FieldsInterface;
+import io.kestra.plugin.stripe.StripeJson;
+import io.kestra.plugin.stripe.TimeSlicedExport;
+import io.kestra.plugin.stripe.TimeWindowsInterface;
+import io.kestra.plugin.stripe.Watermark;
 
 import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotNull;
 import lombok.Builder;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -32,7 +46,7 @@ import io.kestra.core.models.annotations.PluginProperty;
 @NoArgsConstructor
 @Schema(
     title = "List Stripe PaymentIntents",
-    description = "Lists PaymentIntents with optional limit and customer filter using the secret key context. Returns raw intent payloads for further processing."
+    description = "Lists PaymentIntents with optional limit and customer filter using the secret key context. Returns raw intent payloads for further processing. In incremental mode, exports every PaymentIntent created since the previous run to internal storage. With `windows`, a `created` range is split into time windows that are exported concurrently."
 )
 @Plugin(
     examples = {
@@ -50,12 +64,67 @@ import io.kestra.core.models.annotations.PluginProperty;
                     limit: 5
                     customer: cus_123
                 """
+        ),
+        @Example(
+            title = "List Payment Intents with their customers in a single request",
+            full = true,
+            code = """
+                id: list_payment_intents_with_customers
+                namespace: company.team
+
+                tasks:
+                  - id: list_payment_intents
+                    type: io.kestra.plugin.stripe.payment.ListIntents
+                    apiKey: "{{ secret('STRIPE_API_KEY') }}"
+                    limit: 20
+                    expand:
+                      - customer
+                """
+        ),
+        @Example(
+            title = "Export the PaymentIntents created since the previous hourly run",
+            full = true,
+            code = """
+                id: finance_sync
+                namespace: company.team
+
+                tasks:
+                  - id: new_payment_intents
+                    type: io.kestra.plugin.stripe.payment.ListIntents
+                    apiKey: "{{ secret('STRIPE_API_KEY') }}"
+                    incremental: true
+
+                triggers:
+                  - id: hourly
+                    type: io.kestra.plugin.core.trigger.Schedule
+                    cron: "0 * * * *"
+                """
+        ),
+        @Example(
+            title = "Export December's PaymentIntents, one file per day",
+            full = true,
+            code = """
+                id: export_payment_intents
+                namespace: company.team
+
+                tasks:
+                  - id: export
+                    type: io.kestra.plugin.stripe.payment.ListIntents
+                    apiKey: "{{ secret('STRIPE_API_KEY') }}"
+                    createdAfter: "2025-12-01T00:00:00Z"
+                    createdBefore: "2026-01-01T00:00:00Z"
+                    windows: 31
+                    filePerWindow: true
+                    rateLimit: true
+                """
         )
     }
 )
-public class ListIntents extends AbstractStripe implements RunnableTask<ListIntents.Output> {
+public class ListIntents extends AbstractStripe implements RunnableTask<ListIntents.Output>, FieldsInterface, ExpandInterface, TimeWindowsInterface {
+
+    private static final long MAX_PAGE_SIZE = 100;
 
-    @Schema(title = "Maximum PaymentIntents", description = "Optional limit; Stripe defaults apply when unset")
+    @Schema(title = "Maximum PaymentIntents", description = "Optional limit; Stripe defaults apply when unset. Ignored in incremental mode, which always exports every new PaymentIntent")
     @PluginProperty(group = "processing")
     private Property<Long> limit;
 
@@ -63,11 +132,44 @@ public class ListIntents extends AbstractStripe implements RunnableTask<ListInte
     @PluginProperty(group = "destination")
     private Property<String> customer;
 
+    private Property<List<String>> fields;
+
+    private Property<List<String>> expand;
+
+    @Schema(
+        title = "Incremental export",
+        description = "When true, every PaymentIntent created since the previous run is written to an ION file in internal storage, instead of returning the first page. The highest `created` timestamp exported, along with the IDs created at that second, is saved in the namespace KV store once the file is stored, so that a failed run exports the same PaymentIntents again"
+    )
+    @NotNull
+    @Builder.Default
+    @PluginProperty(group = "processing")
+    private Property<Boolean> incremental = Property.ofValue(false);
+
+    @Schema(
+        title = "Watermark key",
+        description = "Namespace KV key holding the incremental export position; defaults to one key per flow and task. Set it to share or reset the position"
+    )
+    @PluginProperty(group = "processing")
+    private Property<String> watermarkKey;
+
+    private Property<Integer> windows;
+
+    private Property<ZonedDateTime> createdAfter;
+
+    private Property<ZonedDateTime> createdBefore;
+
+    private Property<Boolean> filePerWindow;
+
     @Override
     public Output run(RunContext runContext) throws Exception {
         // Build parameters
         PaymentIntentListParams.Builder paramsBuilder = PaymentIntentListParams.builder();
 
+        List<String> rExpand = runContext.render(this.expand).asList(String.class);
+        if (!rExpand.isEmpty()) {
+            paramsBuilder.addAllExpand(ExpandInterface.listExpand(rExpand));
+        }
+
         Long resolvedLimit = runContext.render(this.limit).as(Long.class).orElse(null);
         if (resolvedLimit != null) {
             paramsBuilder.setLimit(resolvedLimit);
@@ -78,35 +180,144 @@ public class ListIntents extends AbstractStripe implements RunnableTask<ListInte
             paramsBuilder.setCustomer(resolvedCustomer);
         }
 
-        // Use the client from AbstractStripe
-        List<PaymentIntent> paymentIntents = client(runContext).paymentIntents()
-            .list(paramsBuilder.build())
-            .getData();
-
-        // Convert each PaymentIntent to a Map
-        List<Map<String, Object>> results = new ArrayList<>();
-        for (PaymentIntent pi : paymentIntents) {
-            Map<String, Object> piMap = JacksonMapper.ofJson().readValue(
-                pi.toJson(),
-                new TypeReference<Map<String, Object>>() {
-                }
-            );
-            results.add(piMap);
+        boolean rIncremental = runContext.render(this.incremental).as(Boolean.class).orElse(false);
+        Integer rWindows = runContext.render(this.windows).as(Integer.class).orElse(null);
+        if (rIncremental && rWindows != null) {
+            throw new IllegalArgumentException("incremental and windows cannot be used together");
+        }
+        if (rWindows != null && resolvedLimit != null) {
+            throw new IllegalArgumentException("limit and windows cannot be used together: windows export the whole created range");
         }
 
+        if (rIncremental) {
+            return exportIncrementally(runContext, paramsBuilder);
+        }
+
+        if (rWindows != null) {
+            return exportWindows(runContext, rExpand, resolvedCustomer);
+        }
+
+        // Use the client from AbstractStripe
+        StripeCollection<PaymentIntent> page = client(runContext).paymentIntents().list(paramsBuilder.build());
+
+        // Convert the whole page at once, keeping only the requested fields of each PaymentIntent
+        List<String> rFields = runContext.render(this.fields).asList(String.class);
+        List<Map<String, Object>> results = StripeJson.elements(page, rFields.isEmpty() ? null : FieldProjection.of(rFields));
+
         return Output.builder()
             .count(results.size())
             .paymentIntents(results)
             .build();
     }
 
+    /**
+     * Pages through every PaymentIntent created at or after the watermark, newest first, writes the new ones to
+     * internal storage and moves the watermark forward once the file is stored.
+     */
+    private Output exportIncrementally(RunContext runContext, PaymentIntentListParams.Builder paramsBuilder) throws Exception {
+        String rWatermarkKey = runContext.render(this.watermarkKey).as(String.class)
+            .orElse(Watermark.defaultKey(runContext, "stripe_payment_intents", this.getId()));
+        Watermark watermark = Watermark.load(runContext, rWatermarkKey);
+        if (watermark.created() != null) {
+            paramsBuilder.setCreated(PaymentIntentListParams.Created.builder().setGte(watermark.created()).build());
+        }
+
+        List<String> rFields = runContext.render(this.fields).asList(String.class);
+        FieldProjection projection = rFields.isEmpty() ? null : FieldProjection.of(rFields);
+
+        StripeClient client = client(runContext);
+        File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+        int count = 0;
+        try (OutputStream output = new BufferedOutputStream(new FileOutputStream(tempFile), FileSerde.BUFFER_SIZE)) {
+            String startingAfter = null;
+            while (true) {
+                paramsBuilder.setLimit(MAX_PAGE_SIZE);
+                if (startingAfter != null) {
+                    paramsBuilder.setStartingAfter(startingAfter);
+                }
+
+                StripeCollection<PaymentIntent> page = client.paymentIntents().list(paramsBuilder.build());
+                List<PaymentIntent> data = page.getData();
+                List<Map<String, Object>> rows = StripeJson.elements(page, projection);
+                for (int i = 0; i < data.size(); i++) {
+                    PaymentIntent pi = data.get(i);
+                    if (!watermark.isNew(pi.getCreated(), pi.getId())) {
+                        continue;
+                    }
+
+                    FileSerde.write(output, rows.get(i));
+                    watermark.observe(pi.getCreated(), pi.getId());
+                    count++;
+                }
+
+                if (data.isEmpty() || !Boolean.TRUE.equals(page.getHasMore())) {
+                    break;
+                }
+                startingAfter = data.getLast().getId();
+            }
+        }
+
+        URI uri = runContext.storage().putFile(tempFile);
+        watermark.save();
+        runContext.logger().info("Exported {} new PaymentIntents, watermark is now {}", count, watermark.next());
+
+        return Output.builder()
+            .count(count)
+            .uri(uri)
+            .watermark(watermark.next())
+            .build();
+    }
+
+    /**
+     * Exports the {@code created} range by paginating its time windows concurrently.
+     */
+    private Output exportWindows(RunContext runContext, List<String> rExpand, String rCustomer) throws Exception {
+        List<String> rFields = runContext.render(this.fields).asList(String.class);
+        FieldProjection projection = rFields.isEmpty() ? null : FieldProjection.of(rFields);
+
+        StripeClient client = client(runContext);
+        TimeSlicedExport.Result result = TimeSlicedExport.of(runContext, this).export(
+            (createdGte, createdLt, startingAfter) -> {
+                PaymentIntentListParams.Builder windowParams = PaymentIntentListParams.builder()
+                    .setCreated(PaymentIntentListParams.Created.builder().setGte(createdGte).setLt(createdLt).build())
+                    .setLimit(TimeSlicedExport.MAX_PAGE_SIZE);
+                if (!rExpand.isEmpty()) {
+                    windowParams.addAllExpand(ExpandInterface.listExpand(rExpand));
+                }
+                if (rCustomer != null && !rCustomer.isEmpty()) {
+                    windowParams.setCustomer(rCustomer);
+                }
+                if (startingAfter != null) {
+                    windowParams.setStartingAfter(startingAfter);
+                }
+                return client.paymentIntents().list(windowParams.build());
+            },
+            projection
+        );
+
+        return Output.builder()
+            .count((int) result.count())
+            .uri(result.uri())
+            .uris(result.uris())
+            .build();
+    }
+
     @Builder
     @Getter
     public static class Output implements io.kestra.core.models.tasks.Output {
         @Schema(title = "Returned count")
         private final int count;
 
-        @Schema(title = "PaymentIntents payloads", description = "Each entry is a PaymentIntent converted to a map")
+        @Schema(title = "PaymentIntents payloads", description = "Each entry is a PaymentIntent converted to a map; not set in incremental mode")
         private final List<Map<String, Object>> paymentIntents;
+
+        @Schema(title = "URI of the exported PaymentIntents", description = "ION file with one row per PaymentIntent, newest first; only set in incremental mode, or with `windows` unless `filePerWindow` is true")
+        private final URI uri;
+
+        @Schema(title = "URIs of the exported windows", description = "ION file of each time window, newest first; only set with `windows` and `filePerWindow`")
+        private final List<URI> uris;
+
+        @Schema(title = "Watermark", description = "Highest `created` timestamp exported so far, as Unix seconds; only set in incremental mode")
+        private final Long watermark;
     }
 }
@@ -13,6 +13,8 @@ import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
 import io.kestra.plugin.stripe.AbstractStripe;
+import io.kestra.plugin.stripe.ExpandInterface;
+import io.kestra.plugin.stripe.StripeJson;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
@@ -48,7 +50,7 @@ import io.kestra.core.models.annotations.PluginProperty;
         )
     }
 )
-public class ListMethods extends AbstractStripe implements RunnableTask<ListMethods.Output> {
+public class ListMethods extends AbstractStripe implements RunnableTask<ListMethods.Output>, ExpandInterface {
 
     @Schema(title = "Customer ID")
     @NotNull
@@ -60,17 +62,23 @@ public class ListMethods extends AbstractStripe implements RunnableTask<ListMeth
     @PluginProperty(group = "main")
     private Property<String> paymentMethodType;
 
+    private Property<List<String>> expand;
+
     @Override
     public Output run(RunContext runContext) throws Exception {
         // Resolve properties
         String cusId = runContext.render(this.customerId).as(String.class).orElseThrow();
         String pmType = runContext.render(this.paymentMethodType).as(String.class).orElseThrow();
+        List<String> rExpand = runContext.render(this.expand).asList(String.class);
 
         try {
-            PaymentMethodListParams params = PaymentMethodListParams.builder()
+            PaymentMethodListParams.Builder paramsBuilder = PaymentMethodListParams.builder()
                 .setCustomer(cusId)
-                .setType(PaymentMethodListParams.Type.valueOf(pmType.toUpperCase()))
-                .build();
+                .setType(PaymentMethodListParams.Type.valueOf(pmType.toUpperCase()));
+            if (!rExpand.isEmpty()) {
+                paramsBuilder.addAllExpand(ExpandInterface.listExpand(rExpand));
+            }
+            PaymentMethodListParams params = paramsBuilder.build();
 
             // Use the per-request client from AbstractStripe (thread-safe, no global state mutation)
             StripeCollection<PaymentMethod> collection = client(runContext).paymentMethods().list(params);
@@ -82,7 +90,7 @@ public class ListMethods extends AbstractStripe implements RunnableTask<ListMeth
             return Output.builder()
                 .customerId(cusId)
                 .paymentMethodIds(pmIds)
-                .raw(collection.toJson())
+                .raw(StripeJson.responseBody(collection))
                 .build();
         } catch (StripeException e) {
             throw new RuntimeException("Failed to list PaymentMethods for customer: " + cusId, e);
@@ -9,6 +9,8 @@ import io.kestra.core.models.property.Property;
 import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
 import io.kestra.plugin.stripe.AbstractStripe;
+import io.kestra.plugin.stripe.IdempotencyKeyInterface;
+import io.kestra.plugin.stripe.StripeJson;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import lombok.*;
@@ -57,7 +59,7 @@ import io.kestra.core.models.annotations.PluginProperty;
         )
     }
 )
-public class Refund extends AbstractStripe implements RunnableTask<Refund.Output> {
+public class Refund extends AbstractStripe implements RunnableTask<Refund.Output>, IdempotencyKeyInterface {
     @Schema(
         title = "Charge ID",
         description = "Charge to refund; provide this or `paymentIntentId`"
@@ -79,6 +81,8 @@ public class Refund extends AbstractStripe implements RunnableTask<Refund.Output
     @PluginProperty(group = "advanced")
     private Property<Long> amount;
 
+    private Property<String> idempotencyKey;
+
     @Override
     public Output run(RunContext runContext) throws Exception {
         String rChargeId = runContext.render(this.chargeId).as(String.class).orElse(null);
@@ -103,14 +107,14 @@ public class Refund extends AbstractStripe implements RunnableTask<Refund.Output
 
         try {
             // Use the client from AbstractStripe
-            com.stripe.model.Refund refund = client(runContext).refunds().create(params.build());
+            com.stripe.model.Refund refund = client(runContext).refunds().create(params.build(), idempotentRequestOptions(runContext, this.idempotencyKey));
 
             return Output.builder()
                 .refundId(refund.getId())
                 .status(refund.getStatus())
                 .amount(refund.getAmount())
                 .currency(refund.getCurrency())
-                .raw(refund.toJson())
+                .raw(StripeJson.responseBody(refund))
                 .build();
         } catch (StripeException e) {
             throw new RuntimeException("Failed to create refund", e);
@@ -0,0 +1,44 @@
+package io.kestra.plugin.stripe.webhook;
+
+import java.util.List;
+
+/**
+ * Include and exclude lists of Stripe event types. A pattern is either an exact type such as {@code invoice.paid} or
+ * a prefix ending with {@code *} such as {@code invoice.*}; {@code *} alone matches every type.
+ */
+final class EventTypes {
+    private final List<String> include;
+    private final List<String> exclude;
+
+    private EventTypes(List<String> include, List<String> exclude) {
+        this.include = include;
+        this.exclude = exclude;
+    }
+
+    static EventTypes of(List<String> include, List<String> exclude) {
+        return new EventTypes(include, exclude);
+    }
+
+    /**
+     * Returns true when the type matches an include pattern, or there are none, and no exclude pattern.
+     */
+    boolean matches(String type) {
+        if (type == null) {
+            return include.isEmpty();
+        }
+        return (include.isEmpty() || anyMatch(include, type)) && !anyMatch(exclude, type);
+    }
+
+    boolean isEmpty() {
+        return include.isEmpty() && exclude.isEmpty();
+    }
+
+    private static boolean anyMatch(List<String> patterns, String type) {
+        for (String pattern : patterns) {
+            if (pattern.endsWith("*") ? type.startsWith(pattern.substring(0, pattern.length() - 1)) : pattern.equals(type)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
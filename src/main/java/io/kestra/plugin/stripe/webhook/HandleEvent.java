@@ -1,10 +1,12 @@
 package io.kestra.plugin.stripe.webhook;
 
+import java.util.List;
 import java.util.Map;
 
 import com.stripe.exception.SignatureVerificationException;
 import com.stripe.model.Event;
 import com.stripe.model.StripeObject;
+import com.stripe.net.ApiResource;
 import com.stripe.net.Webhook;
 
 import io.kestra.core.models.annotations.Example;
@@ -14,6 +16,7 @@ import io.kestra.core.models.tasks.RunnableTask;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.serializers.JacksonMapper;
 import io.kestra.plugin.stripe.AbstractStripe;
+import io.kestra.plugin.stripe.FieldProjection;
 
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.validation.constraints.NotNull;
@@ -28,7 +31,7 @@ import io.kestra.core.models.annotations.PluginProperty;
 @NoArgsConstructor
 @Schema(
     title = "Validate and parse Stripe webhooks",
-    description = "Validates Stripe webhook signatures with the endpoint secret, then returns the event id/type plus the deserialized data map. Fails fast on signature mismatch; provide the raw request body and the `Stripe-Signature` header as received."
+    description = "Validates Stripe webhook signatures with the endpoint secret, then returns the event id/type plus the deserialized data map. Fails fast on signature mismatch; provide the raw request body and the `Stripe-Signature` header as received. With `includeTypes` or `excludeTypes`, events of other types are only verified and have their ID and type read, then returned with `matched: false` and no data."
 )
 @Plugin(
     examples = {
@@ -47,6 +50,39 @@ import io.kestra.core.models.annotations.PluginProperty;
                     signatureHeader: "{{ trigger.headers['Stripe-Signature'] }}"
                     endpointSecret: "{{ secret('STRIPE_WEBHOOK_SECRET') }}"
 
+                triggers:
+                  - id: webhook
+                    type: io.kestra.plugin.core.trigger.Webhook
+                    key: 4wjtkzwVGBM9yKnjm3yv8r
+                """
+        ),
+        @Example(
+            title = "Handle only subscription events and skip the rest cheaply",
+            full = true,
+            code = """
+                id: stripe_subscription_webhook
+                namespace: company.team
+
+                tasks:
+                  - id: handle_webhook
+                    type: io.kestra.plugin.stripe.webhook.HandleEvent
+                    apiKey: "{{ secret('STRIPE_API_KEY') }}"
+                    payload: "{{ trigger.payload }}"
+                    signatureHeader: "{{ trigger.headers['Stripe-Signature'] }}"
+                    endpointSecret: "{{ secret('STRIPE_WEBHOOK_SECRET') }}"
+                    includeTypes:
+                      - customer.subscription.*
+                    excludeTypes:
+                      - customer.subscription.trial_will_end
+
+                  - id: sync
+                    type: io.kestra.plugin.core.flow.If
+                    condition: "{{ outputs.handle_webhook.matched }}"
+                    then:
+                      - id: log
+                        type: io.kestra.plugin.core.log.Log
+                        message: "{{ outputs.handle_webhook.type }} for {{ outputs.handle_webhook.data.customer }}"
+
                 triggers:
                   - id: webhook
                     type: io.kestra.plugin.core.trigger.Webhook
@@ -56,6 +92,7 @@ import io.kestra.core.models.annotations.PluginProperty;
     }
 )
 public class HandleEvent extends AbstractStripe implements RunnableTask<HandleEvent.Output> {
+    private static final FieldProjection ID_AND_TYPE = FieldProjection.of(List.of("id", "type"));
 
     @Schema(title = "Webhook payload body", description = "Raw JSON request body from Stripe; must be unmodified for signature verification")
     @NotNull
@@ -73,14 +110,79 @@ public class HandleEvent extends AbstractStripe implements RunnableTask<HandleEv
     @ToString.Exclude
     private Property<String> endpointSecret;
 
+    @Schema(
+        title = "Fields to keep",
+        description = "Dotted paths or JSON pointers relative to the event's `data.object`. When set, the signature is checked on the raw payload and only the event ID, type and these fields are extracted from it in a single streaming pass, without deserializing the event"
+    )
+    @PluginProperty(group = "processing")
+    private Property<List<String>> fields;
+
+    @Schema(
+        title = "Event types to handle",
+        description = "Exact types such as `invoice.paid` or prefixes such as `invoice.*`; when unset, every type is handled"
+    )
+    @PluginProperty(group = "processing")
+    private Property<List<String>> includeTypes;
+
+    @Schema(
+        title = "Event types to skip",
+        description = "Exact types or prefixes ending with `*`, skipped even when they match `includeTypes`"
+    )
+    @PluginProperty(group = "processing")
+    private Property<List<String>> excludeTypes;
+
     @Override
     public Output run(RunContext runContext) throws Exception {
         String rawPayload = runContext.render(payload).as(String.class).orElseThrow();
         String sigHeader = runContext.render(signatureHeader).as(String.class).orElseThrow();
         String secret = runContext.render(endpointSecret).as(String.class).orElseThrow();
+        List<String> rFields = runContext.render(this.fields).asList(String.class);
+        EventTypes rTypes = EventTypes.of(
+            runContext.render(this.includeTypes).asList(String.class),
+            runContext.render(this.excludeTypes).asList(String.class)
+        );
 
         try {
-            Event event = Webhook.constructEvent(rawPayload, sigHeader, secret);
+            // Check the signature on the raw payload once, so that the event is only deserialized when it is handled
+            boolean verified = !rFields.isEmpty() || !rTypes.isEmpty();
+            if (verified) {
+                Webhook.Signature.verifyHeader(rawPayload, sigHeader, secret, Webhook.DEFAULT_TOLERANCE);
+            }
+
+            if (!rTypes.isEmpty()) {
+                Map<String, Object> envelope = ID_AND_TYPE.project(rawPayload);
+                String type = (String) envelope.get("type");
+                if (!rTypes.matches(type)) {
+                    runContext.logger().info("Skipping Stripe event {} of type {}", envelope.get("id"), type);
+
+                    return Output.builder()
+                        .id((String) envelope.get("id"))
+                        .type(type)
+                        .matched(false)
+                        .raw(rawPayload)
+                        .build();
+                }
+            }
+
+            if (!rFields.isEmpty()) {
+                Map<String, Object> event = FieldProjection.of(rFields)
+                    .nest("data", "object")
+                    .include("id")
+                    .include("type")
+                    .project(rawPayload);
+
+                return Output.builder()
+                    .id((String) event.get("id"))
+                    .type((String) event.get("type"))
+                    .data(eventObject(event))
+                    .matched(true)
+                    .raw(rawPayload)
+                    .build();
+            }
+
+            Event event = verified
+                ? ApiResource.GSON.fromJson(rawPayload, Event.class)
+                : Webhook.constructEvent(rawPayload, sigHeader, secret);
             StripeObject stripeObject = event.getData().getObject();
 
             // Convert StripeObject to Map
@@ -90,6 +192,7 @@ public class HandleEvent extends AbstractStripe implements RunnableTask<HandleEv
                 .id(event.getId())
                 .type(event.getType())
                 .data(dataMap)
+                .matched(true)
                 .raw(rawPayload)
                 .build();
         } catch (SignatureVerificationException e) {
@@ -97,6 +200,14 @@ public class HandleEvent extends AbstractStripe implements RunnableTask<HandleEv
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> eventObject(Map<String, Object> event) {
+        if (event.get("data") instanceof Map<?, ?> data && data.get("object") instanceof Map<?, ?> object) {
+            return (Map<String, Object>) object;
+        }
+        return Map.of();
+    }
+
     @Builder
     @Getter
     public static class Output implements io.kestra.core.models.tasks.Output {
@@ -106,9 +217,12 @@ public class HandleEvent extends AbstractStripe implements RunnableTask<HandleEv
         @Schema(title = "Stripe event type", description = "Event type string such as `charge.succeeded`")
         private final String type;
 
-        @Schema(title = "Event data payload", description = "Deserialized object map from `event.data.object`")
+        @Schema(title = "Event data payload", description = "Deserialized object map from `event.data.object`, restricted to `fields` when set")
         private final Map<String, Object> data;
 
+        @Schema(title = "Event handled", description = "False when the event type is outside `includeTypes` or in `excludeTypes`; `data` is then not set")
+        private final Boolean matched;
+
         @Schema(title = "Raw webhook payload", description = "Original payload body returned for downstream auditing")
         private final String raw;
     }
@@ -0,0 +1,319 @@
+package io.kestra.plugin.stripe.webhook;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.reactivestreams.Publisher;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.stripe.exception.SignatureVerificationException;
+import com.stripe.net.Webhook;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.kestra.core.models.annotations.Example;
+import io.kestra.core.models.annotations.Plugin;
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.triggers.AbstractTrigger;
+import io.kestra.core.models.triggers.RealtimeTriggerInterface;
+import io.kestra.core.models.triggers.TriggerContext;
+import io.kestra.core.models.triggers.TriggerOutput;
+import io.kestra.core.models.triggers.TriggerService;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.stripe.FieldProjection;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import io.kestra.core.models.annotations.PluginProperty;
+
+import static io.kestra.core.utils.Rethrow.throwFunction;
+
+@SuperBuilder
+@ToString
+@EqualsAndHashCode
+@Getter
+@NoArgsConstructor
+@Schema(
+    title = "Trigger a flow on Stripe webhooks in real time",
+    description = "Listens for Stripe webhook calls on its own HTTP port on the worker. Each call is checked against the endpoint secret and filtered by event type before any execution is created: calls with an invalid signature are rejected with a 400, events of other types are acknowledged and dropped. Matching events can be grouped by count and time window so that one execution handles many events; each batch is written to an ION file in internal storage. Point the Stripe webhook endpoint at this port, for example through a load balancer or ingress route. The listener speaks plain HTTP while Stripe only calls HTTPS endpoints in live mode, so TLS must be terminated in front of it, and the port should not be reachable from anywhere else. Requests without a `Stripe-Signature` header are rejected with a 400 and bodies above 1 MB with a 413.\n\nEvents are acknowledged to Stripe as soon as they are queued, before their batch is stored and its execution created, so Stripe does not retry them: events still waiting for their batch when the worker crashes are lost, for up to `batchWindow`. A graceful stop still flushes them. Where every event matters, reconcile with `io.kestra.plugin.stripe.events.Trigger`, which polls the Stripe event list."
+)
+@Plugin(
+    examples = {
+        @Example(
+            title = "Handle paid invoices, at most one execution per 10 seconds with up to 500 events",
+            full = true,
+            code = """
+                id: stripe_invoices
+                namespace: company.team
+
+                tasks:
+                  - id: log
+                    type: io.kestra.plugin.core.log.Log
+                    message: "{{ trigger.count }} invoices paid, stored in {{ trigger.uri }}"
+
+                triggers:
+                  - id: webhook
+                    type: io.kestra.plugin.stripe.webhook.RealtimeTrigger
+                    endpointSecret: "{{ secret('STRIPE_WEBHOOK_SECRET') }}"
+                    port: 8090
+                    includeTypes:
+                      - invoice.paid
+                    maxBatchSize: 500
+                    batchWindow: PT10S
+                """
+        )
+    }
+)
+public class RealtimeTrigger extends AbstractTrigger implements RealtimeTriggerInterface, TriggerOutput<RealtimeTrigger.Output> {
+    private static final FieldProjection ID_AND_TYPE = FieldProjection.of(List.of("id", "type"));
+    private static final TypeReference<Map<String, Object>> EVENT_TYPE = new TypeReference<>() {
+    };
+    private static final Duration DEFAULT_BATCH_WINDOW = Duration.ofSeconds(10);
+
+    /**
+     * Stripe events are well below this size; larger bodies are rejected before being buffered in full.
+     */
+    static final int MAX_PAYLOAD_BYTES = 1024 * 1024;
+
+    @Schema(title = "Webhook endpoint secret", description = "Signing secret configured on the Stripe webhook endpoint")
+    @NotNull
+    @PluginProperty(group = "main", secret = true)
+    @ToString.Exclude
+    private Property<String> endpointSecret;
+
+    @Schema(title = "Listening port", description = "Port of the HTTP listener on the worker; each trigger needs its own port")
+    @NotNull
+    @Builder.Default
+    @PluginProperty(group = "connection")
+    private Property<Integer> port = Property.ofValue(8090);
+
+    @Schema(title = "Listening path", description = "Path Stripe posts webhooks to")
+    @NotNull
+    @Builder.Default
+    @PluginProperty(group = "connection")
+    private Property<String> path = Property.ofValue("/stripe/webhook");
+
+    @Schema(
+        title = "Event types to include",
+        description = "Exact types such as `invoice.paid` or prefixes such as `invoice.*`; when unset, every type is included"
+    )
+    @PluginProperty(group = "processing")
+    private Property<List<String>> includeTypes;
+
+    @Schema(
+        title = "Event types to exclude",
+        description = "Exact types or prefixes ending with `*`, dropped even when they match `includeTypes`"
+    )
+    @PluginProperty(group = "processing")
+    private Property<List<String>> excludeTypes;
+
+    @Schema(
+        title = "Maximum events per execution",
+        description = "Defaults to 1, one execution per event, or to 1000 when `batchWindow` is set. Above 1, a batch starts its execution once it is full or once `batchWindow` elapsed, whichever comes first"
+    )
+    @Min(1)
+    @PluginProperty(group = "processing")
+    private Property<Integer> maxBatchSize;
+
+    @Schema(
+        title = "Batch window",
+        description = "Maximum time an event waits for others before its batch starts an execution; defaults to 10 seconds when `maxBatchSize` is above 1"
+    )
+    @PluginProperty(group = "processing")
+    private Property<Duration> batchWindow;
+
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final AtomicReference<HttpServer> server = new AtomicReference<>();
+
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final AtomicReference<ExecutorService> executor = new AtomicReference<>();
+
+    @Builder.Default
+    @Getter(AccessLevel.NONE)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private final AtomicReference<FluxSink<Map<String, Object>>> sink = new AtomicReference<>();
+
+    @Override
+    public Publisher<Execution> evaluate(ConditionContext conditionContext, TriggerContext context) throws Exception {
+        RunContext runContext = conditionContext.getRunContext();
+        String rSecret = runContext.render(this.endpointSecret).as(String.class).orElseThrow();
+        int rPort = runContext.render(this.port).as(Integer.class).orElse(8090);
+        String rPath = runContext.render(this.path).as(String.class).orElse("/stripe/webhook");
+        EventTypes rTypes = EventTypes.of(
+            runContext.render(this.includeTypes).asList(String.class),
+            runContext.render(this.excludeTypes).asList(String.class)
+        );
+        Duration rBatchWindow = runContext.render(this.batchWindow).as(Duration.class).orElse(null);
+        int rMaxBatchSize = runContext.render(this.maxBatchSize).as(Integer.class).orElse(rBatchWindow == null ? 1 : 1000);
+
+        Flux<Map<String, Object>> events = Flux.create(
+            eventSink -> {
+                try {
+                    HttpServer http = HttpServer.create(new InetSocketAddress(rPort), 0);
+                    ExecutorService handlers = Executors.newVirtualThreadPerTaskExecutor();
+                    http.setExecutor(handlers);
+                    http.createContext(rPath, exchange -> handle(runContext, exchange, rSecret, rTypes, eventSink));
+                    http.start();
+
+                    this.server.set(http);
+                    this.executor.set(handlers);
+                    this.sink.set(eventSink);
+                    eventSink.onDispose(() -> {
+                        http.stop(0);
+                        handlers.shutdown();
+                    });
+                    runContext.logger().info("Listening for Stripe webhooks on port {} at {}", rPort, rPath);
+                } catch (IOException e) {
+                    eventSink.error(e);
+                }
+            },
+            FluxSink.OverflowStrategy.BUFFER
+        );
+
+        // A batch without a window would keep acknowledged events in memory until enough others arrive
+        Flux<List<Map<String, Object>>> batches = rMaxBatchSize > 1
+            ? events.bufferTimeout(rMaxBatchSize, rBatchWindow != null ? rBatchWindow : DEFAULT_BATCH_WINDOW)
+            : events.buffer(1);
+
+        return batches.map(throwFunction(batch -> TriggerService.generateRealtimeExecution(
+            this,
+            conditionContext,
+            context,
+            Output.builder().count(batch.size()).uri(store(runContext, batch)).build()
+        )));
+    }
+
+    private static URI store(RunContext runContext, List<Map<String, Object>> batch) throws IOException {
+        File tempFile = runContext.workingDir().createTempFile(".ion").toFile();
+        try (OutputStream fileOutput = new BufferedOutputStream(new FileOutputStream(tempFile), FileSerde.BUFFER_SIZE)) {
+            for (Map<String, Object> event : batch) {
+                FileSerde.write(fileOutput, event);
+            }
+        }
+        return runContext.storage().putFile(tempFile);
+    }
+
+    /**
+     * Verifies the signature and reads only the ID and type of the event, so that dropped events are never
+     * deserialized; a matching event is then parsed once and queued for the next batch.
+     */
+    private static void handle(RunContext runContext, HttpExchange exchange, String secret, EventTypes types, FluxSink<Map<String, Object>> sink) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "{\"error\": \"POST only\"}");
+                return;
+            }
+
+            String signature = exchange.getRequestHeaders().getFirst("Stripe-Signature");
+            if (signature == null) {
+                respond(exchange, 400, "{\"error\": \"Missing Stripe-Signature header\"}");
+                return;
+            }
+
+            byte[] body = exchange.getRequestBody().readNBytes(MAX_PAYLOAD_BYTES + 1);
+            if (body.length > MAX_PAYLOAD_BYTES) {
+                respond(exchange, 413, "{\"error\": \"Payload too large\"}");
+                return;
+            }
+
+            String payload = new String(body, StandardCharsets.UTF_8);
+            try {
+                Webhook.Signature.verifyHeader(payload, signature, secret, Webhook.DEFAULT_TOLERANCE);
+            } catch (SignatureVerificationException e) {
+                respond(exchange, 400, "{\"error\": \"Invalid Stripe webhook signature\"}");
+                return;
+            }
+
+            Map<String, Object> envelope;
+            try {
+                envelope = ID_AND_TYPE.project(payload);
+            } catch (IOException | IllegalArgumentException e) {
+                respond(exchange, 400, "{\"error\": \"Invalid Stripe event\"}");
+                return;
+            }
+
+            if (!types.matches((String) envelope.get("type"))) {
+                runContext.logger().debug("Ignoring Stripe event {} of type {}", envelope.get("id"), envelope.get("type"));
+                respond(exchange, 200, "{\"received\": true}");
+                return;
+            }
+
+            sink.next(JacksonMapper.ofJson().readValue(payload, EVENT_TYPE));
+            respond(exchange, 200, "{\"received\": true}");
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    @Override
+    public void kill() {
+        stop();
+    }
+
+    /**
+     * Stops listening and completes the stream, so that events already acknowledged to Stripe still start their
+     * execution with the last, possibly partial, batch.
+     */
+    @Override
+    public void stop() {
+        HttpServer http = server.getAndSet(null);
+        if (http != null) {
+            http.stop(0);
+        }
+
+        ExecutorService handlers = executor.getAndSet(null);
+        if (handlers != null) {
+            handlers.shutdown();
+        }
+
+        FluxSink<Map<String, Object>> eventSink = sink.getAndSet(null);
+        if (eventSink != null) {
+            eventSink.complete();
+        }
+    }
+
+    @Builder
+    @Getter
+    public static class Output implements io.kestra.core.models.tasks.Output {
+        @Schema(title = "Number of events in the batch")
+        private final Integer count;
+
+        @Schema(title = "URI of the stored events", description = "ION file with the full events as sent by Stripe, in arrival order")
+        private final URI uri;
+    }
+}
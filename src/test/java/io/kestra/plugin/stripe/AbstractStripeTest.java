@@ -1,17 +1,54 @@
 package io.kestra.plugin.stripe;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+
 import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.serializers.FileSerde;
 
+/**
+ * Runs each test against its own {@link StripeStandIn}.
+ */
 @KestraTest
 public abstract class AbstractStripeTest {
-    private static final String STRIPE_API_KEY = "";
+    protected StripeStandIn standIn;
+
+    @BeforeEach
+    void startStandIn() throws IOException {
+        standIn = StripeStandIn.start();
+    }
 
-    protected static boolean canNotBeEnabled() {
-        return STRIPE_API_KEY == null || STRIPE_API_KEY.isEmpty();
+    @AfterEach
+    void stopStandIn() {
+        standIn.close();
     }
 
     protected String getApiKey() {
-        return STRIPE_API_KEY;
+        return StripeStandIn.API_KEY;
     }
 
+    protected String getApiBase() {
+        return standIn.apiBase();
+    }
+
+    /**
+     * Reads the rows of an ION file from internal storage.
+     */
+    @SuppressWarnings("unchecked")
+    protected static List<Map<String, Object>> rows(RunContext runContext, URI uri) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(uri)))) {
+            return FileSerde.readAll(reader)
+                .map(row -> (Map<String, Object>) row)
+                .collectList()
+                .block();
+        }
+    }
 }
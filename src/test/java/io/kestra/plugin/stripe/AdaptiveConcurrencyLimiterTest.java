@@ -0,0 +1,178 @@
+package io.kestra.plugin.stripe;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long FAST = TimeUnit.MILLISECONDS.toNanos(50);
+    private static final String ENDPOINT = "GET /v1/customers/{id}";
+
+    @Test
+    void growsWhileResponsesAreFast() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16);
+
+        for (int i = 0; i < 200; i++) {
+            limiter.acquire();
+            limiter.onSuccess(ENDPOINT, FAST);
+        }
+
+        assertThat(limiter.limit(), greaterThan(AdaptiveConcurrencyLimiter.INITIAL_LIMIT * 3));
+        assertThat(limiter.limit(), lessThanOrEqualTo(16.0));
+    }
+
+    @Test
+    void halvesOnRateLimit() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16);
+        for (int i = 0; i < 200; i++) {
+            limiter.acquire();
+            limiter.onSuccess(ENDPOINT, FAST);
+        }
+        double before = limiter.limit();
+
+        limiter.acquire();
+        limiter.onRateLimited(FAST);
+
+        assertThat(limiter.limit(), closeTo(before / 2, 0.01));
+    }
+
+    @Test
+    void backsOffWhenLatencyRises() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16);
+        limiter.acquire();
+        limiter.onSuccess(ENDPOINT, FAST);
+        double before = limiter.limit();
+
+        limiter.acquire();
+        limiter.onSuccess(ENDPOINT, FAST * 5);
+
+        assertThat(limiter.limit(), lessThan(before));
+    }
+
+    @Test
+    void neverDropsBelowOneSlot() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16);
+
+        for (int i = 0; i < 20; i++) {
+            limiter.acquire();
+            // A zero latency window lets every 429 count as a fresh congestion signal
+            limiter.onRateLimited(0);
+        }
+
+        assertThat(limiter.limit(), is(AdaptiveConcurrencyLimiter.MIN_LIMIT));
+    }
+
+    @Test
+    void blocksWhenAllSlotsAreInFlight() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(1);
+        limiter.acquire();
+
+        CompletableFuture<Long> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limiter.acquire();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+
+        assertThrows(TimeoutException.class, () -> waiting.get(200, TimeUnit.MILLISECONDS));
+
+        limiter.onIgnored();
+        assertThat(waiting.get(5, TimeUnit.SECONDS), greaterThan(0L));
+    }
+
+    @Test
+    void reportsNoWaitWhenASlotIsFree() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4);
+
+        assertThat(limiter.acquire(), is(0L));
+    }
+
+    @Test
+    void comparesLatencyWithTheSameEndpoint() throws Exception {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(16);
+        limiter.acquire();
+        limiter.onSuccess(ENDPOINT, FAST);
+        double before = limiter.limit();
+
+        // A search is always slower than a retrieve: its first response sets its own baseline instead of backing off
+        limiter.acquire();
+        limiter.onSuccess("GET /v1/customers/search", FAST * 5);
+
+        assertThat(limiter.limit(), greaterThan(before));
+    }
+
+    @Test
+    void clampsEachCallerToItsOwnMaximum() throws Exception {
+        AdaptiveConcurrencyLimiter.clear();
+        AdaptiveConcurrencyLimiter shared = AdaptiveConcurrencyLimiter.of("sk_test_shared", 16);
+        assertThat(AdaptiveConcurrencyLimiter.of("sk_test_shared", 1), sameInstance(shared));
+        for (int i = 0; i < 200; i++) {
+            shared.acquire();
+            shared.onSuccess(ENDPOINT, FAST);
+        }
+        assertThat(shared.limit(), greaterThan(2.0));
+
+        shared.acquire(1);
+        CompletableFuture<Long> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return shared.acquire(1);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        assertThrows(TimeoutException.class, () -> waiting.get(200, TimeUnit.MILLISECONDS));
+
+        // A caller with a higher maximum still gets a slot under the shared limit
+        assertThat(shared.acquire(16), is(0L));
+
+        shared.onIgnored();
+        shared.onIgnored();
+        assertThat(waiting.get(5, TimeUnit.SECONDS), greaterThan(0L));
+        AdaptiveConcurrencyLimiter.clear();
+    }
+
+    @Test
+    void evictsIdleAndLeastRecentlyUsedLimiters() {
+        AdaptiveConcurrencyLimiter.clear();
+        long now = System.nanoTime();
+        long idle = AdaptiveConcurrencyLimiter.IDLE_TIMEOUT.toNanos();
+
+        AdaptiveConcurrencyLimiter.of("sk_test_idle", 8, now);
+        AdaptiveConcurrencyLimiter.of("sk_test_active", 8, now + idle + 1);
+        assertThat(AdaptiveConcurrencyLimiter.size(), is(1));
+
+        for (int i = 0; i < AdaptiveConcurrencyLimiter.MAX_SIZE + 10; i++) {
+            AdaptiveConcurrencyLimiter.of("sk_test_" + i, 8, now + idle + 2 + i);
+        }
+        assertThat(AdaptiveConcurrencyLimiter.size(), is(AdaptiveConcurrencyLimiter.MAX_SIZE));
+        AdaptiveConcurrencyLimiter.clear();
+    }
+
+    @Test
+    void keepsLimitersWithRequestsInFlight() throws Exception {
+        AdaptiveConcurrencyLimiter.clear();
+        long now = System.nanoTime();
+        long idle = AdaptiveConcurrencyLimiter.IDLE_TIMEOUT.toNanos();
+
+        AdaptiveConcurrencyLimiter busy = AdaptiveConcurrencyLimiter.of("sk_test_busy", 8, now);
+        busy.acquire();
+
+        AdaptiveConcurrencyLimiter.of("sk_test_other", 8, now + idle + 1);
+        assertThat(AdaptiveConcurrencyLimiter.of("sk_test_busy", 8, now + idle + 2), sameInstance(busy));
+
+        for (int i = 0; i < AdaptiveConcurrencyLimiter.MAX_SIZE + 10; i++) {
+            AdaptiveConcurrencyLimiter.of("sk_test_" + i, 8, now + idle + 3 + i);
+        }
+        assertThat(AdaptiveConcurrencyLimiter.of("sk_test_busy", 8, now + idle + 100), sameInstance(busy));
+
+        busy.onIgnored();
+        AdaptiveConcurrencyLimiter.clear();
+    }
+}
@@ -0,0 +1,181 @@
+package io.kestra.plugin.stripe;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.utils.IdUtils;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class BulkProcessorTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void writesResultsInInputOrderAndIsolatesFailures() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        AbstractStripeBulk.BulkResult result = new BulkProcessor(runContext, 4).process(rows(50), (row, index) -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                // Later rows finish first so that ordering has to be restored
+                TimeUnit.MILLISECONDS.sleep(50 - index);
+                if (index % 10 == 3) {
+                    throw new IllegalStateException("row " + index + " failed");
+                }
+                return Map.of("doubled", ((Number) row.get("value")).intValue() * 2);
+            } finally {
+                inFlight.decrementAndGet();
+            }
+        }, null);
+
+        assertThat(result.successCount(), is(45L));
+        assertThat(result.failureCount(), is(5L));
+        assertThat(maxInFlight.get(), lessThanOrEqualTo(4));
+
+        List<Object> rows;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(result.uri())))) {
+            rows = FileSerde.readAll(reader).collectList().block();
+        }
+
+        assertThat(rows, hasSize(50));
+        for (int i = 0; i < 50; i++) {
+            Map<?, ?> row = (Map<?, ?>) rows.get(i);
+            assertThat(((Map<?, ?>) row.get("row")).get("value"), is(i));
+            if (i % 10 == 3) {
+                assertThat(row.get("error"), is("row " + i + " failed"));
+            } else {
+                assertThat(row.get("doubled"), is(i * 2));
+                assertThat(row.get("error"), nullValue());
+            }
+        }
+    }
+
+    @Test
+    void retriedRunSkipsRowsCompletedByThePreviousAttempt() throws Exception {
+        RunContext runContext = runContextFactory.of(Map.of(
+            "flow", Map.of("tenantId", "main", "namespace", "io.kestra.tests", "id", "bulk"),
+            "execution", Map.of("id", IdUtils.create()),
+            "taskrun", Map.of("id", "bulkTaskRun")
+        ));
+        List<Long> calls = new CopyOnWriteArrayList<>();
+        AtomicBoolean failed = new AtomicBoolean();
+        BulkProcessor.RowCall call = (row, index) -> {
+            calls.add(index);
+            if (index == 5 && !failed.getAndSet(true)) {
+                throw new IllegalStateException("transient failure");
+            }
+            return Map.of("id", "obj_" + index);
+        };
+
+        // The first attempt dies after reading 20 rows
+        assertThrows(IllegalStateException.class, () -> new BulkProcessor(runContext, 2).process(crashingAfter(rows(30), 20), call, BulkCheckpoint.load(runContext)));
+        assertThat(calls, hasSize(20));
+
+        // The checkpoint counts failures instead of listing them, and lists the chunks holding every row result
+        Map<?, ?> saved = (Map<?, ?>) runContext.namespaceKv("io.kestra.tests")
+            .getValue("stripe_bulk_" + AbstractStripe.defaultIdempotencyKey(runContext))
+            .orElseThrow()
+            .value();
+        assertThat(saved, not(hasKey("failures")));
+        assertThat(((Number) saved.get("failureCount")).longValue(), is(1L));
+        List<?> chunks = (List<?>) saved.get("chunks");
+        assertThat(chunks, not(empty()));
+
+        calls.clear();
+        AbstractStripeBulk.BulkResult result = new BulkProcessor(runContext, 2).process(rows(30), call, BulkCheckpoint.load(runContext));
+
+        assertThat(calls, containsInAnyOrder(5L, 20L, 21L, 22L, 23L, 24L, 25L, 26L, 27L, 28L, 29L));
+        assertThat(result.successCount(), is(11L));
+        assertThat(result.skippedCount(), is(19L));
+        assertThat(result.failureCount(), is(0L));
+        assertThat(BulkCheckpoint.load(runContext).previousPosition(), is(0L));
+        for (Object chunk : chunks) {
+            assertThat(runContext.storage().isFileExist(URI.create(chunk.toString())), is(false));
+        }
+
+        // Skipped rows keep the result of the attempt that processed them
+        List<Object> rows;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(result.uri())))) {
+            rows = FileSerde.readAll(reader).collectList().block();
+        }
+        assertThat(rows, hasSize(30));
+        for (int i = 0; i < 30; i++) {
+            Map<?, ?> row = (Map<?, ?>) rows.get(i);
+            assertThat(row.get("id"), is("obj_" + i));
+            assertThat(row.get("error"), nullValue());
+            assertThat(row.get("skipped"), is(i < 20 && i != 5 ? true : null));
+        }
+    }
+
+    @Test
+    void retriedRunKeepsResultsAcrossSeveralAttempts() throws Exception {
+        RunContext runContext = runContextFactory.of(Map.of(
+            "flow", Map.of("tenantId", "main", "namespace", "io.kestra.tests", "id", "bulk"),
+            "execution", Map.of("id", IdUtils.create()),
+            "taskrun", Map.of("id", "bulkTaskRun")
+        ));
+        BulkProcessor.RowCall call = (row, index) -> Map.of("id", "obj_" + index);
+
+        assertThrows(IllegalStateException.class, () -> new BulkProcessor(runContext, 2).process(crashingAfter(rows(30), 10), call, BulkCheckpoint.load(runContext)));
+        assertThrows(IllegalStateException.class, () -> new BulkProcessor(runContext, 2).process(crashingAfter(rows(30), 20), call, BulkCheckpoint.load(runContext)));
+
+        AbstractStripeBulk.BulkResult result = new BulkProcessor(runContext, 2).process(rows(30), call, BulkCheckpoint.load(runContext));
+        assertThat(result.skippedCount(), is(20L));
+
+        List<Object> rows;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(result.uri())))) {
+            rows = FileSerde.readAll(reader).collectList().block();
+        }
+        for (int i = 0; i < 30; i++) {
+            assertThat(((Map<?, ?>) rows.get(i)).get("id"), is("obj_" + i));
+        }
+    }
+
+    private static Iterable<Map<String, Object>> crashingAfter(List<Map<String, Object>> source, int count) {
+        return () -> new Iterator<>() {
+            private final Iterator<Map<String, Object>> rows = source.iterator();
+            private int read;
+
+            @Override
+            public boolean hasNext() {
+                if (read == count) {
+                    throw new IllegalStateException("worker crashed");
+                }
+                return rows.hasNext();
+            }
+
+            @Override
+            public Map<String, Object> next() {
+                read++;
+                return rows.next();
+            }
+        };
+    }
+
+    private static List<Map<String, Object>> rows(int count) {
+        return IntStream.range(0, count).mapToObj(i -> Map.<String, Object>of("value", i)).toList();
+    }
+}
@@ -0,0 +1,186 @@
+package io.kestra.plugin.stripe;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.stripe.customer.Get;
+import io.kestra.plugin.stripe.payment.ConfirmIntent;
+import io.kestra.plugin.stripe.payment.CreateIntent;
+import io.kestra.plugin.stripe.payment.ListIntents;
+import io.kestra.plugin.stripe.payment.ListMethods;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+class ExpandInterfaceTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private StripeStandIn standIn;
+
+    @BeforeEach
+    void start() throws Exception {
+        standIn = StripeStandIn.start();
+    }
+
+    @AfterEach
+    void stop() {
+        standIn.close();
+    }
+
+    @Test
+    void prefixesListPathsOnce() {
+        assertThat(ExpandInterface.listExpand(List.of("customer", "data.customer")), contains("data.customer", "data.customer"));
+    }
+
+    @Test
+    void listIntentsExpandsCustomerOnEveryItem() throws Exception {
+        String customer = customer();
+        paymentIntent(customer);
+
+        ListIntents.Output output = ListIntents.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .customer(Property.ofValue(customer))
+            .expand(Property.ofValue(List.of("customer")))
+            .build()
+            .run(runContextFactory.of());
+
+        assertThat(lastRequest("GET", "/v1/payment_intents").params().get("expand"), is(Map.of("0", "data.customer")));
+        assertThat(output.getCount(), is(1));
+        Map<?, ?> expanded = (Map<?, ?>) output.getPaymentIntents().getFirst().get("customer");
+        assertThat(expanded.get("id"), is(customer));
+        assertThat(expanded.get("object"), is("customer"));
+    }
+
+    @Test
+    void listIntentsSendsNoExpandWhenEmpty() throws Exception {
+        String customer = customer();
+        paymentIntent(customer);
+
+        ListIntents.Output output = ListIntents.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .customer(Property.ofValue(customer))
+            .build()
+            .run(runContextFactory.of());
+
+        assertThat(lastRequest("GET", "/v1/payment_intents").params(), not(hasKey("expand")));
+        assertThat(output.getPaymentIntents().getFirst().get("customer"), is(customer));
+    }
+
+    @Test
+    void listMethodsPrefixesExpandWithData() throws Exception {
+        String customer = customer();
+        String paymentMethod = paymentMethod(customer);
+
+        ListMethods.Output output = ListMethods.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .customerId(Property.ofValue(customer))
+            .paymentMethodType(Property.ofValue("card"))
+            .expand(Property.ofValue(List.of("customer")))
+            .build()
+            .run(runContextFactory.of());
+
+        assertThat(lastRequest("GET", "/v1/payment_methods").params().get("expand"), is(Map.of("0", "data.customer")));
+        assertThat(output.getPaymentMethodIds(), contains(paymentMethod));
+        Map<?, ?> raw = JacksonMapper.ofJson().readValue(output.getRaw(), Map.class);
+        Map<?, ?> item = (Map<?, ?>) ((List<?>) raw.get("data")).getFirst();
+        assertThat(((Map<?, ?>) item.get("customer")).get("id"), is(customer));
+    }
+
+    @Test
+    void getExpandsNestedFieldWithoutPrefix() throws Exception {
+        String customer = customer();
+        String paymentMethod = paymentMethod(customer);
+        post("/v1/customers/" + customer, "invoice_settings[default_payment_method]=" + paymentMethod);
+
+        Get.Output output = Get.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .customerId(Property.ofValue(customer))
+            .expand(Property.ofValue(List.of("invoice_settings.default_payment_method")))
+            .build()
+            .run(runContextFactory.of());
+
+        assertThat(lastRequest("GET", "/v1/customers/" + customer).params().get("expand"), is(Map.of("0", "invoice_settings.default_payment_method")));
+        Map<?, ?> invoiceSettings = (Map<?, ?>) output.getCustomerData().get("invoice_settings");
+        Map<?, ?> expanded = (Map<?, ?>) invoiceSettings.get("default_payment_method");
+        assertThat(expanded.get("id"), is(paymentMethod));
+        assertThat(expanded.get("object"), is("payment_method"));
+    }
+
+    @Test
+    void confirmIntentExpandsCustomer() throws Exception {
+        String customer = customer();
+        String intent = paymentIntent(customer);
+
+        ConfirmIntent.Output output = ConfirmIntent.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .paymentIntentId(Property.ofValue(intent))
+            .paymentMethod(Property.ofValue(paymentMethod(customer)))
+            .expand(Property.ofValue(List.of("customer")))
+            .build()
+            .run(runContextFactory.of());
+
+        assertThat(output.getStatus(), is("succeeded"));
+        Map<?, ?> raw = JacksonMapper.ofJson().readValue(output.getRaw(), Map.class);
+        assertThat(((Map<?, ?>) raw.get("customer")).get("id"), is(customer));
+    }
+
+    private String customer() throws Exception {
+        return (String) post("/v1/customers", "name=Expand&email=expand%40example.com").get("id");
+    }
+
+    private String paymentIntent(String customer) throws Exception {
+        return CreateIntent.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .amount(Property.ofValue(1000L))
+            .currency(Property.ofValue("usd"))
+            .customer(Property.ofValue(customer))
+            .build()
+            .run(runContextFactory.of())
+            .getPaymentIntentId();
+    }
+
+    private String paymentMethod(String customer) throws Exception {
+        String paymentMethod = (String) post("/v1/payment_methods", "type=card").get("id");
+        post("/v1/payment_methods/" + paymentMethod + "/attach", "customer=" + customer);
+        return paymentMethod;
+    }
+
+    private Map<?, ?> post(String path, String form) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(standIn.apiBase() + path))
+            .header("Authorization", "Bearer " + StripeStandIn.API_KEY)
+            .header("Content-Type", "application/x-www-form-urlencoded")
+            .POST(HttpRequest.BodyPublishers.ofString(form))
+            .build();
+        String body = HttpClient.newHttpClient().send(request, HttpResponse.BodyHandlers.ofString()).body();
+        return JacksonMapper.ofJson().readValue(body, Map.class);
+    }
+
+    private StripeStandIn.Request lastRequest(String method, String path) {
+        return standIn.requests().reversed().stream()
+            .filter(request -> request.method().equals(method) && request.path().equals(path))
+            .findFirst()
+            .orElseThrow();
+    }
+}
@@ -0,0 +1,76 @@
+package io.kestra.plugin.stripe;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class FieldProjectionTest {
+    private static final String PAYMENT_INTENT = """
+        {
+          "id": "pi_123",
+          "object": "payment_intent",
+          "amount": 1000,
+          "currency": "usd",
+          "customer": "cus_123",
+          "metadata": {"order": "42", "source": "web"},
+          "shipping": {"name": "Jane", "address": {"city": "Paris", "country": "FR"}},
+          "charges": {"data": [{"id": "ch_1", "paid": true}, {"id": "ch_2", "paid": false}]}
+        }
+        """;
+
+    @Test
+    void keepsOnlySelectedFields() throws Exception {
+        Map<String, Object> projected = FieldProjection.of(List.of("id", "amount", "shipping.address.city", "/metadata/order"))
+            .project(PAYMENT_INTENT);
+
+        assertThat(projected.keySet(), contains("id", "amount", "metadata", "shipping"));
+        assertThat(projected.get("id"), is("pi_123"));
+        assertThat(projected.get("amount"), is(1000));
+        assertThat(projected.get("metadata"), is(Map.of("order", "42")));
+        assertThat(projected.get("shipping"), is(Map.of("address", Map.of("city", "Paris"))));
+    }
+
+    @Test
+    void keepsWholeSubtreeWhenParentIsSelected() throws Exception {
+        Map<String, Object> projected = FieldProjection.of(List.of("metadata", "metadata.order")).project(PAYMENT_INTENT);
+
+        assertThat(projected.get("metadata"), is(Map.of("order", "42", "source", "web")));
+    }
+
+    @Test
+    void appliesPathsToEveryListElement() throws Exception {
+        Map<String, Object> projected = FieldProjection.of(List.of("charges.data.id")).project(PAYMENT_INTENT);
+
+        assertThat(projected.get("charges"), is(Map.of("data", List.of(Map.of("id", "ch_1"), Map.of("id", "ch_2")))));
+    }
+
+    @Test
+    void keepsScalarsAndOmitsMissingFields() throws Exception {
+        Map<String, Object> projected = FieldProjection.of(List.of("customer.email", "description")).project(PAYMENT_INTENT);
+
+        assertThat(projected, is(Map.of("customer", "cus_123")));
+    }
+
+    @Test
+    void projectsNestedObjects() throws Exception {
+        String event = "{\"id\": \"evt_1\", \"type\": \"payment_intent.succeeded\", \"data\": {\"object\": " + PAYMENT_INTENT + "}}";
+
+        Map<String, Object> projected = FieldProjection.of(List.of("amount"))
+            .nest("data", "object")
+            .include("type")
+            .project(event);
+
+        assertThat(projected, is(Map.of("type", "payment_intent.succeeded", "data", Map.of("object", Map.of("amount", 1000)))));
+    }
+
+    @Test
+    void rejectsEmptyPaths() {
+        assertThrows(IllegalArgumentException.class, () -> FieldProjection.of(List.of("shipping..city")));
+        assertThrows(IllegalArgumentException.class, () -> FieldProjection.of(List.of(" ")));
+    }
+}
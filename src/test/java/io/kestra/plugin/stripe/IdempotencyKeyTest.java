@@ -0,0 +1,59 @@
+package io.kestra.plugin.stripe;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.stripe.net.RequestOptions;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.stripe.customer.Create;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+class IdempotencyKeyTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void derivesKeyFromExecutionAndTaskRun() throws Exception {
+        RunContext runContext = runContextFactory.of(Map.of(
+            "execution", Map.of("id", "4wjtkzwVGBM9yKnjm3yv8r"),
+            "taskrun", Map.of("id", "5cBZ1JF8kim8fbFg13bumX", "attemptsCount", 2)
+        ));
+
+        RequestOptions options = task().idempotentRequestOptions(runContext, null);
+
+        assertThat(options.getIdempotencyKey(), is("kestra-4wjtkzwVGBM9yKnjm3yv8r-5cBZ1JF8kim8fbFg13bumX"));
+    }
+
+    @Test
+    void rendersExplicitKey() throws Exception {
+        RunContext runContext = runContextFactory.of(Map.of("order", "ord_42"));
+
+        RequestOptions options = task().idempotentRequestOptions(runContext, Property.ofExpression("refund-{{ order }}"));
+
+        assertThat(options.getIdempotencyKey(), is("refund-ord_42"));
+    }
+
+    @Test
+    void leavesKeyUnsetOutsideAnExecution() throws Exception {
+        RequestOptions options = task().idempotentRequestOptions(runContextFactory.of(), null);
+
+        assertThat(options.getIdempotencyKey(), nullValue());
+    }
+
+    private static Create task() {
+        return Create.builder()
+            .apiKey(Property.ofValue("sk_test_local"))
+            .name(Property.ofValue("Jane Doe"))
+            .build();
+    }
+}
@@ -0,0 +1,109 @@
+package io.kestra.plugin.stripe;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.stripe.StripeClient;
+import com.stripe.exception.InvalidRequestException;
+import com.stripe.model.Customer;
+import com.stripe.param.CustomerCreateParams;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class JavaHttpClientTest {
+    private HttpServer server;
+    private final AtomicReference<String> lastAuthorization = new AtomicReference<>();
+    private final AtomicReference<String> lastBody = new AtomicReference<>();
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v1/customers", exchange -> {
+            lastAuthorization.set(exchange.getRequestHeaders().getFirst("Authorization"));
+            lastBody.set(new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8));
+
+            if (exchange.getRequestURI().getPath().endsWith("/cus_missing")) {
+                respond(exchange, 404, """
+                    {"error": {"type": "invalid_request_error", "message": "No such customer: 'cus_missing'"}}
+                    """, false);
+            } else {
+                respond(exchange, 200, """
+                    {"id": "cus_123", "object": "customer", "name": "Jane Doe", "email": "jane@example.com"}
+                    """, "gzip".equals(exchange.getRequestHeaders().getFirst("Accept-Encoding")));
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    void sendsRequestsAndDecodesGzipResponses() throws Exception {
+        StripeClient client = client();
+
+        Customer customer = client.customers().create(
+            CustomerCreateParams.builder()
+                .setName("Jane Doe")
+                .setEmail("jane@example.com")
+                .build()
+        );
+
+        assertThat(customer.getId(), is("cus_123"));
+        assertThat(customer.getName(), is("Jane Doe"));
+        assertThat(lastAuthorization.get(), is("Bearer sk_test_local"));
+        assertThat(lastBody.get(), containsString("email=jane%40example.com"));
+    }
+
+    @Test
+    void mapsErrorResponsesToStripeExceptions() {
+        StripeClient client = client();
+
+        InvalidRequestException exception = assertThrows(InvalidRequestException.class, () -> client.customers().retrieve("cus_missing"));
+
+        assertThat(exception.getStatusCode(), is(404));
+        assertThat(exception.getMessage(), containsString("No such customer"));
+    }
+
+    private StripeClient client() {
+        return StripeClient.builder()
+            .setApiKey("sk_test_local")
+            .setApiBase("http://localhost:" + server.getAddress().getPort())
+            .setHttpClient(new JavaHttpClient(Duration.ofSeconds(5), Duration.ofSeconds(5)))
+            .build();
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body, boolean gzip) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        if (gzip) {
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+            try (GZIPOutputStream output = new GZIPOutputStream(compressed)) {
+                output.write(bytes);
+            }
+            bytes = compressed.toByteArray();
+            exchange.getResponseHeaders().add("Content-Encoding", "gzip");
+        }
+
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+}
@@ -0,0 +1,299 @@
+package io.kestra.plugin.stripe;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import com.sun.management.ThreadMXBean;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.executions.AbstractMetricEntry;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.JacksonMapper;
+import io.kestra.plugin.stripe.customer.BulkCreate;
+import io.kestra.plugin.stripe.customer.Create;
+import io.kestra.plugin.stripe.payment.BulkRefund;
+import io.kestra.plugin.stripe.payment.Refund;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+/**
+ * Measures end-to-end task throughput against {@link StripeStandIn} with simulated latency and rate limits.
+ * <p>
+ * Each scenario reports requests and items per second, p50/p99 request latency as seen by the tasks, heap allocated
+ * per item by the plugin (excluding the stand-in) and retry counts. The report is written as JSON to the path in the
+ * {@code stripe.loadTest.report} system property, so that capacity can be compared across releases. Run with
+ * {@code ./gradlew loadTest}; the regular {@code test} task skips this class.
+ */
+@KestraTest
+@Tag("load")
+class LoadTest {
+    private static final String REPORT_PROPERTY = "stripe.loadTest.report";
+    private static final String DEFAULT_REPORT = "build/reports/load-test/stripe-load-test.json";
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final Duration LATENCY = Duration.ofMillis(20);
+    private static final int WORKER_THREADS = 8;
+
+    private static final List<Map<String, Object>> SCENARIOS = new ArrayList<>();
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private StripeStandIn standIn;
+
+    @BeforeEach
+    void start() throws Exception {
+        standIn = StripeStandIn.start().latency(LATENCY);
+    }
+
+    @AfterEach
+    void stop() {
+        standIn.close();
+    }
+
+    @AfterAll
+    static void writeReport() throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("timestamp", Instant.now().toString());
+        report.put("version", System.getProperty("stripe.loadTest.version"));
+        report.put("java", Runtime.version().toString());
+        report.put("availableProcessors", Runtime.getRuntime().availableProcessors());
+        report.put("scenarios", SCENARIOS);
+
+        Path path = Path.of(System.getProperty(REPORT_PROPERTY, DEFAULT_REPORT));
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        JacksonMapper.ofJson().writerWithDefaultPrettyPrinter().writeValue(path.toFile(), report);
+    }
+
+    @Test
+    void singleCreate() throws Exception {
+        int items = 200;
+
+        Map<String, Object> result = measure("customer.Create", items, 0, () -> runSingle(items, (index, runContext) -> Create.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .name(Property.ofValue("Load " + index))
+            .email(Property.ofValue("load" + index + "@example.com"))
+            .build()
+            .run(runContext)));
+
+        assertThat(result.get("failures"), is(0L));
+    }
+
+    @Test
+    void singleRefund() throws Exception {
+        int items = 200;
+        List<String> intents = seedIntents(items);
+
+        Map<String, Object> result = measure("payment.Refund", items, 0, () -> runSingle(items, (index, runContext) -> Refund.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .paymentIntentId(Property.ofValue(intents.get(index)))
+            .build()
+            .run(runContext)));
+
+        assertThat(result.get("failures"), is(0L));
+    }
+
+    @Test
+    void bulkCreate() throws Exception {
+        int items = 1000;
+        List<Map<String, Object>> rows = IntStream.range(0, items)
+            .mapToObj(index -> Map.<String, Object>of("name", "Load " + index, "email", "load" + index + "@example.com"))
+            .toList();
+
+        Map<String, Object> result = measure("customer.BulkCreate", items, 0, () -> {
+            RunContext runContext = runContextFactory.of();
+            BulkCreate.Output output = BulkCreate.builder()
+                .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+                .apiBase(Property.ofValue(standIn.apiBase()))
+                .from(rows)
+                .concurrency(Property.ofValue(10))
+                .rateLimit(Property.ofValue(false))
+                .checkpoint(Property.ofValue(false))
+                .build()
+                .run(runContext);
+            return new Run(List.of(runContext), output.getFailureCount());
+        });
+
+        assertThat(result.get("failures"), is(0L));
+    }
+
+    @Test
+    void bulkRefund() throws Exception {
+        Map<String, Object> result = measureBulkRefund("payment.BulkRefund", 1000, 0, false);
+
+        assertThat(result.get("failures"), is(0L));
+    }
+
+    @Test
+    void bulkRefundAgainstStripeRateLimit() throws Exception {
+        Map<String, Object> result = measureBulkRefund("payment.BulkRefund, server rate limit", 500, 100, false);
+
+        assertThat((Long) result.get("rateLimited"), greaterThan(0L));
+    }
+
+    @Test
+    void bulkRefundWithClientRateLimit() throws Exception {
+        Map<String, Object> result = measureBulkRefund("payment.BulkRefund, client rate limit", 500, 100, true);
+
+        assertThat(result.get("failures"), is(0L));
+    }
+
+    private Map<String, Object> measureBulkRefund(String name, int items, int serverRequestsPerSecond, boolean clientRateLimit) throws Exception {
+        List<Map<String, Object>> rows = seedIntents(items).stream()
+            .map(intent -> Map.<String, Object>of("paymentIntentId", intent))
+            .toList();
+
+        return measure(name, items, serverRequestsPerSecond, () -> {
+            RunContext runContext = runContextFactory.of();
+            BulkRefund.Output output = BulkRefund.builder()
+                .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+                .apiBase(Property.ofValue(standIn.apiBase()))
+                .from(rows)
+                .concurrency(Property.ofValue(10))
+                .rateLimit(Property.ofValue(clientRateLimit))
+                // Leave a margin below the server budget: both count in one-second windows but are not aligned
+                .requestsPerSecond(Property.ofValue(Math.max(1, serverRequestsPerSecond * 9 / 10)))
+                .networkRetry(AbstractStripe.NetworkRetry.builder()
+                    .maxAttempts(Property.ofValue(10))
+                    .baseDelay(Property.ofValue(Duration.ofMillis(100)))
+                    .maxDelay(Property.ofValue(Duration.ofSeconds(1)))
+                    .build())
+                .checkpoint(Property.ofValue(false))
+                .build()
+                .run(runContext);
+            return new Run(List.of(runContext), output.getFailureCount());
+        });
+    }
+
+    private List<String> seedIntents(int count) {
+        return IntStream.range(0, count)
+            .mapToObj(index -> (String) standIn.seedSucceededPaymentIntent(1000, "usd").get("id"))
+            .toList();
+    }
+
+    /**
+     * Runs one task per item, {@link #WORKER_THREADS} at a time, as a worker running several executions would.
+     */
+    private Run runSingle(int items, SingleTask task) throws Exception {
+        List<RunContext> runContexts = new ArrayList<>();
+        long failures = 0;
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(WORKER_THREADS)) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int index = 0; index < items; index++) {
+                int item = index;
+                RunContext runContext = runContextFactory.of();
+                runContexts.add(runContext);
+                futures.add(executor.submit(() -> task.run(item, runContext)));
+            }
+            for (Future<?> future : futures) {
+                try {
+                    future.get();
+                } catch (Exception e) {
+                    failures++;
+                }
+            }
+        }
+
+        return new Run(runContexts, failures);
+    }
+
+    private Map<String, Object> measure(String name, int items, int serverRequestsPerSecond, Scenario scenario) throws Exception {
+        standIn.rateLimit(serverRequestsPerSecond);
+
+        int requestsBefore = standIn.requestCount();
+        long serverAllocatedBefore = standIn.allocatedBytes();
+        long allocatedBefore = THREADS.getTotalThreadAllocatedBytes();
+        long start = System.nanoTime();
+
+        Run run = scenario.run();
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long allocated = THREADS.getTotalThreadAllocatedBytes() - allocatedBefore - (standIn.allocatedBytes() - serverAllocatedBefore);
+        int requests = standIn.requestCount() - requestsBefore;
+
+        List<Double> latencies = new ArrayList<>();
+        long retries = 0;
+        long rateLimited = 0;
+        for (RunContext runContext : run.runContexts()) {
+            for (AbstractMetricEntry<?> metric : runContext.metrics()) {
+                switch (metric.getName()) {
+                    case "request.duration" -> latencies.add(((Duration) metric.getValue()).toNanos() / 1e6);
+                    case "retries" -> retries += ((Number) metric.getValue()).longValue();
+                    case "rate.limited" -> rateLimited += ((Number) metric.getValue()).longValue();
+                    default -> {
+                    }
+                }
+            }
+        }
+        latencies.sort(Double::compare);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("name", name);
+        result.put("items", items);
+        result.put("serverLatencyMs", LATENCY.toMillis());
+        result.put("serverRequestsPerSecond", serverRequestsPerSecond);
+        result.put("durationMs", Math.round(seconds * 1000));
+        result.put("requests", requests);
+        result.put("requestsPerSecond", round(requests / seconds));
+        result.put("itemsPerSecond", round(items / seconds));
+        result.put("latencyP50Ms", round(percentile(latencies, 0.50)));
+        result.put("latencyP99Ms", round(percentile(latencies, 0.99)));
+        result.put("allocatedBytesPerItem", allocated / items);
+        result.put("retries", retries);
+        result.put("rateLimited", rateLimited);
+        result.put("failures", run.failures());
+
+        synchronized (SCENARIOS) {
+            SCENARIOS.add(result);
+        }
+        return result;
+    }
+
+    private static double percentile(List<Double> sorted, double percentile) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        return sorted.get((int) Math.min(sorted.size() - 1, Math.ceil(percentile * sorted.size()) - 1));
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    @FunctionalInterface
+    private interface Scenario {
+        Run run() throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface SingleTask {
+        Object run(int index, RunContext runContext) throws Exception;
+    }
+
+    private record Run(List<RunContext> runContexts, long failures) {
+    }
+}
@@ -0,0 +1,83 @@
+package io.kestra.plugin.stripe;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.stripe.net.LiveStripeResponseGetter;
+import com.stripe.net.StripeResponseGetter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class StripeClientCacheTest {
+
+    @BeforeEach
+    void clear() {
+        StripeClientCache.clear();
+    }
+
+    @Test
+    void reusesClientForSameKeyAndOptions() {
+        StripeResponseGetter first = StripeClientCache.get("sk_test_a", "", LiveStripeResponseGetter::new);
+        StripeResponseGetter second = StripeClientCache.get("sk_test_a", "", LiveStripeResponseGetter::new);
+        StripeResponseGetter otherOptions = StripeClientCache.get("sk_test_a", "timeout=5", LiveStripeResponseGetter::new);
+        StripeResponseGetter otherKey = StripeClientCache.get("sk_test_b", "", LiveStripeResponseGetter::new);
+
+        assertThat(second, sameInstance(first));
+        assertThat(otherOptions, not(sameInstance(first)));
+        assertThat(otherKey, not(sameInstance(first)));
+    }
+
+    @Test
+    void evictsIdleClients() {
+        long now = System.nanoTime();
+        StripeResponseGetter first = StripeClientCache.get("sk_test_a", "", LiveStripeResponseGetter::new, now);
+
+        long later = now + StripeClientCache.IDLE_TIMEOUT.toNanos() + 1;
+        StripeResponseGetter second = StripeClientCache.get("sk_test_a", "", LiveStripeResponseGetter::new, later);
+
+        assertThat(second, not(sameInstance(first)));
+        assertThat(StripeClientCache.size(), is(1));
+    }
+
+    @Test
+    void staysBounded() {
+        for (int i = 0; i < StripeClientCache.MAX_SIZE * 2; i++) {
+            String apiKey = "sk_test_" + i;
+            StripeClientCache.get(apiKey, "", LiveStripeResponseGetter::new);
+        }
+
+        assertThat(StripeClientCache.size(), is(StripeClientCache.MAX_SIZE));
+    }
+
+    @Test
+    void createsOneClientUnderConcurrentAccess() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        ConcurrentHashMap<StripeResponseGetter, Boolean> seen = new ConcurrentHashMap<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(16)) {
+            java.util.List<Future<?>> futures = new java.util.ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                futures.add(executor.submit(() -> seen.put(
+                    StripeClientCache.get("sk_test_a", "", () -> {
+                        created.incrementAndGet();
+                        return new LiveStripeResponseGetter();
+                    }),
+                    true
+                )));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        }
+
+        assertThat(created.get(), is(1));
+        assertThat(seen.size(), is(1));
+    }
+}
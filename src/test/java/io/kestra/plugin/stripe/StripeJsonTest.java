@@ -0,0 +1,87 @@
+package io.kestra.plugin.stripe;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.stripe.model.PaymentIntent;
+import com.stripe.model.PaymentIntentCollection;
+import com.stripe.net.ApiResource;
+import com.stripe.net.HttpHeaders;
+import com.stripe.net.StripeResponse;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class StripeJsonTest {
+    private static final String PAYMENT_INTENT = """
+        {"id": "pi_123", "object": "payment_intent", "amount": 1000, "amount_received": 12345678901, "currency": "usd", "customer": "cus_123", "created": 1700000000, "livemode": false, "metadata": {"order": "42"}, "payment_method_types": ["card"], "status": "succeeded"}
+        """;
+
+    @Test
+    void parsesObjectsFromTheirOwnResponse() throws Exception {
+        PaymentIntent intent = intent();
+        intent.setLastResponse(new StripeResponse(200, HttpHeaders.of(Map.of()), PAYMENT_INTENT));
+
+        Map<String, Object> converted = StripeJson.fromResponse(intent);
+
+        assertThat(converted, is(JacksonMapper.ofJson().readValue(PAYMENT_INTENT, new TypeReference<Map<String, Object>>() {
+        })));
+        assertThat(StripeJson.responseBody(intent), is(PAYMENT_INTENT));
+    }
+
+    @Test
+    void convertsObjectsFromTheirOwnFieldsLikeTheToJsonPath() throws Exception {
+        PaymentIntent intent = intent();
+
+        Map<String, Object> converted = StripeJson.toMap(intent);
+
+        assertThat(converted, is(JacksonMapper.ofJson().readValue(intent.toJson(), new TypeReference<Map<String, Object>>() {
+        })));
+        assertThat(converted.get("amount"), is(1000));
+        assertThat(converted.get("amount_received"), is(12345678901L));
+        assertThat(converted.get("payment_method_types"), is(List.of("card")));
+    }
+
+    @Test
+    void fallsBackToOwnFieldsWithoutResponse() throws Exception {
+        PaymentIntent intent = intent();
+
+        assertThat(StripeJson.fromResponse(intent), is(StripeJson.toMap(intent)));
+        assertThat(StripeJson.responseBody(intent), is(intent.toJson()));
+    }
+
+    @Test
+    void convertsListElementsFromThePageBody() throws Exception {
+        // A field the SDK model does not know, and no null fields that the Gson walk would add
+        String element = PAYMENT_INTENT.strip().replace("\"status\": \"succeeded\"}", "\"status\": \"succeeded\", \"preview_field\": true}");
+        String body = "{\"object\": \"list\", \"url\": \"/v1/payment_intents\", \"has_more\": false, \"data\": [" + element + ", " + element.replace("pi_123", "pi_456") + "]}";
+        PaymentIntentCollection page = ApiResource.GSON.fromJson(body, PaymentIntentCollection.class);
+        page.setLastResponse(new StripeResponse(200, HttpHeaders.of(Map.of()), body));
+
+        List<Map<String, Object>> converted = StripeJson.elements(page, null);
+        assertThat(converted, hasSize(2));
+        assertThat(converted.getFirst(), is(JacksonMapper.ofJson().readValue(element, new TypeReference<Map<String, Object>>() {
+        })));
+        assertThat(converted.get(1).get("id"), is("pi_456"));
+
+        List<Map<String, Object>> projected = StripeJson.elements(page, FieldProjection.of(List.of("id", "preview_field")));
+        assertThat(projected, contains(Map.of("id", "pi_123", "preview_field", true), Map.of("id", "pi_456", "preview_field", true)));
+    }
+
+    @Test
+    void convertsListElementsFromTheirOwnFieldsWithoutResponse() throws Exception {
+        String body = "{\"object\": \"list\", \"url\": \"/v1/payment_intents\", \"has_more\": false, \"data\": [" + PAYMENT_INTENT.strip() + "]}";
+        PaymentIntentCollection page = ApiResource.GSON.fromJson(body, PaymentIntentCollection.class);
+
+        assertThat(StripeJson.elements(page, null), contains(StripeJson.toMap(page.getData().getFirst())));
+    }
+
+    private static PaymentIntent intent() {
+        return ApiResource.GSON.fromJson(PAYMENT_INTENT, PaymentIntent.class);
+    }
+}
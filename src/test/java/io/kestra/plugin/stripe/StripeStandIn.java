@@ -0,0 +1,688 @@
+package io.kestra.plugin.stripe;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Predicate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.stripe.Stripe;
+import com.sun.management.ThreadMXBean;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.kestra.core.serializers.JacksonMapper;
+
+/**
+ * In-memory stand-in for the Stripe endpoints used by the plugin (customers, payment_intents, payment_methods, events,
+ * refunds and balance), so that tasks can run offline through their {@code apiBase} property.
+ * <p>
+ * It follows Stripe's wire format closely enough for the SDK: form-encoded requests, JSON responses, cursor pagination
+ * with {@code starting_after} and {@code ending_before}, {@code resource_missing} errors for unknown IDs, replay of responses for a repeated
+ * {@code Idempotency-Key}, and {@code expand} of ID fields, prefixed with {@code data.} on lists. Latency, 429 storms and large datasets can
+ * be injected to exercise the retry, rate limit and pagination paths.
+ * <p>
+ * Requests are served on a pool of platform threads whose heap allocation is tracked, so that load tests running in
+ * the same JVM can tell the plugin's allocation apart from the stand-in's.
+ */
+public final class StripeStandIn implements AutoCloseable {
+    public static final String API_KEY = "sk_test_stand_in";
+
+    private static final ObjectMapper MAPPER = JacksonMapper.ofJson();
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final int THREAD_POOL_SIZE = 64;
+    private static final Comparator<Map<String, Object>> NEWEST_FIRST = Comparator
+        .<Map<String, Object>>comparingLong(object -> ((Number) object.get("created")).longValue())
+        .thenComparing(object -> (String) object.get("id"))
+        .reversed();
+
+    private final HttpServer server;
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger requestCount = new AtomicInteger();
+    private final AtomicInteger rateLimitedLeft = new AtomicInteger();
+    private final AtomicLong allocatedBytes = new AtomicLong();
+    private final AtomicReference<RateWindow> rateWindow = new AtomicReference<>(new RateWindow(0, 0));
+    private volatile int requestsPerSecond;
+    private final Map<String, Map<String, Map<String, Object>>> objects = new ConcurrentHashMap<>();
+    private final Map<String, Response> idempotentResponses = new ConcurrentHashMap<>();
+    private final List<Request> requests = new CopyOnWriteArrayList<>();
+    private volatile Duration latency = Duration.ZERO;
+
+    private StripeStandIn(HttpServer server) {
+        this.server = server;
+    }
+
+    public static StripeStandIn start() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        StripeStandIn standIn = new StripeStandIn(server);
+        server.createContext("/v1/", standIn::handle);
+        server.setExecutor(Executors.newFixedThreadPool(THREAD_POOL_SIZE, Thread.ofPlatform().name("stripe-stand-in-", 0).daemon().factory()));
+        server.start();
+        return standIn;
+    }
+
+    public String apiBase() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Delays every response by this duration.
+     */
+    public StripeStandIn latency(Duration latency) {
+        this.latency = latency;
+        return this;
+    }
+
+    /**
+     * Answers the next {@code requests} requests with a 429, as Stripe does when the rate limit is exceeded.
+     */
+    public StripeStandIn rateLimitStorm(int requests) {
+        this.rateLimitedLeft.set(requests);
+        return this;
+    }
+
+    /**
+     * Answers with a 429 every request above this many per second, like Stripe's own rate limiter; 0 disables it.
+     */
+    public StripeStandIn rateLimit(int requestsPerSecond) {
+        this.requestsPerSecond = requestsPerSecond;
+        return this;
+    }
+
+    /**
+     * Creates {@code count} customers directly in the store, for pagination and export tests.
+     */
+    public List<String> seedCustomers(int count) {
+        Instant now = Instant.now();
+        return seedCustomers(count, now, now);
+    }
+
+    /**
+     * Creates {@code count} customers with {@code created} spread evenly from {@code from} to {@code to}, both
+     * included, so that several customers share each second.
+     */
+    public synchronized List<String> seedCustomers(int count, Instant from, Instant to) {
+        long span = to.getEpochSecond() - from.getEpochSecond();
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Map<String, Object> customer = customer(Map.of("name", "Seeded " + i, "email", "seeded" + i + "@example.com"));
+            customer.put("created", from.getEpochSecond() + (count == 1 ? 0 : span * i / (count - 1)));
+            ids.add((String) customer.get("id"));
+        }
+        return ids;
+    }
+
+    /**
+     * Creates a PaymentIntent that already succeeded, with its charge, and returns it.
+     */
+    public Map<String, Object> seedSucceededPaymentIntent(long amount, String currency) {
+        return seedSucceededPaymentIntent(amount, currency, Instant.now());
+    }
+
+    /**
+     * Creates a PaymentIntent that already succeeded, as if it had been created at the given time.
+     */
+    public synchronized Map<String, Object> seedSucceededPaymentIntent(long amount, String currency, Instant created) {
+        Map<String, Object> intent = paymentIntent(Map.of("amount", String.valueOf(amount), "currency", currency));
+        intent.put("created", created.getEpochSecond());
+        confirm(intent, Map.of("payment_method", paymentMethod(Map.of("type", "card")).get("id")));
+        return intent;
+    }
+
+    /**
+     * Records an event of this type about the given object, as Stripe does when the object changes.
+     */
+    public synchronized String seedEvent(String type, Map<String, Object> object) {
+        return (String) store("event", ordered(
+            "id", nextId("evt_"),
+            "object", "event",
+            "api_version", Stripe.API_VERSION,
+            "created", Instant.now().getEpochSecond(),
+            "data", ordered("object", object),
+            "livemode", false,
+            "pending_webhooks", 0,
+            "request", ordered("id", null, "idempotency_key", null),
+            "type", type
+        )).get("id");
+    }
+
+    /**
+     * Drops an event, as Stripe does once it is older than 30 days.
+     */
+    public synchronized void expireEvent(String id) {
+        objects.getOrDefault("event", Map.of()).remove(id);
+    }
+
+    public int requestCount() {
+        return requestCount.get();
+    }
+
+    /**
+     * Returns the heap allocated so far while serving requests.
+     */
+    public long allocatedBytes() {
+        return allocatedBytes.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        long allocated = THREADS.getCurrentThreadAllocatedBytes();
+        try {
+            serve(exchange);
+        } finally {
+            allocatedBytes.addAndGet(THREADS.getCurrentThreadAllocatedBytes() - allocated);
+        }
+    }
+
+    private void serve(HttpExchange exchange) throws IOException {
+        requestCount.incrementAndGet();
+        try {
+            if (!latency.isZero()) {
+                Thread.sleep(latency);
+            }
+
+            if (rateLimitedLeft.getAndUpdate(left -> Math.max(0, left - 1)) > 0 || overRateLimit()) {
+                respond(exchange, error(429, "rate_limit", null, "Too many requests hit the API too quickly."));
+                return;
+            }
+
+            String idempotencyKey = exchange.getRequestHeaders().getFirst("Idempotency-Key");
+            String method = exchange.getRequestMethod();
+            Map<String, Object> params = params(
+                method.equals("GET") || method.equals("DELETE")
+                    ? exchange.getRequestURI().getRawQuery()
+                    : new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8)
+            );
+            requests.add(new Request(method, exchange.getRequestURI().getPath(), params));
+
+            Response response;
+            if (idempotencyKey != null && method.equals("POST")) {
+                response = idempotentResponses.computeIfAbsent(idempotencyKey, key -> route(method, exchange.getRequestURI().getPath(), params));
+            } else {
+                response = route(method, exchange.getRequestURI().getPath(), params);
+            }
+            respond(exchange, response);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.close();
+        } catch (RuntimeException e) {
+            respond(exchange, error(500, "api_error", null, e.getMessage()));
+        }
+    }
+
+    private boolean overRateLimit() {
+        int limit = this.requestsPerSecond;
+        if (limit <= 0) {
+            return false;
+        }
+
+        long second = System.nanoTime() / 1_000_000_000L;
+        RateWindow window = rateWindow.updateAndGet(current -> current.second() == second
+            ? new RateWindow(second, current.count() + 1)
+            : new RateWindow(second, 1));
+        return window.count() > limit;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Response route(String method, String path, Map<String, Object> params) {
+        String[] segments = path.substring("/v1/".length()).split("/");
+        String resource = segments[0];
+        String id = segments.length > 1 ? segments[1] : null;
+        String action = segments.length > 2 ? segments[2] : null;
+
+        synchronized (this) {
+            return switch (resource) {
+                case "customers" -> {
+                    if (id == null) {
+                        yield method.equals("POST") ? ok(customer(params)) : list("customer", "/v1/customers", params, customer -> matches(customer, "email", params));
+                    }
+                    Map<String, Object> customer = find("customer", id);
+                    if (customer == null) {
+                        yield missing("customer", id);
+                    }
+                    yield switch (method) {
+                        case "POST" -> ok(update(customer, params));
+                        case "DELETE" -> {
+                            objects.get("customer").remove(id);
+                            yield ok(ordered("id", id, "object", "customer", "deleted", true));
+                        }
+                        default -> ok(expand(customer, params, false));
+                    };
+                }
+                case "payment_intents" -> {
+                    if (id == null) {
+                        yield method.equals("POST")
+                            ? ok(paymentIntent(params))
+                            : list("payment_intent", "/v1/payment_intents", params, intent -> matches(intent, "customer", params));
+                    }
+                    Map<String, Object> intent = find("payment_intent", id);
+                    if (intent == null) {
+                        yield missing("payment_intent", id);
+                    }
+                    if ("confirm".equals(action)) {
+                        yield confirm(intent, params);
+                    }
+                    yield ok(expand(intent, params, false));
+                }
+                case "payment_methods" -> {
+                    if (id == null) {
+                        yield method.equals("POST")
+                            ? ok(paymentMethod(params))
+                            : list("payment_method", "/v1/payment_methods", params, pm -> matches(pm, "customer", params) && matches(pm, "type", params));
+                    }
+                    Map<String, Object> paymentMethod = find("payment_method", id);
+                    if (paymentMethod == null) {
+                        yield missing("payment_method", id);
+                    }
+                    if ("attach".equals(action)) {
+                        if (find("customer", (String) params.get("customer")) == null) {
+                            yield missing("customer", (String) params.get("customer"));
+                        }
+                        paymentMethod.put("customer", params.get("customer"));
+                    } else if ("detach".equals(action)) {
+                        paymentMethod.put("customer", null);
+                    }
+                    yield ok(expand(paymentMethod, params, false));
+                }
+                case "refunds" -> refund(params);
+                case "events" -> {
+                    if (id != null) {
+                        Map<String, Object> event = find("event", id);
+                        yield event == null ? missing("event", id) : ok(event);
+                    }
+                    yield list("event", "/v1/events", params, event -> matchesTypes(event, params.get("types")));
+                }
+                case "balance" -> ok(ordered(
+                    "object", "balance",
+                    "available", List.of(ordered("amount", 125000, "currency", "usd", "source_types", Map.of("card", 125000))),
+                    "livemode", false,
+                    "pending", List.of(ordered("amount", 4200, "currency", "usd", "source_types", Map.of("card", 4200)))
+                ));
+                default -> error(404, "invalid_request_error", null, "Unrecognized request URL (" + method + ": " + path + ")");
+            };
+        }
+    }
+
+    private Map<String, Object> customer(Map<String, Object> params) {
+        Map<String, Object> customer = ordered(
+            "id", nextId("cus_"),
+            "object", "customer",
+            "balance", 0,
+            "created", Instant.now().getEpochSecond(),
+            "currency", null,
+            "delinquent", false,
+            "description", params.get("description"),
+            "email", params.get("email"),
+            "invoice_settings", ordered("default_payment_method", null),
+            "livemode", false,
+            "metadata", new LinkedHashMap<>(),
+            "name", params.get("name"),
+            "phone", params.get("phone")
+        );
+        return store("customer", update(customer, params));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> update(Map<String, Object> customer, Map<String, Object> params) {
+        for (String field : List.of("name", "email", "description", "phone")) {
+            if (params.containsKey(field)) {
+                customer.put(field, params.get(field));
+            }
+        }
+        if (params.get("metadata") instanceof Map<?, ?> metadata) {
+            ((Map<String, Object>) customer.get("metadata")).putAll((Map<String, Object>) metadata);
+        }
+        if (params.get("invoice_settings") instanceof Map<?, ?> invoiceSettings && invoiceSettings.containsKey("default_payment_method")) {
+            ((Map<String, Object>) customer.get("invoice_settings")).put("default_payment_method", invoiceSettings.get("default_payment_method"));
+        }
+        return customer;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> paymentIntent(Map<String, Object> params) {
+        String id = nextId("pi_");
+        return store("payment_intent", ordered(
+            "id", id,
+            "object", "payment_intent",
+            "amount", Long.parseLong((String) params.get("amount")),
+            "amount_received", 0,
+            "client_secret", id + "_secret_standin",
+            "created", Instant.now().getEpochSecond(),
+            "currency", params.get("currency"),
+            "customer", params.get("customer"),
+            "latest_charge", null,
+            "livemode", false,
+            "metadata", params.get("metadata") instanceof Map<?, ?> metadata ? new LinkedHashMap<>((Map<String, Object>) metadata) : new LinkedHashMap<>(),
+            "payment_method", params.get("payment_method"),
+            "payment_method_types", List.of("card"),
+            "status", params.containsKey("payment_method") ? "requires_confirmation" : "requires_payment_method"
+        ));
+    }
+
+    private Response confirm(Map<String, Object> intent, Map<String, Object> params) {
+        if (params.containsKey("payment_method")) {
+            intent.put("payment_method", params.get("payment_method"));
+        }
+        if (intent.get("payment_method") == null) {
+            return error(400, "invalid_request_error", "payment_intent_unexpected_state",
+                "You cannot confirm this PaymentIntent because it's missing a payment method.");
+        }
+
+        Map<String, Object> charge = store("charge", ordered(
+            "id", nextId("ch_"),
+            "object", "charge",
+            "amount", intent.get("amount"),
+            "amount_refunded", 0L,
+            "currency", intent.get("currency"),
+            "payment_intent", intent.get("id")
+        ));
+        intent.put("status", "succeeded");
+        intent.put("amount_received", intent.get("amount"));
+        intent.put("latest_charge", charge.get("id"));
+        return ok(expand(intent, params, false));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> paymentMethod(Map<String, Object> params) {
+        String type = (String) params.getOrDefault("type", "card");
+        Map<String, Object> card = params.get("card") instanceof Map<?, ?> details ? (Map<String, Object>) details : Map.of();
+        String number = (String) card.getOrDefault("number", "4242424242424242");
+
+        return store("payment_method", ordered(
+            "id", nextId("pm_"),
+            "object", "payment_method",
+            "billing_details", ordered("address", null, "email", null, "name", null, "phone", null),
+            "card", "card".equals(type) ? ordered(
+                "brand", "visa",
+                "country", "US",
+                "exp_month", Long.parseLong((String) card.getOrDefault("exp_month", "12")),
+                "exp_year", Long.parseLong((String) card.getOrDefault("exp_year", "2030")),
+                "funding", "credit",
+                "last4", number.substring(number.length() - 4)
+            ) : null,
+            "created", Instant.now().getEpochSecond(),
+            "customer", null,
+            "livemode", false,
+            "metadata", new LinkedHashMap<>(),
+            "type", type
+        ));
+    }
+
+    private Response refund(Map<String, Object> params) {
+        Map<String, Object> charge;
+        if (params.get("charge") != null) {
+            charge = find("charge", (String) params.get("charge"));
+            if (charge == null) {
+                return missing("charge", (String) params.get("charge"));
+            }
+        } else if (params.get("payment_intent") != null) {
+            Map<String, Object> intent = find("payment_intent", (String) params.get("payment_intent"));
+            if (intent == null) {
+                return missing("payment_intent", (String) params.get("payment_intent"));
+            }
+            charge = intent.get("latest_charge") == null ? null : find("charge", (String) intent.get("latest_charge"));
+            if (charge == null) {
+                return error(400, "invalid_request_error", "charge_not_refundable", "This PaymentIntent does not have a successful charge to refund.");
+            }
+        } else {
+            return error(400, "invalid_request_error", "parameter_missing", "One of the following params should be provided for this request: payment_intent or charge.");
+        }
+
+        long remaining = ((Number) charge.get("amount")).longValue() - ((Number) charge.get("amount_refunded")).longValue();
+        long amount = params.get("amount") != null ? Long.parseLong((String) params.get("amount")) : remaining;
+        if (amount > remaining) {
+            return error(400, "invalid_request_error", "amount_too_large", "Refund amount is greater than unrefunded amount on charge.");
+        }
+        charge.put("amount_refunded", ((Number) charge.get("amount_refunded")).longValue() + amount);
+
+        return ok(store("refund", ordered(
+            "id", nextId("re_"),
+            "object", "refund",
+            "amount", amount,
+            "charge", charge.get("id"),
+            "created", Instant.now().getEpochSecond(),
+            "currency", charge.get("currency"),
+            "metadata", new LinkedHashMap<>(),
+            "payment_intent", charge.get("payment_intent"),
+            "status", "succeeded"
+        )));
+    }
+
+    /**
+     * Returns one page of the objects of this type, newest first as Stripe lists them, within the optional
+     * {@code created} range. With {@code starting_after}, the page holds the objects right after the cursor; with
+     * {@code ending_before}, the objects right before it, that is the oldest of the newer objects. A cursor that is
+     * not stored, such as an expired event, is a {@code resource_missing} error.
+     */
+    private Response list(String type, String url, Map<String, Object> params, Predicate<Map<String, Object>> filter) {
+        int limit = params.get("limit") != null ? Integer.parseInt((String) params.get("limit")) : 10;
+        String startingAfter = (String) params.get("starting_after");
+        String endingBefore = (String) params.get("ending_before");
+        String cursor = startingAfter != null ? startingAfter : endingBefore;
+        if (cursor != null && find(type, cursor) == null) {
+            return missing(type, cursor);
+        }
+
+        List<Map<String, Object>> sorted = new ArrayList<>(objects.getOrDefault(type, Map.of()).values());
+        sorted.sort(NEWEST_FIRST);
+
+        List<Map<String, Object>> before = new ArrayList<>();
+        List<Map<String, Object>> after = new ArrayList<>();
+        boolean passedCursor = cursor == null;
+        for (Map<String, Object> object : sorted) {
+            if (!passedCursor && object.get("id").equals(cursor)) {
+                passedCursor = true;
+                continue;
+            }
+            if (filter.test(object) && createdInRange(object, params.get("created"))) {
+                (passedCursor ? after : before).add(object);
+            }
+        }
+
+        List<Map<String, Object>> candidates = endingBefore != null
+            ? before.subList(Math.max(0, before.size() - limit), before.size())
+            : after.subList(0, Math.min(limit, after.size()));
+        boolean hasMore = endingBefore != null ? before.size() > limit : after.size() > limit;
+
+        List<Map<String, Object>> data = new ArrayList<>(candidates.size());
+        for (Map<String, Object> object : candidates) {
+            data.add(expand(object, params, true));
+        }
+
+        return ok(ordered("object", "list", "data", data, "has_more", hasMore, "url", url));
+    }
+
+    /**
+     * Replaces the object IDs named by the {@code expand} paths with the objects themselves. Paths of list requests
+     * must start with {@code data.}, as Stripe requires; other paths are ignored there.
+     */
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> expand(Map<String, Object> object, Map<String, Object> params, boolean list) {
+        if (!(params.get("expand") instanceof Map<?, ?> expand)) {
+            return object;
+        }
+
+        Map<String, Object> expanded = object;
+        for (Object value : ((Map<String, Object>) expand).values()) {
+            String path = (String) value;
+            if (list) {
+                if (!path.startsWith("data.")) {
+                    continue;
+                }
+                path = path.substring("data.".length());
+            }
+            expanded = expandPath(expanded, path.split("\\."), 0);
+        }
+        return expanded;
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> expandPath(Map<String, Object> object, String[] path, int depth) {
+        Object value = object.get(path[depth]);
+        Object replacement = null;
+        if (depth == path.length - 1 && value instanceof String id) {
+            replacement = objects.values().stream()
+                .map(byId -> byId.get(id))
+                .filter(java.util.Objects::nonNull)
+                .findFirst()
+                .orElse(null);
+        } else if (depth < path.length - 1 && value instanceof Map<?, ?> nested) {
+            replacement = expandPath((Map<String, Object>) nested, path, depth + 1);
+        }
+        if (replacement == null) {
+            return object;
+        }
+
+        Map<String, Object> expanded = new LinkedHashMap<>(object);
+        expanded.put(path[depth], replacement);
+        return expanded;
+    }
+
+    private static boolean createdInRange(Map<String, Object> object, Object range) {
+        long created = ((Number) object.get("created")).longValue();
+        if (range instanceof String exact) {
+            return created == Long.parseLong(exact);
+        }
+        if (!(range instanceof Map<?, ?> bounds)) {
+            return true;
+        }
+
+        return (bounds.get("gte") == null || created >= Long.parseLong((String) bounds.get("gte")))
+            && (bounds.get("gt") == null || created > Long.parseLong((String) bounds.get("gt")))
+            && (bounds.get("lte") == null || created <= Long.parseLong((String) bounds.get("lte")))
+            && (bounds.get("lt") == null || created < Long.parseLong((String) bounds.get("lt")));
+    }
+
+    private static boolean matchesTypes(Map<String, Object> event, Object types) {
+        return !(types instanceof Map<?, ?> list) || list.containsValue(event.get("type"));
+    }
+
+    private static boolean matches(Map<String, Object> object, String field, Map<String, Object> params) {
+        return params.get(field) == null || params.get(field).equals(object.get(field));
+    }
+
+    private Map<String, Object> store(String type, Map<String, Object> object) {
+        objects.computeIfAbsent(type, key -> new LinkedHashMap<>())
+            .put((String) object.get("id"), object);
+        return object;
+    }
+
+    private Map<String, Object> find(String type, String id) {
+        return id == null ? null : objects.getOrDefault(type, Map.of()).get(id);
+    }
+
+    private String nextId(String prefix) {
+        return prefix + "standin" + String.format("%08d", sequence.incrementAndGet());
+    }
+
+    /**
+     * Decodes Stripe's form encoding, where {@code metadata[plan]=pro} becomes a nested map.
+     */
+    @SuppressWarnings("unchecked")
+    static Map<String, Object> params(String encoded) {
+        Map<String, Object> params = new HashMap<>();
+        if (encoded == null || encoded.isEmpty()) {
+            return params;
+        }
+
+        for (String pair : encoded.split("&")) {
+            int separator = pair.indexOf('=');
+            String key = URLDecoder.decode(separator < 0 ? pair : pair.substring(0, separator), StandardCharsets.UTF_8);
+            String value = separator < 0 ? "" : URLDecoder.decode(pair.substring(separator + 1), StandardCharsets.UTF_8);
+
+            String[] path = key.replace("]", "").split("\\[");
+            Map<String, Object> target = params;
+            for (int i = 0; i < path.length - 1; i++) {
+                target = (Map<String, Object>) target.computeIfAbsent(path[i], segment -> new LinkedHashMap<>());
+            }
+            target.put(path[path.length - 1], value);
+        }
+        return params;
+    }
+
+    private static Map<String, Object> ordered(Object... entries) {
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < entries.length; i += 2) {
+            map.put((String) entries[i], entries[i + 1]);
+        }
+        return map;
+    }
+
+    private static Response ok(Map<String, Object> body) {
+        return new Response(200, body);
+    }
+
+    private static Response missing(String type, String id) {
+        return error(404, "invalid_request_error", "resource_missing", "No such " + type + ": '" + id + "'");
+    }
+
+    private static Response error(int status, String type, String code, String message) {
+        return new Response(status, Map.of("error", ordered("type", type, "code", code, "message", message)));
+    }
+
+    private static void respond(HttpExchange exchange, Response response) throws IOException {
+        byte[] bytes = response.body();
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.getResponseHeaders().add("Request-Id", "req_standin");
+        exchange.sendResponseHeaders(response.status(), bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+
+    /**
+     * Returns every request received so far, in arrival order.
+     */
+    public List<Request> requests() {
+        return List.copyOf(requests);
+    }
+
+    /**
+     * A request as received, with its decoded form or query parameters.
+     */
+    public record Request(String method, String path, Map<String, Object> params) {
+    }
+
+    private record RateWindow(long second, int count) {
+    }
+
+    /**
+     * A response serialized when it is built, while the objects it references are not being modified, so that it can
+     * also be replayed as is for a repeated idempotency key.
+     */
+    private record Response(int status, byte[] body) {
+        private Response(int status, Map<String, Object> body) {
+            this(status, serialize(body));
+        }
+
+        private static byte[] serialize(Map<String, Object> body) {
+            try {
+                return MAPPER.writeValueAsBytes(body);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package io.kestra.plugin.stripe;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.stripe.exception.InvalidRequestException;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.plugin.stripe.balance.Retrieve;
+import io.kestra.plugin.stripe.customer.Create;
+import io.kestra.plugin.stripe.customer.Get;
+import io.kestra.plugin.stripe.payment.AttachMethod;
+import io.kestra.plugin.stripe.payment.ConfirmIntent;
+import io.kestra.plugin.stripe.payment.CreateIntent;
+import io.kestra.plugin.stripe.payment.CreateMethod;
+import io.kestra.plugin.stripe.payment.ListIntents;
+import io.kestra.plugin.stripe.payment.Refund;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs the tasks end to end against {@link StripeStandIn}, so that they are exercised in CI without a Stripe API key.
+ */
+@KestraTest
+class StripeStandInTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private StripeStandIn standIn;
+
+    @BeforeEach
+    void start() throws Exception {
+        standIn = StripeStandIn.start();
+    }
+
+    @AfterEach
+    void stop() {
+        standIn.close();
+    }
+
+    @Test
+    void createsAndReadsCustomers() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        Create.Output created = Create.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .name(Property.ofValue("Jane Doe"))
+            .email(Property.ofValue("jane@example.com"))
+            .metadata(Property.ofValue(Map.of("plan", "pro")))
+            .includeFullCustomerData(Property.ofValue(true))
+            .build()
+            .run(runContext);
+
+        assertThat(created.getCustomerId(), startsWith("cus_"));
+        assertThat(created.getCustomerData().get("metadata"), is(Map.of("plan", "pro")));
+
+        Get.Output fetched = Get.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .customerId(Property.ofValue(created.getCustomerId()))
+            .fields(Property.ofValue(List.of("email")))
+            .build()
+            .run(runContext);
+
+        assertThat(fetched.getCustomerData(), is(Map.of("email", "jane@example.com")));
+    }
+
+    @Test
+    void reportsMissingObjectsLikeStripe() {
+        RunContext runContext = runContextFactory.of();
+
+        RuntimeException e = assertThrows(RuntimeException.class, () -> Get.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .customerId(Property.ofValue("cus_missing"))
+            .build()
+            .run(runContext));
+
+        InvalidRequestException cause = (InvalidRequestException) e.getCause();
+        assertThat(cause.getCode(), is("resource_missing"));
+        assertThat(cause.getStatusCode(), is(404));
+    }
+
+    @Test
+    void storesEveryPageOfALargeList() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        standIn.seedCustomers(250);
+
+        io.kestra.plugin.stripe.customer.List.Output output = io.kestra.plugin.stripe.customer.List.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .fetchType(Property.ofValue(FetchType.STORE))
+            .build()
+            .run(runContext);
+
+        assertThat(output.getTotalCount(), is(250));
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getUri())))) {
+            List<Object> rows = FileSerde.readAll(reader).collectList().block();
+            assertThat(rows, hasSize(250));
+        }
+    }
+
+    @Test
+    void paysAndRefundsAPaymentIntent() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        String customerId = Create.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .name(Property.ofValue("Jane Doe"))
+            .build()
+            .run(runContext)
+            .getCustomerId();
+
+        CreateMethod.Output method = CreateMethod.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .paymentMethodType(Property.ofValue("card"))
+            .cardNumber(Property.ofValue("4242424242424242"))
+            .expMonth(Property.ofValue(12L))
+            .expYear(Property.ofValue(2030L))
+            .cvc(Property.ofValue("123"))
+            .build()
+            .run(runContext);
+
+        AttachMethod.Output attached = AttachMethod.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .paymentMethodId(Property.ofValue(method.getPaymentMethodId()))
+            .customerId(Property.ofValue(customerId))
+            .build()
+            .run(runContext);
+        assertThat(attached.getCustomerId(), is(customerId));
+
+        CreateIntent.Output intent = CreateIntent.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .amount(Property.ofValue(2000L))
+            .currency(Property.ofValue("usd"))
+            .customer(Property.ofValue(customerId))
+            .build()
+            .run(runContext);
+        assertThat(intent.getStatus(), is("requires_payment_method"));
+
+        ConfirmIntent.Output confirmed = ConfirmIntent.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .paymentIntentId(Property.ofValue(intent.getPaymentIntentId()))
+            .paymentMethod(Property.ofValue(method.getPaymentMethodId()))
+            .build()
+            .run(runContext);
+        assertThat(confirmed.getStatus(), is("succeeded"));
+
+        Refund.Output refund = Refund.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .paymentIntentId(Property.ofValue(intent.getPaymentIntentId()))
+            .amount(Property.ofValue(500L))
+            .build()
+            .run(runContext);
+        assertThat(refund.getAmount(), is(500L));
+        assertThat(refund.getStatus(), is("succeeded"));
+
+        ListIntents.Output intents = ListIntents.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .customer(Property.ofValue(customerId))
+            .expand(Property.ofValue(List.of("customer")))
+            .build()
+            .run(runContext);
+        assertThat(intents.getCount(), is(1));
+        assertThat(((Map<?, ?>) intents.getPaymentIntents().getFirst().get("customer")).get("id"), is(customerId));
+    }
+
+    @Test
+    void retriesThroughARateLimitStorm() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        String customerId = standIn.seedCustomers(1).getFirst();
+        standIn.rateLimitStorm(3);
+
+        Get.Output output = Get.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .customerId(Property.ofValue(customerId))
+            .networkRetry(AbstractStripe.NetworkRetry.builder()
+                .maxAttempts(Property.ofValue(5))
+                .baseDelay(Property.ofValue(Duration.ofMillis(10)))
+                .build())
+            .build()
+            .run(runContext);
+
+        assertThat(output.getCustomerId(), is(customerId));
+        assertThat(standIn.requestCount(), is(4));
+    }
+
+    @Test
+    void appliesInjectedLatency() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        standIn.latency(Duration.ofMillis(200));
+
+        long start = System.nanoTime();
+        Retrieve.Output balance = Retrieve.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .build()
+            .run(runContext);
+
+        assertThat(balance.getAvailable(), hasSize(1));
+        assertThat(Duration.ofNanos(System.nanoTime() - start), greaterThanOrEqualTo(Duration.ofMillis(200)));
+    }
+
+    @Test
+    void replaysResponsesForARepeatedIdempotencyKey() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        Create task = Create.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .name(Property.ofValue("Jane Doe"))
+            .idempotencyKey(Property.ofValue("create-jane"))
+            .build();
+
+        assertThat(task.run(runContext).getCustomerId(), is(task.run(runContext).getCustomerId()));
+    }
+
+    @Test
+    void decodesBracketedFormParameters() {
+        Map<String, Object> params = StripeStandIn.params("name=Jane+Doe&metadata%5Bplan%5D=pro&expand%5B0%5D=data.customer");
+
+        assertThat(params.get("name"), is("Jane Doe"));
+        assertThat(params.get("metadata"), is(Map.of("plan", "pro")));
+        assertThat(params.get("expand"), is(Map.of("0", "data.customer")));
+    }
+}
@@ -0,0 +1,244 @@
+package io.kestra.plugin.stripe;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.stripe.StripeClient;
+import com.stripe.exception.ApiException;
+import com.stripe.exception.InvalidRequestException;
+import com.stripe.exception.StripeException;
+import com.stripe.model.Customer;
+import com.stripe.model.StripeError;
+import com.stripe.net.ApiResource;
+import com.stripe.net.HttpHeaders;
+import com.stripe.net.LiveStripeResponseGetter;
+import com.stripe.net.StripeResponse;
+import com.stripe.param.CustomerCreateParams;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.executions.AbstractMetricEntry;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class TaskResponseGetterTest {
+    private static final String CUSTOMER = """
+        {"id": "cus_123", "object": "customer", "name": "Jane Doe"}
+        """;
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private HttpServer server;
+    private final AtomicInteger failuresLeft = new AtomicInteger();
+    private final List<String> idempotencyKeys = new CopyOnWriteArrayList<>();
+    private volatile int failureStatus;
+    private volatile String failureHeader;
+
+    @BeforeEach
+    void start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/v1/customers", exchange -> {
+            idempotencyKeys.add(String.valueOf(exchange.getRequestHeaders().getFirst("Idempotency-Key")));
+
+            if (failuresLeft.getAndDecrement() > 0) {
+                if (failureHeader != null) {
+                    String[] header = failureHeader.split(":");
+                    exchange.getResponseHeaders().add(header[0], header[1]);
+                }
+                respond(exchange, failureStatus, """
+                    {"error": {"type": "api_error", "message": "Temporary failure"}}
+                    """);
+            } else {
+                respond(exchange, 200, CUSTOMER);
+            }
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stop() {
+        server.stop(0);
+    }
+
+    @Test
+    void retriesTransientFailuresWithTheSameIdempotencyKey() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        failuresLeft.set(2);
+        failureStatus = 503;
+
+        Customer customer = client(runContext, retry(3)).customers().create(CustomerCreateParams.builder().setName("Jane Doe").build());
+
+        assertThat(customer.getId(), is("cus_123"));
+        assertThat(idempotencyKeys, hasSize(3));
+        assertThat(idempotencyKeys.getFirst(), not("null"));
+        assertThat(idempotencyKeys.stream().distinct().count(), is(1L));
+        assertThat(metric(runContext, "retries").getValue(), is(2.0));
+        assertThat(metric(runContext, "retry.wait"), notNullValue());
+    }
+
+    @Test
+    void stopsAfterMaxAttempts() {
+        RunContext runContext = runContextFactory.of();
+        failuresLeft.set(5);
+        failureStatus = 500;
+
+        assertThrows(ApiException.class, () -> client(runContext, retry(2)).customers().retrieve("cus_123"));
+
+        assertThat(idempotencyKeys, hasSize(2));
+    }
+
+    @Test
+    void honorsStripeShouldRetryFalse() {
+        RunContext runContext = runContextFactory.of();
+        failuresLeft.set(1);
+        failureStatus = 503;
+        failureHeader = "Stripe-Should-Retry:false";
+
+        assertThrows(ApiException.class, () -> client(runContext, retry(3)).customers().retrieve("cus_123"));
+
+        assertThat(idempotencyKeys, hasSize(1));
+    }
+
+    @Test
+    void doesNotRetryClientErrors() {
+        RunContext runContext = runContextFactory.of();
+        failuresLeft.set(1);
+        failureStatus = 400;
+
+        assertThrows(InvalidRequestException.class, () -> client(runContext, retry(3)).customers().retrieve("cus_123"));
+
+        assertThat(idempotencyKeys, hasSize(1));
+    }
+
+    @Test
+    void stopsWhenRetryAfterExceedsTheBudget() {
+        RunContext runContext = runContextFactory.of();
+        failuresLeft.set(1);
+        failureStatus = 429;
+        failureHeader = "Retry-After:120";
+
+        assertThrows(Exception.class, () -> client(runContext, retry(3)).customers().retrieve("cus_123"));
+
+        assertThat(idempotencyKeys, hasSize(1));
+    }
+
+    @Test
+    void doesNotRetryRawPostsWithoutIdempotencyKey() {
+        RunContext runContext = runContextFactory.of();
+        failuresLeft.set(1);
+        failureStatus = 503;
+
+        assertThrows(ApiException.class, () -> client(runContext, retry(3)).rawRequest(ApiResource.RequestMethod.POST, "/v1/customers", "name=Jane", null));
+
+        assertThat(idempotencyKeys, hasSize(1));
+    }
+
+    @Test
+    void retriesRawGets() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        failuresLeft.set(1);
+        failureStatus = 503;
+
+        StripeResponse response = client(runContext, retry(3)).rawRequest(ApiResource.RequestMethod.GET, "/v1/customers/cus_123", null, null);
+
+        assertThat(response.code(), is(200));
+        assertThat(idempotencyKeys, hasSize(2));
+    }
+
+    @Test
+    void retryAfterIsAFloorForTheBackoff() {
+        TaskResponseGetter.Retry retry = new TaskResponseGetter.Retry(3, Duration.ofSeconds(2), Duration.ofSeconds(5), Duration.ofMinutes(1), false);
+
+        assertThat(retry.delay(rateLimited("0"), 1, Duration.ZERO).orElseThrow(), is(Duration.ofSeconds(2)));
+        assertThat(retry.delay(rateLimited("4"), 1, Duration.ZERO).orElseThrow(), is(Duration.ofSeconds(4)));
+    }
+
+    @Test
+    void recordsLatencyStatusAndSizePerEndpoint() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        failuresLeft.set(1);
+        failureStatus = 429;
+
+        client(runContext, retry(3)).customers().retrieve("cus_123");
+
+        assertThat(metric(runContext, "request.duration", "status", "429"), notNullValue());
+        assertThat(metric(runContext, "request.duration", "status", "200").getTags().get("endpoint"), is("GET /v1/customers/{id}"));
+        assertThat(metric(runContext, "rate.limited").getValue(), is(1.0));
+        assertThat(metric(runContext, "response.bytes").getValue(), is((double) CUSTOMER.length()));
+    }
+
+    @Test
+    void endpointTagsReplaceObjectIds() {
+        assertThat(TaskResponseGetter.endpoint(ApiResource.RequestMethod.POST, "/v1/payment_intents/pi_3MtwBwLkdIwHu7ix28a3tqPa/confirm"), is("POST /v1/payment_intents/{id}/confirm"));
+        assertThat(TaskResponseGetter.endpoint(ApiResource.RequestMethod.GET, "/v1/customers/cus_NffrFeUfNVHib"), is("GET /v1/customers/{id}"));
+        assertThat(TaskResponseGetter.endpoint(ApiResource.RequestMethod.GET, "/v1/payment_methods"), is("GET /v1/payment_methods"));
+    }
+
+    @Test
+    void retryDelayUsesExponentialBackoffBoundedByMaxDelay() {
+        TaskResponseGetter.Retry retry = new TaskResponseGetter.Retry(10, Duration.ofMillis(100), Duration.ofMillis(250), Duration.ofMinutes(1), false);
+        ApiException failure = new ApiException("Temporary failure", null, null, 503, null);
+
+        assertThat(retry.delay(failure, 1, Duration.ZERO).orElseThrow(), is(Duration.ofMillis(100)));
+        assertThat(retry.delay(failure, 2, Duration.ZERO).orElseThrow(), is(Duration.ofMillis(200)));
+        assertThat(retry.delay(failure, 3, Duration.ZERO).orElseThrow(), is(Duration.ofMillis(250)));
+        assertThat(retry.delay(failure, 2, Duration.ofMinutes(1)).isPresent(), is(false));
+    }
+
+    private static StripeException rateLimited(String retryAfter) {
+        StripeError error = new StripeError();
+        error.setLastResponse(new StripeResponse(429, HttpHeaders.of(Map.of("Retry-After", List.of(retryAfter))), "{}"));
+        StripeException exception = new ApiException("Too many requests", "req_123", null, 429, null);
+        exception.setStripeError(error);
+        return exception;
+    }
+
+    private static TaskResponseGetter.Retry retry(int maxAttempts) {
+        return new TaskResponseGetter.Retry(maxAttempts, Duration.ofMillis(10), Duration.ofMillis(50), Duration.ofSeconds(30), true);
+    }
+
+    private StripeClient client(RunContext runContext, TaskResponseGetter.Retry retry) {
+        LiveStripeResponseGetter live = new LiveStripeResponseGetter(
+            new ResponseGetterOptions("sk_test_local", "http://localhost:" + server.getAddress().getPort(), 5000, 5000),
+            null
+        );
+        return new StripeClient(new TaskResponseGetter(live, runContext, null, null, Integer.MAX_VALUE, retry));
+    }
+
+    private static AbstractMetricEntry<?> metric(RunContext runContext, String name, String... tag) {
+        return runContext.metrics().stream()
+            .filter(metric -> metric.getName().equals(name))
+            .filter(metric -> tag.length == 0 || tag[1].equals(metric.getTags().get(tag[0])))
+            .findFirst()
+            .orElse(null);
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+}
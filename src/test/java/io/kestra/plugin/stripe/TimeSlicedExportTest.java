@@ -0,0 +1,126 @@
+package io.kestra.plugin.stripe;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.plugin.stripe.payment.ListIntents;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class TimeSlicedExportTest {
+    private static final Instant FROM = Instant.parse("2025-01-01T00:00:00Z");
+    private static final Instant TO = Instant.parse("2025-01-01T01:00:00Z");
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private StripeStandIn standIn;
+
+    @BeforeEach
+    void start() throws Exception {
+        standIn = StripeStandIn.start();
+    }
+
+    @AfterEach
+    void stop() {
+        standIn.close();
+    }
+
+    @Test
+    void exportsEveryCustomerOnceAcrossWindowEdges() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        // 7201 customers over 3600 seconds: two or three share each second, including every window edge
+        List<String> seeded = standIn.seedCustomers(7201, FROM, TO);
+        standIn.seedCustomers(10, TO.plusSeconds(60), TO.plusSeconds(120));
+
+        io.kestra.plugin.stripe.customer.List.Output output = io.kestra.plugin.stripe.customer.List.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .createdAfter(Property.ofValue(FROM.atZone(ZoneOffset.UTC)))
+            .createdBefore(Property.ofValue(TO.plusSeconds(1).atZone(ZoneOffset.UTC)))
+            .windows(Property.ofValue(7))
+            .fields(Property.ofValue(List.of("id", "created")))
+            .build()
+            .run(runContext);
+
+        List<Map<?, ?>> rows = rows(runContext, output.getUri());
+        assertThat(output.getTotalCount(), is(7201));
+        assertThat(rows.stream().map(row -> row.get("id")).toList(), containsInAnyOrder(seeded.toArray()));
+
+        // Newest first, like a sequential export
+        List<Long> created = rows.stream().map(row -> ((Number) row.get("created")).longValue()).toList();
+        assertThat(created, is(created.stream().sorted((a, b) -> Long.compare(b, a)).toList()));
+    }
+
+    @Test
+    void storesOneFilePerWindow() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        for (int minute = 0; minute < 60; minute++) {
+            standIn.seedSucceededPaymentIntent(1000, "usd", FROM.plusSeconds(minute * 60L));
+        }
+
+        ListIntents.Output output = ListIntents.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .createdAfter(Property.ofValue(FROM.atZone(ZoneOffset.UTC)))
+            .createdBefore(Property.ofValue(TO.atZone(ZoneOffset.UTC)))
+            .windows(Property.ofValue(4))
+            .filePerWindow(Property.ofValue(true))
+            .build()
+            .run(runContext);
+
+        assertThat(output.getCount(), is(60));
+        assertThat(output.getUri(), nullValue());
+        assertThat(output.getUris(), hasSize(4));
+
+        List<Integer> sizes = new ArrayList<>();
+        for (URI uri : output.getUris()) {
+            sizes.add(rows(runContext, uri).size());
+        }
+        assertThat(sizes, contains(15, 15, 15, 15));
+    }
+
+    @Test
+    void rejectsLimitWithWindows() {
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class, () -> io.kestra.plugin.stripe.customer.List.builder()
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .createdAfter(Property.ofValue(FROM.atZone(ZoneOffset.UTC)))
+            .windows(Property.ofValue(4))
+            .limit(Property.ofValue(10))
+            .build()
+            .run(runContextFactory.of()));
+
+        assertThat(e.getMessage(), containsString("limit and windows"));
+        assertThat(standIn.requestCount(), is(0));
+    }
+
+    private static List<Map<?, ?>> rows(RunContext runContext, URI uri) throws Exception {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(uri)))) {
+            return FileSerde.readAll(reader)
+                .map(row -> (Map<?, ?>) row)
+                .collectList()
+                .block();
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.kestra.plugin.stripe;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class TokenBucketTest {
+
+    @Test
+    void queuesRequestsAboveTheBudget() {
+        TokenBucket bucket = new TokenBucket(10);
+        long now = System.nanoTime();
+
+        // One second of burst is available immediately
+        for (int i = 0; i < 10; i++) {
+            assertThat(bucket.reserve(now), is(0L));
+        }
+
+        // Further requests are spaced by 1/10th of a second each
+        assertThat(bucket.reserve(now), is(TimeUnit.MILLISECONDS.toNanos(100)));
+        assertThat(bucket.reserve(now), is(TimeUnit.MILLISECONDS.toNanos(200)));
+    }
+
+    @Test
+    void refillsOverTime() {
+        TokenBucket bucket = new TokenBucket(10);
+        long now = System.nanoTime();
+
+        for (int i = 0; i < 10; i++) {
+            bucket.reserve(now);
+        }
+
+        assertThat(bucket.reserve(now + TimeUnit.MILLISECONDS.toNanos(100)), is(0L));
+        assertThat(bucket.reserve(now + TimeUnit.MILLISECONDS.toNanos(100)), greaterThan(0L));
+    }
+
+    @Test
+    void defaultsToStripeBudgetForTheKeyMode() {
+        assertThat(TokenBucket.defaultRequestsPerSecond("sk_live_abc"), is(TokenBucket.LIVE_MODE_REQUESTS_PER_SECOND));
+        assertThat(TokenBucket.defaultRequestsPerSecond("rk_live_abc"), is(TokenBucket.LIVE_MODE_REQUESTS_PER_SECOND));
+        assertThat(TokenBucket.defaultRequestsPerSecond("sk_test_abc"), is(TokenBucket.TEST_MODE_REQUESTS_PER_SECOND));
+    }
+
+    @Test
+    void sharesBucketPerApiKey() {
+        assertThat(TokenBucket.of("sk_test_shared", null), sameInstance(TokenBucket.of("sk_test_shared", null)));
+        assertThat(TokenBucket.of("sk_test_shared", null), not(sameInstance(TokenBucket.of("sk_test_other", null))));
+    }
+
+    @Test
+    void sharesBucketAcrossBudgetsOfTheSameAccount() {
+        TokenBucket bucket = TokenBucket.of("sk_test_budget", 10);
+
+        assertThat(TokenBucket.of("sk_test_budget", 5), sameInstance(bucket));
+        assertThat(bucket.requestsPerSecond(), is(5));
+
+        // A task without an explicit budget keeps the one already set
+        assertThat(TokenBucket.of("sk_test_budget", null), sameInstance(bucket));
+        assertThat(bucket.requestsPerSecond(), is(5));
+    }
+
+    @Test
+    void lowerBudgetCapsAccruedPermits() {
+        TokenBucket bucket = new TokenBucket(10);
+        long now = System.nanoTime();
+
+        bucket.rate(2, now);
+
+        assertThat(bucket.reserve(now), is(0L));
+        assertThat(bucket.reserve(now), is(0L));
+        assertThat(bucket.reserve(now), is(TimeUnit.MILLISECONDS.toNanos(500)));
+    }
+
+    @Test
+    void evictsIdleAndLeastRecentlyUsedBuckets() {
+        TokenBucket.clear();
+        long now = System.nanoTime();
+
+        TokenBucket.of("sk_test_idle", null, now);
+        TokenBucket.of("sk_test_active", null, now + TokenBucket.IDLE_TIMEOUT.toNanos());
+        TokenBucket.of("sk_test_active", null, now + TokenBucket.IDLE_TIMEOUT.toNanos() + 1);
+        assertThat(TokenBucket.size(), is(1));
+
+        for (int i = 0; i < TokenBucket.MAX_SIZE + 10; i++) {
+            TokenBucket.of("sk_test_" + i, null, now + TokenBucket.IDLE_TIMEOUT.toNanos() + 2 + i);
+        }
+        assertThat(TokenBucket.size(), is(TokenBucket.MAX_SIZE));
+        TokenBucket.clear();
+    }
+}
@@ -1,9 +1,6 @@
 package io.kestra.plugin.stripe.balance;
 
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.condition.DisabledIf;
-
-import com.stripe.Stripe;
 
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
@@ -15,10 +12,6 @@ import jakarta.inject.Inject;
 import static org.junit.jupiter.api.Assertions.*;
 
 @KestraTest
-@DisabledIf(
-    value = "canNotBeEnabled",
-    disabledReason = "Needs Stripe API key to work"
-)
 class RetrieveTest extends AbstractStripeTest {
 
     @Inject
@@ -27,7 +20,8 @@ class RetrieveTest extends AbstractStripeTest {
     @Test
     void run() throws Exception {
         Retrieve task = Retrieve.builder()
-            .apiKey(Property.ofValue(Stripe.apiKey))
+            .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
             .build();
 
         var runContext = runContextFactory.of();
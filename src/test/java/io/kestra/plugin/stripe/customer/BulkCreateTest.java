@@ -0,0 +1,133 @@
+package io.kestra.plugin.stripe.customer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.utils.Await;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.plugin.stripe.AbstractStripeTest;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class BulkCreateTest extends AbstractStripeTest {
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void testBulkCreateCustomers() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        standIn.latency(Duration.ofMillis(20));
+
+        BulkCreate task = BulkCreate.builder()
+            .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
+            .from(List.of(
+                Map.of("name", "Bulk User 1", "email", "bulk1@example.com", "metadata", Map.of("plan", "pro")),
+                Map.of("name", "Bulk User 2", "email", "bulk2@example.com"),
+                Map.of("email", "missing-name@example.com"),
+                Map.of("name", "Bulk User 4", "email", "bulk4@example.com"),
+                Map.of("name", "Bulk User 5", "email", "bulk5@example.com")
+            ))
+            .concurrency(Property.ofValue(3))
+            .build();
+
+        BulkCreate.Output output = task.run(runContext);
+
+        assertThat(output.getSuccessCount(), is(4L));
+        assertThat(output.getFailureCount(), is(1L));
+        assertThat(output.getSkippedCount(), is(0L));
+
+        List<Map<String, Object>> results = rows(runContext, output.getUri());
+        assertThat(results.stream().map(result -> ((Map<?, ?>) result.get("row")).get("email")).toList(), contains(
+            "bulk1@example.com", "bulk2@example.com", "missing-name@example.com", "bulk4@example.com", "bulk5@example.com"
+        ));
+        for (int i : List.of(0, 1, 3, 4)) {
+            assertThat(results.get(i).get("error"), nullValue());
+            assertThat((String) results.get(i).get("customerId"), startsWith("cus_"));
+        }
+        assertThat((String) results.get(2).get("error"), containsString("Field 'name' is required"));
+        assertThat(results.get(2), not(hasKey("customerId")));
+
+        assertThat(standIn.requests().stream().filter(request -> request.method().equals("POST")).count(), is(4L));
+        assertThat(
+            standIn.requests().stream().filter(request -> "Bulk User 1".equals(request.params().get("name"))).findFirst().orElseThrow().params().get("metadata"),
+            is(Map.of("plan", "pro"))
+        );
+    }
+
+    @Test
+    void retriedTaskSkipsCustomersCreatedBeforeTheFailure() throws Exception {
+        RunContext runContext = runContextFactory.of(Map.of(
+            "flow", Map.of("tenantId", "main", "namespace", "io.kestra.tests", "id", "bulk_create"),
+            "execution", Map.of("id", IdUtils.create()),
+            "taskrun", Map.of("id", IdUtils.create())
+        ));
+        standIn.latency(Duration.ofMillis(20));
+
+        BulkCreate task = BulkCreate.builder()
+            .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
+            .from(IntStream.range(0, 40).mapToObj(i -> Map.of("name", "Resumed " + i)).toList())
+            .concurrency(Property.ofValue(2))
+            .build();
+
+        // The first attempt is interrupted midway, as when its worker shuts down
+        CompletableFuture<BulkCreate.Output> firstAttempt = new CompletableFuture<>();
+        Thread worker = Thread.ofPlatform().start(() -> {
+            try {
+                firstAttempt.complete(task.run(runContext));
+            } catch (Throwable e) {
+                firstAttempt.completeExceptionally(e);
+            }
+        });
+        Await.until(() -> standIn.requestCount() >= 10, Duration.ofMillis(10), Duration.ofSeconds(10));
+        worker.interrupt();
+        assertThrows(ExecutionException.class, () -> firstAttempt.get(10, TimeUnit.SECONDS));
+        int firstAttemptRequests = standIn.requestCount();
+        assertThat(firstAttemptRequests, lessThan(40));
+
+        BulkCreate.Output output = task.run(runContext);
+
+        assertThat(output.getSkippedCount(), greaterThan(0L));
+        assertThat(output.getSuccessCount() + output.getSkippedCount(), is(40L));
+        assertThat(output.getFailureCount(), is(0L));
+        assertThat((long) (standIn.requestCount() - firstAttemptRequests), is(output.getSuccessCount()));
+
+        List<Map<String, Object>> results = rows(runContext, output.getUri());
+        assertThat(results, hasSize(40));
+        for (int i = 0; i < 40; i++) {
+            assertThat(((Map<?, ?>) results.get(i).get("row")).get("name"), is("Resumed " + i));
+            assertThat(results.get(i).get("error"), nullValue());
+        }
+        assertThat(results.getFirst().get("skipped"), is(true));
+        assertThat(results.getLast().get("skipped"), nullValue());
+        assertThat(results.stream().filter(result -> Boolean.TRUE.equals(result.get("skipped"))).count(), is(output.getSkippedCount()));
+
+        // Rows in flight when the first attempt stopped are replayed with their idempotency key, never created twice
+        assertThat(results.stream().map(result -> result.get("customerId")).distinct().count(), is(40L));
+        assertThat(io.kestra.plugin.stripe.customer.List.builder()
+            .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
+            .limit(Property.ofValue(100))
+            .build()
+            .run(runContextFactory.of())
+            .getTotalCount(), is(40));
+    }
+}
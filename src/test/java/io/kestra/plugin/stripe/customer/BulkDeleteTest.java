@@ -0,0 +1,61 @@
+package io.kestra.plugin.stripe.customer;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.stripe.AbstractStripeTest;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+class BulkDeleteTest extends AbstractStripeTest {
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void testBulkDeleteCustomers() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        List<String> customerIds = standIn.seedCustomers(3);
+
+        BulkDelete task = BulkDelete.builder()
+            .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
+            .from(List.of(
+                Map.of("customerId", customerIds.get(0)),
+                Map.of("customerId", "cus_does_not_exist"),
+                Map.of("customerId", customerIds.get(1)),
+                Map.of("customerId", customerIds.get(2))
+            ))
+            .concurrency(Property.ofValue(2))
+            .build();
+
+        BulkDelete.Output output = task.run(runContext);
+
+        assertThat(output.getSuccessCount(), is(3L));
+        assertThat(output.getFailureCount(), is(1L));
+        assertThat(output.getSkippedCount(), is(0L));
+
+        List<Map<String, Object>> results = rows(runContext, output.getUri());
+        assertThat(results.stream().map(result -> ((Map<?, ?>) result.get("row")).get("customerId")).toList(), contains(
+            customerIds.get(0), "cus_does_not_exist", customerIds.get(1), customerIds.get(2)
+        ));
+        for (int i : List.of(0, 2, 3)) {
+            assertThat(results.get(i).get("deleted"), is(true));
+            assertThat(results.get(i).get("error"), nullValue());
+        }
+        assertThat((String) results.get(1).get("error"), containsString("No such customer: 'cus_does_not_exist'"));
+        assertThat(results.get(1), not(hasKey("deleted")));
+
+        assertThat(standIn.requests().stream().filter(request -> request.method().equals("DELETE")).count(), is(4L));
+    }
+}
@@ -0,0 +1,64 @@
+package io.kestra.plugin.stripe.customer;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.stripe.AbstractStripeTest;
+import io.kestra.plugin.stripe.StripeStandIn;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+class BulkGetTest extends AbstractStripeTest {
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void testBulkGetCustomersDeduplicatesIds() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        List<String> customerIds = standIn.seedCustomers(2);
+        String first = customerIds.get(0);
+        String second = customerIds.get(1);
+
+        BulkGet task = BulkGet.builder()
+            .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
+            .from(List.of(first, "cus_does_not_exist", first, Map.of("customerId", second), first, "cus_does_not_exist"))
+            .concurrency(Property.ofValue(3))
+            .build();
+
+        BulkGet.Output output = task.run(runContext);
+
+        assertThat(output.getInputCount(), is(6L));
+        assertThat(output.getUniqueCount(), is(3L));
+        assertThat(output.getSuccessCount(), is(2L));
+        assertThat(output.getFailureCount(), is(1L));
+
+        // One call per distinct ID, however often it is repeated
+        List<String> retrieved = standIn.requests().stream()
+            .filter(request -> request.method().equals("GET"))
+            .map(StripeStandIn.Request::path)
+            .toList();
+        assertThat(retrieved, containsInAnyOrder("/v1/customers/" + first, "/v1/customers/cus_does_not_exist", "/v1/customers/" + second));
+
+        List<Map<String, Object>> results = rows(runContext, output.getUri());
+        assertThat(results, hasSize(3));
+        assertThat(results.get(0).get("row"), is(Map.of("customerId", first, "rows", List.of(0, 2, 4))));
+        assertThat(((Map<?, ?>) results.get(0).get("customer")).get("id"), is(first));
+        assertThat(results.get(0).get("error"), nullValue());
+        assertThat(results.get(1).get("row"), is(Map.of("customerId", "cus_does_not_exist", "rows", List.of(1, 5))));
+        assertThat((String) results.get(1).get("error"), containsString("No such customer"));
+        assertThat(results.get(2).get("row"), is(Map.of("customerId", second, "rows", List.of(3))));
+        assertThat(((Map<?, ?>) results.get(2).get("customer")).get("email"), is("seeded1@example.com"));
+    }
+}
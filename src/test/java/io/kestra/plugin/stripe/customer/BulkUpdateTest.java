@@ -0,0 +1,67 @@
+package io.kestra.plugin.stripe.customer;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.plugin.stripe.AbstractStripeTest;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+class BulkUpdateTest extends AbstractStripeTest {
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void testBulkUpdateCustomers() throws Exception {
+        RunContext runContext = runContextFactory.of();
+        List<String> customerIds = standIn.seedCustomers(2);
+
+        BulkUpdate task = BulkUpdate.builder()
+            .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
+            .from(List.of(
+                Map.of("customerId", customerIds.get(0), "metadata", Map.of("plan", "enterprise")),
+                Map.of("customerId", "cus_does_not_exist"),
+                Map.of("id", customerIds.get(1), "email", "bulk-update@example.com"),
+                Map.of("name", "No ID")
+            ))
+            .concurrency(Property.ofValue(2))
+            .build();
+
+        BulkUpdate.Output output = task.run(runContext);
+
+        assertThat(output.getSuccessCount(), is(2L));
+        assertThat(output.getFailureCount(), is(2L));
+        assertThat(output.getSkippedCount(), is(0L));
+
+        List<Map<String, Object>> results = rows(runContext, output.getUri());
+        assertThat(results, hasSize(4));
+        assertThat(results.get(0).get("customerId"), is(customerIds.get(0)));
+        assertThat(results.get(0).get("error"), nullValue());
+        assertThat((String) results.get(1).get("error"), containsString("No such customer: 'cus_does_not_exist'"));
+        assertThat(results.get(2).get("customerId"), is(customerIds.get(1)));
+        assertThat(results.get(2).get("error"), nullValue());
+        assertThat((String) results.get(3).get("error"), containsString("Field 'customerId' is required"));
+        assertThat(((Map<?, ?>) results.get(3).get("row")).get("name"), is("No ID"));
+
+        Map<String, Object> updated = Get.builder()
+            .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
+            .customerId(Property.ofValue(customerIds.get(0)))
+            .build()
+            .run(runContext)
+            .getCustomerData();
+        assertThat(updated.get("metadata"), is(Map.of("plan", "enterprise")));
+    }
+}
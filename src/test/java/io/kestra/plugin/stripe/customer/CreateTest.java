@@ -3,7 +3,6 @@ package io.kestra.plugin.stripe.customer;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.condition.DisabledIf;
 
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
@@ -17,10 +16,6 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 @KestraTest
-@DisabledIf(
-    value = "canNotBeEnabled",
-    disabledReason = "Needs Stripe API key to work"
-)
 class CreateTest extends AbstractStripeTest {
 
     @Inject
@@ -32,8 +27,10 @@ class CreateTest extends AbstractStripeTest {
 
         Create task = Create.builder()
             .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
             .name(Property.ofValue("Test User"))
             .email(Property.ofValue("testuser@example.com"))
+            .includeFullCustomerData(Property.ofValue(true))
             .metadata(
                 Property.ofValue(
                     Map.of(
@@ -62,12 +59,15 @@ class CreateTest extends AbstractStripeTest {
 
         Create task = Create.builder()
             .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
+            .name(Property.ofValue("Minimal User"))
             .email(Property.ofValue("minimal@example.com"))
             .build();
 
         Create.Output output = task.run(runContext);
 
-        assertThat(output.getCustomerId(), is(notNullValue()));
-        assertThat(output.getCustomerData().get("email"), is("minimal@example.com"));
+        // Only the ID is returned unless the full customer is requested
+        assertThat(output.getCustomerId(), startsWith("cus_"));
+        assertThat(output.getCustomerData(), is(nullValue()));
     }
 }
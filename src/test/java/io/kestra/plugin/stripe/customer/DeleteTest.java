@@ -1,7 +1,6 @@
 package io.kestra.plugin.stripe.customer;
 
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.condition.DisabledIf;
 
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
@@ -15,10 +14,6 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 @KestraTest
-@DisabledIf(
-    value = "canNotBeEnabled",
-    disabledReason = "Needs Stripe API key to work"
-)
 class DeleteTest extends AbstractStripeTest {
 
     @Inject
@@ -31,6 +26,7 @@ class DeleteTest extends AbstractStripeTest {
         // First, create a temporary customer to delete
         Create createTask = Create.builder()
             .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
             .name(Property.ofValue("Temp Delete User"))
             .email(Property.ofValue("tempdelete@example.com"))
             .build();
@@ -42,6 +38,7 @@ class DeleteTest extends AbstractStripeTest {
         // Now delete the customer
         Delete deleteTask = Delete.builder()
             .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
             .customerId(Property.ofValue(customerId))
             .build();
 
@@ -61,6 +58,7 @@ class DeleteTest extends AbstractStripeTest {
         // Attempt to delete a non-existent customer
         Delete deleteTask = Delete.builder()
             .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
             .customerId(Property.ofValue("cus_invalid123"))
             .build();
 
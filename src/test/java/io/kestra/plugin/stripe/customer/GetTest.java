@@ -1,12 +1,16 @@
 package io.kestra.plugin.stripe.customer;
 
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.condition.DisabledIf;
 
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.JacksonMapper;
 import io.kestra.plugin.stripe.AbstractStripeTest;
 
 import jakarta.inject.Inject;
@@ -15,10 +19,6 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 @KestraTest
-@DisabledIf(
-    value = "canNotBeEnabled",
-    disabledReason = "Needs Stripe API key to work"
-)
 class GetTest extends AbstractStripeTest {
 
     @Inject
@@ -31,6 +31,7 @@ class GetTest extends AbstractStripeTest {
         // First, create a temporary customer to retrieve
         Create createTask = Create.builder()
             .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
             .name(Property.ofValue("Temp Get User"))
             .email(Property.ofValue("tempget@example.com"))
             .build();
@@ -42,6 +43,7 @@ class GetTest extends AbstractStripeTest {
         // Retrieve the customer
         Get getTask = Get.builder()
             .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
             .customerId(Property.ofValue(customerId))
             .build();
 
@@ -54,6 +56,67 @@ class GetTest extends AbstractStripeTest {
         assertThat(output.getCustomerData().get("email"), is("tempget@example.com"));
     }
 
+    @Test
+    void testGetCustomerStored() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        String customerId = Create.builder()
+            .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
+            .name(Property.ofValue("Temp Stored User"))
+            .email(Property.ofValue("tempstored@example.com"))
+            .build()
+            .run(runContext)
+            .getCustomerId();
+
+        Get getTask = Get.builder()
+            .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
+            .customerId(Property.ofValue(customerId))
+            .store(Property.ofValue(true))
+            .build();
+
+        Get.Output output = getTask.run(runContext);
+
+        assertThat(output.getCustomerId(), is(customerId));
+        assertThat(output.getCustomerData(), is(nullValue()));
+        assertThat(output.getUri(), is(notNullValue()));
+
+        try (InputStream stored = runContext.storage().getFile(output.getUri())) {
+            String json = new String(stored.readAllBytes(), StandardCharsets.UTF_8);
+            assertThat(json, containsString(customerId));
+            assertThat(json, containsString("tempstored@example.com"));
+        }
+    }
+
+    @Test
+    void testGetCustomerStoredWithFields() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        String customerId = Create.builder()
+            .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
+            .name(Property.ofValue("Temp Projected User"))
+            .email(Property.ofValue("tempprojected@example.com"))
+            .build()
+            .run(runContext)
+            .getCustomerId();
+
+        Get.Output output = Get.builder()
+            .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
+            .customerId(Property.ofValue(customerId))
+            .store(Property.ofValue(true))
+            .fields(Property.ofValue(java.util.List.of("id", "email")))
+            .build()
+            .run(runContext);
+
+        try (InputStream stored = runContext.storage().getFile(output.getUri())) {
+            Map<?, ?> customer = JacksonMapper.ofJson().readValue(stored, Map.class);
+            assertThat(customer, is(Map.of("id", customerId, "email", "tempprojected@example.com")));
+        }
+    }
+
     @Test
     void testGetCustomerInvalidId() throws Exception {
         RunContext runContext = runContextFactory.of();
@@ -61,6 +124,7 @@ class GetTest extends AbstractStripeTest {
         // Attempt to retrieve a non-existent customer
         Get getTask = Get.builder()
             .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
             .customerId(Property.ofValue("cus_invalid123"))
             .build();
 
@@ -0,0 +1,84 @@
+package io.kestra.plugin.stripe.customer;
+
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.Test;
+
+import com.stripe.model.CustomerCollection;
+import com.stripe.net.ApiResource;
+import com.stripe.net.HttpHeaders;
+import com.stripe.net.StripeResponse;
+import com.sun.management.ThreadMXBean;
+
+import io.kestra.plugin.stripe.StripeJson;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+class ListConversionTest {
+    private static final ThreadMXBean THREADS = (ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void convertsEachCustomerOfThePage() throws Exception {
+        java.util.List<Map<String, Object>> converted = StripeJson.elements(page(100), null);
+
+        assertThat(converted, hasSize(100));
+        for (int i = 0; i < converted.size(); i++) {
+            Map<String, Object> customer = converted.get(i);
+            assertThat(customer.get("id"), is("cus_" + i));
+            assertThat(customer.get("object"), is("customer"));
+            assertThat(customer.get("email"), is("user" + i + "@example.com"));
+            assertThat(customer.get("balance"), is(i));
+            assertThat(((Map<?, ?>) customer.get("metadata")).get("index"), is(String.valueOf(i)));
+            assertThat(customer, not(hasKey("data")));
+        }
+    }
+
+    /**
+     * Compares the heap allocated per customer rather than the time, which depends on the machine: a linear conversion
+     * allocates about the same per customer for any page size, while parsing the page once per customer allocates about
+     * ten times more per customer for a page ten times larger.
+     */
+    @Test
+    void allocationPerCustomerDoesNotGrowWithThePageSize() throws Exception {
+        CustomerCollection small = page(100);
+        CustomerCollection large = page(1000);
+
+        // Warm up so that the comparison is not dominated by class loading and the first compilations
+        for (int i = 0; i < 5; i++) {
+            allocatedBytes(small);
+            allocatedBytes(large);
+        }
+
+        long smallPerCustomer = allocatedBytes(small) / 100;
+        long largePerCustomer = allocatedBytes(large) / 1000;
+
+        assertThat(largePerCustomer, lessThan(smallPerCustomer * 3));
+    }
+
+    private static long allocatedBytes(CustomerCollection page) throws Exception {
+        long before = THREADS.getCurrentThreadAllocatedBytes();
+        StripeJson.elements(page, null);
+        return THREADS.getCurrentThreadAllocatedBytes() - before;
+    }
+
+    /**
+     * Builds a list page the way the SDK returns it: the page and every element carry the response of the whole page.
+     */
+    private static CustomerCollection page(int size) {
+        java.util.List<String> customers = IntStream.range(0, size)
+            .mapToObj(i -> """
+                {"id": "cus_%d", "object": "customer", "balance": %d, "created": 1700000000, "email": "user%d@example.com", "livemode": false, "metadata": {"index": "%d"}, "name": "User %d"}
+                """.formatted(i, i, i, i, i).strip())
+            .toList();
+        String body = "{\"object\": \"list\", \"url\": \"/v1/customers\", \"has_more\": false, \"data\": [" + String.join(",", customers) + "]}";
+        StripeResponse response = new StripeResponse(200, HttpHeaders.of(Map.of()), body);
+
+        CustomerCollection page = ApiResource.GSON.fromJson(body, CustomerCollection.class);
+        page.setLastResponse(response);
+        page.getData().forEach(customer -> customer.setLastResponse(response));
+        return page;
+    }
+}
@@ -1,14 +1,17 @@
 package io.kestra.plugin.stripe.customer;
 
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.condition.DisabledIf;
 
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
+import io.kestra.core.models.tasks.common.FetchType;
 import io.kestra.core.runners.RunContext;
 import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
 import io.kestra.plugin.stripe.AbstractStripeTest;
 
 import jakarta.inject.Inject;
@@ -17,10 +20,6 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 @KestraTest
-@DisabledIf(
-    value = "canNotBeEnabled",
-    disabledReason = "Needs Stripe API key to work"
-)
 class ListTest extends AbstractStripeTest {
 
     @Inject
@@ -33,6 +32,7 @@ class ListTest extends AbstractStripeTest {
         // Create a temporary customer to ensure at least one exists
         Create createTask = Create.builder()
             .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
             .name(Property.ofValue("Temp List User"))
             .email(Property.ofValue("templist@example.com"))
             .build();
@@ -43,6 +43,7 @@ class ListTest extends AbstractStripeTest {
         // List customers
         List listTask = List.builder()
             .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
             .limit(Property.ofValue(5))
             .build();
 
@@ -66,6 +67,7 @@ class ListTest extends AbstractStripeTest {
         String uniqueEmail = "filtertest+" + System.currentTimeMillis() + "@example.com";
         Create createTask = Create.builder()
             .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
             .name(Property.ofValue("Filter Test User"))
             .email(Property.ofValue(uniqueEmail))
             .build();
@@ -76,6 +78,7 @@ class ListTest extends AbstractStripeTest {
         // List customers filtered by email
         List listTask = List.builder()
             .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
             .email(Property.ofValue(uniqueEmail))
             .build();
 
@@ -86,4 +89,54 @@ class ListTest extends AbstractStripeTest {
         Map<String, Object> customer = output.getCustomers().get(0);
         assertThat(customer.get("email"), is(uniqueEmail));
     }
+
+    @Test
+    void testListCustomersStore() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        Create createTask = Create.builder()
+            .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
+            .name(Property.ofValue("Temp Store User"))
+            .email(Property.ofValue("tempstore@example.com"))
+            .build();
+
+        Create.Output created = createTask.run(runContext);
+        assertThat(created.getCustomerId(), is(notNullValue()));
+
+        // Stream customers into internal storage instead of the output
+        List listTask = List.builder()
+            .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
+            .fetchType(Property.ofValue(FetchType.STORE))
+            .limit(Property.ofValue(5))
+            .build();
+
+        List.Output output = listTask.run(runContext);
+
+        assertThat(output.getUri(), is(notNullValue()));
+        assertThat(output.getCustomers(), is(nullValue()));
+        assertThat(output.getTotalCount(), greaterThan(0));
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getUri())))) {
+            java.util.List<Object> rows = FileSerde.readAll(reader).collectList().block();
+            assertThat(rows, hasSize(output.getTotalCount()));
+        }
+    }
+
+    @Test
+    void testListCustomersFetchOne() throws Exception {
+        RunContext runContext = runContextFactory.of();
+
+        List listTask = List.builder()
+            .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
+            .fetchType(Property.ofValue(FetchType.FETCH_ONE))
+            .build();
+
+        List.Output output = listTask.run(runContext);
+
+        assertThat(output.getCustomer(), is(notNullValue()));
+        assertThat(output.getTotalCount(), is(1));
+    }
 }
@@ -3,7 +3,6 @@ package io.kestra.plugin.stripe.customer;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.condition.DisabledIf;
 
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
@@ -17,10 +16,6 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 @KestraTest
-@DisabledIf(
-    value = "canNotBeEnabled",
-    disabledReason = "Needs Stripe API key to work"
-)
 class UpdateTest extends AbstractStripeTest {
 
     @Inject
@@ -33,6 +28,7 @@ class UpdateTest extends AbstractStripeTest {
         // First, create a temporary customer to update
         Create createTask = Create.builder()
             .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
             .name(Property.ofValue("Temp User"))
             .email(Property.ofValue("tempuser@example.com"))
             .metadata(Property.ofValue(Map.of("plan", "trial")))
@@ -45,6 +41,7 @@ class UpdateTest extends AbstractStripeTest {
         // Now update the customer
         Update updateTask = Update.builder()
             .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
             .customerId(Property.ofValue(customerId))
             .name(Property.ofValue("Updated User"))
             .metadata(
@@ -77,6 +74,8 @@ class UpdateTest extends AbstractStripeTest {
         // Create a temporary customer
         Create createTask = Create.builder()
             .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
+            .name(Property.ofValue("Minimal Update User"))
             .email(Property.ofValue("minimalupdate@example.com"))
             .build();
 
@@ -87,6 +86,7 @@ class UpdateTest extends AbstractStripeTest {
         // Update only the email to same value (minimal update)
         Update updateTask = Update.builder()
             .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
             .customerId(Property.ofValue(customerId))
             .build();
 
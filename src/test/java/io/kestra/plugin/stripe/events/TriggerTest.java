@@ -0,0 +1,114 @@
+package io.kestra.plugin.stripe.events;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.core.utils.TestsUtils;
+import io.kestra.plugin.stripe.StripeStandIn;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+class TriggerTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private StripeStandIn standIn;
+
+    @BeforeEach
+    void start() throws Exception {
+        standIn = StripeStandIn.start();
+    }
+
+    @AfterEach
+    void stop() {
+        standIn.close();
+    }
+
+    @Test
+    void emitsNewEventsInBatchesFromTheSavedPosition() throws Exception {
+        standIn.seedEvent("invoice.paid", Map.of("id", "in_before"));
+
+        Trigger trigger = Trigger.builder()
+            .id("events_" + IdUtils.create())
+            .type(Trigger.class.getName())
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .types(Property.ofValue(List.of("invoice.paid")))
+            .batchSize(Property.ofValue(2))
+            .build();
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(runContextFactory, trigger);
+
+        // The first poll only records the position
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+
+        String first = standIn.seedEvent("invoice.paid", Map.of("id", "in_1"));
+        standIn.seedEvent("customer.created", Map.of("id", "cus_1"));
+        String second = standIn.seedEvent("invoice.paid", Map.of("id", "in_2"));
+        String third = standIn.seedEvent("invoice.paid", Map.of("id", "in_3"));
+
+        Execution firstBatch = trigger.evaluate(context.getKey(), context.getValue()).orElseThrow();
+        assertThat(firstBatch.getTrigger().getVariables().get("count"), is(2));
+        assertThat(firstBatch.getTrigger().getVariables().get("hasMore"), is(true));
+        assertThat(eventIds(context.getKey(), firstBatch), contains(first, second));
+
+        Execution secondBatch = trigger.evaluate(context.getKey(), context.getValue()).orElseThrow();
+        assertThat(secondBatch.getTrigger().getVariables().get("count"), is(1));
+        assertThat(eventIds(context.getKey(), secondBatch), contains(third));
+
+        Optional<Execution> none = trigger.evaluate(context.getKey(), context.getValue());
+        assertThat(none.isPresent(), is(false));
+    }
+
+    @Test
+    void restartsFromTheLatestEventWhenTheSavedOneExpired() throws Exception {
+        String saved = standIn.seedEvent("invoice.paid", Map.of("id", "in_saved"));
+
+        Trigger trigger = Trigger.builder()
+            .id("events_" + IdUtils.create())
+            .type(Trigger.class.getName())
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .types(Property.ofValue(List.of("invoice.paid")))
+            .build();
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(runContextFactory, trigger);
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+
+        // The saved event falls out of Stripe's 30 days while the trigger is disabled
+        standIn.seedEvent("invoice.paid", Map.of("id", "in_missed"));
+        standIn.expireEvent(saved);
+        assertThat(trigger.evaluate(context.getKey(), context.getValue()).isPresent(), is(false));
+
+        String next = standIn.seedEvent("invoice.paid", Map.of("id", "in_next"));
+        Execution execution = trigger.evaluate(context.getKey(), context.getValue()).orElseThrow();
+        assertThat(eventIds(context.getKey(), execution), contains(next));
+    }
+
+    private static List<Object> eventIds(ConditionContext conditionContext, Execution execution) throws Exception {
+        URI uri = URI.create((String) execution.getTrigger().getVariables().get("uri"));
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(conditionContext.getRunContext().storage().getFile(uri)))) {
+            return FileSerde.readAll(reader)
+                .map(row -> ((Map<?, ?>) row).get("id"))
+                .collectList()
+                .block();
+        }
+    }
+}
@@ -1,7 +1,6 @@
 package io.kestra.plugin.stripe.payment;
 
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.condition.DisabledIf;
 
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
@@ -15,10 +14,6 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 @KestraTest
-@DisabledIf(
-    value = "canNotBeEnabled",
-    disabledReason = "Needs Stripe API key to work"
-)
 class AttachMethodTest extends AbstractStripeTest {
 
     @Inject
@@ -27,19 +22,35 @@ class AttachMethodTest extends AbstractStripeTest {
     @Test
     void attachPaymentMethod() throws Exception {
         RunContext runContext = runContextFactory.of();
+        String customerId = standIn.seedCustomers(1).getFirst();
+        String paymentMethodId = createCard(runContext);
 
-        // Use actual test IDs from your Stripe test account
         AttachMethod task = AttachMethod.builder()
             .apiKey(Property.ofValue(getApiKey()))
-            .paymentMethodId(Property.ofValue("pm_test_id"))
-            .customerId(Property.ofValue("cus_test_id"))
+            .apiBase(Property.ofValue(getApiBase()))
+            .paymentMethodId(Property.ofValue(paymentMethodId))
+            .customerId(Property.ofValue(customerId))
             .build();
 
         AttachMethod.Output output = task.run(runContext);
 
-        assertThat(output.getPaymentMethodId(), is(notNullValue()));
-        assertThat(output.getCustomerId(), is("cus_test_id"));
-        assertThat(output.getType(), is(notNullValue()));
-        assertThat(output.getPaymentMethodData(), is(notNullValue()));
+        assertThat(output.getPaymentMethodId(), is(paymentMethodId));
+        assertThat(output.getCustomerId(), is(customerId));
+        assertThat(output.getType(), is("card"));
+        assertThat(output.getPaymentMethodData().get("customer"), is(customerId));
+    }
+
+    private String createCard(RunContext runContext) throws Exception {
+        return CreateMethod.builder()
+            .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
+            .paymentMethodType(Property.ofValue("card"))
+            .cardNumber(Property.ofValue("4242424242424242"))
+            .expMonth(Property.ofValue(12L))
+            .expYear(Property.ofValue(2030L))
+            .cvc(Property.ofValue("123"))
+            .build()
+            .run(runContext)
+            .getPaymentMethodId();
     }
 }
@@ -0,0 +1,139 @@
+package io.kestra.plugin.stripe.payment;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.plugin.stripe.StripeStandIn;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class BulkRefundTest {
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private StripeStandIn standIn;
+
+    @BeforeEach
+    void start() throws Exception {
+        standIn = StripeStandIn.start();
+    }
+
+    @AfterEach
+    void stop() {
+        standIn.close();
+    }
+
+    @Test
+    void refundsEveryRowAndTotalsPerCurrency() throws Exception {
+        String usd = paymentIntent(1000, "usd");
+        String partial = paymentIntent(500, "usd");
+        String eur = paymentIntent(700, "eur");
+        RunContext runContext = runContextFactory.of();
+
+        BulkRefund.Output output = task(List.of(
+            Map.of("paymentIntentId", usd),
+            Map.of("paymentIntentId", partial, "amount", 200),
+            Map.of("paymentIntentId", eur),
+            Map.of("paymentIntentId", eur, "amount", 100),
+            Map.of("amount", 100)
+        )).run(runContext);
+
+        assertThat(output.getSuccessCount(), is(3L));
+        assertThat(output.getFailureCount(), is(2L));
+        assertThat(output.getRefundedAmounts(), is(Map.of("eur", 700L, "usd", 1200L)));
+
+        List<Map<?, ?>> rows = rows(runContext, output.getUri());
+        assertThat(rows, hasSize(5));
+        assertThat(rows.get(1).get("amount"), is(200));
+        assertThat(rows.get(1).get("currency"), is("usd"));
+        assertThat(rows.get(1).get("status"), is("succeeded"));
+        assertThat((String) rows.get(2).get("refundId"), startsWith("re_"));
+        assertThat((String) rows.get(3).get("error"), containsString("greater than unrefunded amount"));
+        assertThat((String) rows.get(4).get("error"), containsString("chargeId or paymentIntentId"));
+    }
+
+    @Test
+    void retryReportsRefundsOfThePreviousAttempt() throws Exception {
+        String usd = paymentIntent(1000, "usd");
+        String partial = paymentIntent(500, "usd");
+        String eur = paymentIntent(700, "eur");
+        RunContext runContext = runContextFactory.of(Map.of(
+            "flow", Map.of("tenantId", "main", "namespace", "io.kestra.tests", "id", "incident_refunds"),
+            "execution", Map.of("id", IdUtils.create()),
+            "taskrun", Map.of("id", "refundTaskRun")
+        ));
+        String first = "{paymentIntentId:\"" + usd + "\"}\n{paymentIntentId:\"" + partial + "\",amount:200}\n";
+
+        // The first attempt dies on a corrupt row after refunding the first two payments
+        URI corrupt = upload(runContext, first + "{paymentIntentId:\n");
+        assertThrows(Exception.class, () -> task(corrupt.toString()).run(runContext));
+        int requests = standIn.requestCount();
+
+        URI input = upload(runContext, first + "{paymentIntentId:\"" + eur + "\"}\n");
+        BulkRefund.Output output = task(input.toString()).run(runContext);
+
+        assertThat(standIn.requestCount() - requests, is(1));
+        assertThat(output.getSkippedCount(), is(2L));
+        assertThat(output.getSuccessCount(), is(1L));
+        assertThat(output.getRefundedAmounts(), is(Map.of("eur", 700L, "usd", 1200L)));
+
+        List<Map<?, ?>> rows = rows(runContext, output.getUri());
+        assertThat(rows.get(0).get("skipped"), is(true));
+        assertThat((String) rows.get(0).get("refundId"), startsWith("re_"));
+        assertThat(rows.get(1).get("skipped"), is(true));
+        assertThat(rows.get(1).get("amount"), is(200));
+        assertThat(rows.get(2).get("skipped"), nullValue());
+        assertThat(rows.get(2).get("currency"), is("eur"));
+    }
+
+    private BulkRefund task(Object from) {
+        return BulkRefund.builder()
+            .id("refund_payments")
+            .type(BulkRefund.class.getName())
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .from(from)
+            .concurrency(Property.ofValue(2))
+            .build();
+    }
+
+    private String paymentIntent(long amount, String currency) {
+        return (String) standIn.seedSucceededPaymentIntent(amount, currency).get("id");
+    }
+
+    private static URI upload(RunContext runContext, String ion) throws Exception {
+        File file = runContext.workingDir().createTempFile(".ion").toFile();
+        Files.writeString(file.toPath(), ion, StandardCharsets.UTF_8);
+        return runContext.storage().putFile(file);
+    }
+
+    private static List<Map<?, ?>> rows(RunContext runContext, URI uri) throws Exception {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(uri)))) {
+            return FileSerde.readAll(reader)
+                .map(row -> (Map<?, ?>) row)
+                .collectList()
+                .block();
+        }
+    }
+}
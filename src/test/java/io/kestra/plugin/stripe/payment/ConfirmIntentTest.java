@@ -1,7 +1,6 @@
 package io.kestra.plugin.stripe.payment;
 
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.condition.DisabledIf;
 
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
@@ -15,10 +14,6 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 @KestraTest
-@DisabledIf(
-    value = "canNotBeEnabled",
-    disabledReason = "Needs Stripe API key to work"
-)
 class ConfirmIntentTest extends AbstractStripeTest {
 
     @Inject
@@ -28,16 +23,38 @@ class ConfirmIntentTest extends AbstractStripeTest {
     void run() throws Exception {
         RunContext runContext = runContextFactory.of();
 
-        // ⚠️ Requires a valid PaymentIntent ID from your Stripe test account
+        String paymentIntentId = CreateIntent.builder()
+            .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
+            .amount(Property.ofValue(1000L))
+            .currency(Property.ofValue("usd"))
+            .build()
+            .run(runContext)
+            .getPaymentIntentId();
+
+        String paymentMethodId = CreateMethod.builder()
+            .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
+            .paymentMethodType(Property.ofValue("card"))
+            .cardNumber(Property.ofValue("4242424242424242"))
+            .expMonth(Property.ofValue(12L))
+            .expYear(Property.ofValue(2030L))
+            .cvc(Property.ofValue("123"))
+            .build()
+            .run(runContext)
+            .getPaymentMethodId();
+
         ConfirmIntent task = ConfirmIntent.builder()
-            .apiKey(Property.ofValue(getApiKey())) // ✅ Wrap in Property.ofValue
-            .paymentIntentId(Property.ofValue("pi_test_123")) // ✅ Also wrap
+            .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
+            .paymentIntentId(Property.ofValue(paymentIntentId))
+            .paymentMethod(Property.ofValue(paymentMethodId))
             .build();
 
         ConfirmIntent.Output output = task.run(runContext);
 
-        assertThat(output.getPaymentIntentId(), notNullValue());
-        assertThat(output.getStatus(), not(isEmptyOrNullString()));
+        assertThat(output.getPaymentIntentId(), is(paymentIntentId));
+        assertThat(output.getStatus(), is("succeeded"));
         assertThat(output.getRaw(), containsString("payment_intent"));
     }
 }
@@ -1,7 +1,6 @@
 package io.kestra.plugin.stripe.payment;
 
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.condition.DisabledIf;
 
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
@@ -15,10 +14,6 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 @KestraTest
-@DisabledIf(
-    value = "canNotBeEnabled",
-    disabledReason = "Needs Stripe API key to work"
-)
 class CreateMethodTest extends AbstractStripeTest {
 
     @Inject
@@ -30,23 +25,22 @@ class CreateMethodTest extends AbstractStripeTest {
 
         CreateMethod task = CreateMethod.builder()
             .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
             .paymentMethodType(Property.ofValue("card"))
             .cardNumber(Property.ofValue("4242424242424242"))
             .expMonth(Property.ofValue(12L))
-            .expYear(Property.ofValue(2026L))
+            .expYear(Property.ofValue(2030L))
             .cvc(Property.ofValue("123"))
             .build();
 
         CreateMethod.Output output = task.run(runContext);
 
         assertThat(output, is(notNullValue()));
-        assertThat(output.getPaymentMethodId(), is(notNullValue()));
+        assertThat(output.getPaymentMethodId(), startsWith("pm_"));
         assertThat(output.getType(), is("card"));
         assertThat(output.getRawResponse(), is(notNullValue()));
         assertThat(output.getRawResponse(), hasKey("id"));
         assertThat(output.getRawResponse(), hasKey("type"));
         assertThat(output.getRawResponse(), hasKey("card"));
-
-        System.out.println("Created PaymentMethod: " + output.getPaymentMethodId());
     }
 }
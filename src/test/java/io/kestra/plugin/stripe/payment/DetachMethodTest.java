@@ -3,7 +3,6 @@ package io.kestra.plugin.stripe.payment;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.condition.DisabledIf;
 
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
@@ -16,10 +15,6 @@ import jakarta.inject.Inject;
 import static org.junit.jupiter.api.Assertions.*;
 
 @KestraTest
-@DisabledIf(
-    value = "canNotBeEnabled",
-    disabledReason = "Needs Stripe API key to work"
-)
 class DetachMethodTest extends AbstractStripeTest {
 
     @Inject
@@ -27,21 +22,44 @@ class DetachMethodTest extends AbstractStripeTest {
 
     @Test
     void detachPaymentMethod() throws Exception {
-        // Wrap all Property fields
+        RunContext runContext = runContextFactory.of(Map.of());
+        String paymentMethodId = attachedCard(runContext, standIn.seedCustomers(1).getFirst());
+
         DetachMethod task = DetachMethod.builder()
             .apiKey(Property.ofValue(getApiKey()))
-            .paymentMethodId(Property.ofValue("pm_test_id"))
+            .apiBase(Property.ofValue(getApiBase()))
+            .paymentMethodId(Property.ofValue(paymentMethodId))
             .build();
 
-        RunContext runContext = runContextFactory.of(Map.of());
         DetachMethod.Output output = task.run(runContext);
 
-        assertNotNull(output.getId());
+        assertEquals(paymentMethodId, output.getId());
         // After detachment, customer should be null
         assertNull(output.getCustomer());
-        assertNotNull(output.getType());
-        assertNotNull(output.getRawResponse()); // ✅ use getRawResponse()
+        assertEquals("card", output.getType());
+        assertNotNull(output.getRawResponse());
+    }
 
-        System.out.println("Detached PaymentMethod ID: " + output.getId());
+    private String attachedCard(RunContext runContext, String customerId) throws Exception {
+        String paymentMethodId = CreateMethod.builder()
+            .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
+            .paymentMethodType(Property.ofValue("card"))
+            .cardNumber(Property.ofValue("4242424242424242"))
+            .expMonth(Property.ofValue(12L))
+            .expYear(Property.ofValue(2030L))
+            .cvc(Property.ofValue("123"))
+            .build()
+            .run(runContext)
+            .getPaymentMethodId();
+
+        AttachMethod.builder()
+            .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
+            .paymentMethodId(Property.ofValue(paymentMethodId))
+            .customerId(Property.ofValue(customerId))
+            .build()
+            .run(runContext);
+        return paymentMethodId;
     }
 }
@@ -0,0 +1,101 @@
+package io.kestra.plugin.stripe.payment;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContext;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.plugin.stripe.StripeStandIn;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+class ListIntentsIncrementalTest {
+    private static final Instant NOW = Instant.parse("2026-01-15T10:00:00Z");
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private StripeStandIn standIn;
+
+    @BeforeEach
+    void start() throws Exception {
+        standIn = StripeStandIn.start();
+    }
+
+    @AfterEach
+    void stop() {
+        standIn.close();
+    }
+
+    @Test
+    void exportsOnlyPaymentIntentsCreatedSinceThePreviousRun() throws Exception {
+        String namespace = "io.kestra.tests." + IdUtils.create().toLowerCase();
+        standIn.seedSucceededPaymentIntent(1000, "usd", NOW.minusSeconds(100));
+        standIn.seedSucceededPaymentIntent(1000, "usd", NOW.minusSeconds(50));
+        String sameSecond = (String) standIn.seedSucceededPaymentIntent(1000, "usd", NOW).get("id");
+
+        RunContext firstRun = runContext(namespace);
+        ListIntents.Output first = task().run(firstRun);
+
+        assertThat(first.getCount(), is(3));
+        assertThat(first.getWatermark(), is(NOW.getEpochSecond()));
+        assertThat(ids(firstRun, first), hasItem(sameSecond));
+
+        // Created in the watermark's second after the previous run, then later
+        String late = (String) standIn.seedSucceededPaymentIntent(1000, "usd", NOW).get("id");
+        String later = (String) standIn.seedSucceededPaymentIntent(1000, "usd", NOW.plusSeconds(10)).get("id");
+
+        RunContext secondRun = runContext(namespace);
+        ListIntents.Output second = task().run(secondRun);
+
+        assertThat(second.getCount(), is(2));
+        assertThat(second.getWatermark(), is(NOW.plusSeconds(10).getEpochSecond()));
+        assertThat(ids(secondRun, second), contains(later, late));
+
+        ListIntents.Output third = task().run(runContext(namespace));
+
+        assertThat(third.getCount(), is(0));
+        assertThat(third.getWatermark(), is(NOW.plusSeconds(10).getEpochSecond()));
+    }
+
+    private ListIntents task() {
+        return ListIntents.builder()
+            .id("export")
+            .type(ListIntents.class.getName())
+            .apiKey(Property.ofValue(StripeStandIn.API_KEY))
+            .apiBase(Property.ofValue(standIn.apiBase()))
+            .incremental(Property.ofValue(true))
+            .fields(Property.ofValue(List.of("id", "created")))
+            .build();
+    }
+
+    private RunContext runContext(String namespace) {
+        return runContextFactory.of(Map.of(
+            "flow", Map.of("tenantId", "main", "namespace", namespace, "id", "finance_sync")
+        ));
+    }
+
+    private static List<Object> ids(RunContext runContext, ListIntents.Output output) throws Exception {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(runContext.storage().getFile(output.getUri())))) {
+            return FileSerde.readAll(reader)
+                .map(row -> ((Map<?, ?>) row).get("id"))
+                .collectList()
+                .block();
+        }
+    }
+}
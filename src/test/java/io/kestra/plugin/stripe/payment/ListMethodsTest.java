@@ -3,7 +3,6 @@ package io.kestra.plugin.stripe.payment;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.condition.DisabledIf;
 
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
@@ -15,10 +14,6 @@ import jakarta.inject.Inject;
 import static org.junit.jupiter.api.Assertions.*;
 
 @KestraTest
-@DisabledIf(
-    value = "canNotBeEnabled",
-    disabledReason = "Needs Stripe API key to work"
-)
 class ListMethodsTest extends AbstractStripeTest {
 
     @Inject
@@ -26,19 +21,38 @@ class ListMethodsTest extends AbstractStripeTest {
 
     @Test
     void listPaymentMethods() throws Exception {
-        // You need a test customer with attached payment methods in Stripe dashboard
+        var runContext = runContextFactory.of(Map.of());
+        String customerId = standIn.seedCustomers(1).getFirst();
+        String paymentMethodId = CreateMethod.builder()
+            .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
+            .paymentMethodType(Property.ofValue("card"))
+            .cardNumber(Property.ofValue("4242424242424242"))
+            .expMonth(Property.ofValue(12L))
+            .expYear(Property.ofValue(2030L))
+            .cvc(Property.ofValue("123"))
+            .build()
+            .run(runContext)
+            .getPaymentMethodId();
+        AttachMethod.builder()
+            .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
+            .paymentMethodId(Property.ofValue(paymentMethodId))
+            .customerId(Property.ofValue(customerId))
+            .build()
+            .run(runContext);
+
         ListMethods task = ListMethods.builder()
             .apiKey(Property.ofValue(getApiKey()))
-            .customerId(Property.ofValue("cus_test_id"))
-            .type("card")
+            .apiBase(Property.ofValue(getApiBase()))
+            .customerId(Property.ofValue(customerId))
+            .paymentMethodType(Property.ofValue("card"))
             .build();
 
-        var runContext = runContextFactory.of(Map.of());
         ListMethods.Output output = task.run(runContext);
 
-        assertEquals("cus_test_id", output.getCustomerId());
-        assertNotNull(output.getPaymentMethodIds());
-        assertFalse(output.getPaymentMethodIds().isEmpty());
+        assertEquals(customerId, output.getCustomerId());
+        assertEquals(java.util.List.of(paymentMethodId), output.getPaymentMethodIds());
         assertNotNull(output.getRaw());
     }
 }
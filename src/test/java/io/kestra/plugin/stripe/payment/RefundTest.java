@@ -1,7 +1,6 @@
 package io.kestra.plugin.stripe.payment;
 
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.condition.DisabledIf;
 
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
@@ -15,10 +14,6 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.*;
 
 @KestraTest
-@DisabledIf(
-    value = "canNotBeEnabled",
-    disabledReason = "Needs Stripe API key to work"
-)
 class RefundTest extends AbstractStripeTest {
     @Inject
     private RunContextFactory runContextFactory;
@@ -26,17 +21,19 @@ class RefundTest extends AbstractStripeTest {
     @Test
     void run() throws Exception {
         RunContext runContext = runContextFactory.of();
+        String chargeId = (String) standIn.seedSucceededPaymentIntent(1000L, "usd").get("latest_charge");
 
-        // ⚠️ Replace with a real test Charge ID or PaymentIntent ID
         Refund task = Refund.builder()
             .apiKey(Property.ofValue(getApiKey()))
-            .chargeId(Property.ofValue("ch_test_123")) // Replace with a real test charge ID
-            .amount(Property.ofValue(500L)) // partial refund of $5.00 (if charge was more)
+            .apiBase(Property.ofValue(getApiBase()))
+            .chargeId(Property.ofValue(chargeId))
+            .amount(Property.ofValue(500L)) // partial refund of $5.00
             .build();
 
         Refund.Output output = task.run(runContext);
 
-        assertThat(output.getRefundId(), notNullValue());
+        assertThat(output.getRefundId(), startsWith("re_"));
+        assertThat(output.getAmount(), is(500L));
         assertThat(output.getStatus(), anyOf(equalTo("succeeded"), equalTo("pending")));
         assertThat(output.getRaw(), containsString("refund"));
     }
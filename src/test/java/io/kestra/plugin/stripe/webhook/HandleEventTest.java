@@ -3,7 +3,6 @@ package io.kestra.plugin.stripe.webhook;
 import java.util.Map;
 
 import org.junit.jupiter.api.Test;
-import org.junit.jupiter.api.condition.DisabledIf;
 
 import io.kestra.core.junit.annotations.KestraTest;
 import io.kestra.core.models.property.Property;
@@ -15,10 +14,6 @@ import jakarta.inject.Inject;
 import static org.junit.jupiter.api.Assertions.*;
 
 @KestraTest
-@DisabledIf(
-    value = "canNotBeEnabled",
-    disabledReason = "Needs Stripe API key to work"
-)
 class HandleEventTest extends AbstractStripeTest {
 
     @Inject
@@ -33,6 +28,7 @@ class HandleEventTest extends AbstractStripeTest {
 
         HandleEvent task = HandleEvent.builder()
             .apiKey(Property.ofValue(getApiKey()))
+            .apiBase(Property.ofValue(getApiBase()))
             .payload(Property.ofValue(testPayload))
             .signatureHeader(Property.ofValue(testSignature))
             .endpointSecret(Property.ofValue(testSecret))
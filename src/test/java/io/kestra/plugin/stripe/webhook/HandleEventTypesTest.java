@@ -0,0 +1,78 @@
+package io.kestra.plugin.stripe.webhook;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.stripe.net.Webhook;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+
+import jakarta.inject.Inject;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@KestraTest
+class HandleEventTypesTest {
+    private static final String SECRET = "whsec_stand_in";
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    @Test
+    void skipsOtherTypesAndHandlesMatchingOnes() throws Exception {
+        HandleEvent.Output skipped = task(event("evt_1", "invoice.created")).run(runContextFactory.of(Map.of()));
+        assertThat(skipped.getMatched(), is(false));
+        assertThat(skipped.getId(), is("evt_1"));
+        assertThat(skipped.getType(), is("invoice.created"));
+        assertThat(skipped.getData(), nullValue());
+
+        HandleEvent.Output handled = task(event("evt_2", "invoice.paid")).run(runContextFactory.of(Map.of()));
+        assertThat(handled.getMatched(), is(true));
+        assertThat(handled.getId(), is("evt_2"));
+        assertThat(handled.getType(), is("invoice.paid"));
+        assertThat(handled.getData().get("id"), is("in_evt_2"));
+        assertThat(((Number) handled.getData().get("amountPaid")).longValue(), is(1200L));
+    }
+
+    @Test
+    void rejectsForgedSignatureBeforeFiltering() {
+        HandleEvent task = task(event("evt_1", "invoice.created"), "t=1,v1=forged");
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> task.run(runContextFactory.of(Map.of())));
+        assertThat(exception.getMessage(), containsString("Invalid Stripe webhook signature"));
+    }
+
+    private static HandleEvent task(String payload) {
+        return task(payload, sign(payload));
+    }
+
+    private static HandleEvent task(String payload, String signature) {
+        return HandleEvent.builder()
+            .apiKey(Property.ofValue("sk_test_stand_in"))
+            .payload(Property.ofValue(payload))
+            .signatureHeader(Property.ofValue(signature))
+            .endpointSecret(Property.ofValue(SECRET))
+            .includeTypes(Property.ofValue(List.of("invoice.*")))
+            .excludeTypes(Property.ofValue(List.of("invoice.created")))
+            .build();
+    }
+
+    private static String event(String id, String type) {
+        return "{\"id\": \"" + id + "\", \"object\": \"event\", \"type\": \"" + type + "\", \"data\": {\"object\": {\"id\": \"in_" + id + "\", \"object\": \"invoice\", \"amount_paid\": 1200}}}";
+    }
+
+    private static String sign(String payload) {
+        long timestamp = Webhook.Util.getTimeNow();
+        try {
+            return "t=" + timestamp + ",v1=" + Webhook.Util.computeHmacSha256(SECRET, timestamp + "." + payload);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package io.kestra.plugin.stripe.webhook;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.junit.jupiter.api.Test;
+
+import com.stripe.net.Webhook;
+
+import io.kestra.core.junit.annotations.KestraTest;
+import io.kestra.core.models.conditions.ConditionContext;
+import io.kestra.core.models.executions.Execution;
+import io.kestra.core.models.property.Property;
+import io.kestra.core.runners.RunContextFactory;
+import io.kestra.core.serializers.FileSerde;
+import io.kestra.core.utils.Await;
+import io.kestra.core.utils.IdUtils;
+import io.kestra.core.utils.TestsUtils;
+
+import jakarta.inject.Inject;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.*;
+
+@KestraTest
+class RealtimeTriggerTest {
+    private static final String SECRET = "whsec_stand_in";
+
+    @Inject
+    private RunContextFactory runContextFactory;
+
+    private final HttpClient http = HttpClient.newHttpClient();
+
+    @Test
+    void verifiesFiltersAndBatchesEvents() throws Exception {
+        int port = freePort();
+        RealtimeTrigger trigger = RealtimeTrigger.builder()
+            .id("webhook_" + IdUtils.create())
+            .type(RealtimeTrigger.class.getName())
+            .endpointSecret(Property.ofValue(SECRET))
+            .port(Property.ofValue(port))
+            .includeTypes(Property.ofValue(List.of("invoice.*")))
+            .excludeTypes(Property.ofValue(List.of("invoice.created")))
+            .maxBatchSize(Property.ofValue(3))
+            .batchWindow(Property.ofValue(Duration.ofMinutes(1)))
+            .build();
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(runContextFactory, trigger);
+
+        List<Execution> executions = new CopyOnWriteArrayList<>();
+        Disposable subscription = Flux.from(trigger.evaluate(context.getKey(), context.getValue())).subscribe(executions::add);
+        try {
+            URI uri = URI.create("http://localhost:" + port + "/stripe/webhook");
+            Await.until(() -> reachable(uri), Duration.ofMillis(50), Duration.ofSeconds(10));
+
+            assertThat(post(uri, event("evt_forged", "invoice.paid"), "t=1,v1=forged").statusCode(), is(400));
+            assertThat(post(uri, event("evt_customer", "customer.created")).statusCode(), is(200));
+            assertThat(post(uri, event("evt_created", "invoice.created")).statusCode(), is(200));
+            assertThat(post(uri, event("evt_1", "invoice.paid")).statusCode(), is(200));
+            assertThat(post(uri, event("evt_2", "invoice.finalized")).statusCode(), is(200));
+            assertThat(post(uri, event("evt_3", "invoice.paid")).statusCode(), is(200));
+
+            Await.until(() -> executions.size() == 1, Duration.ofMillis(50), Duration.ofSeconds(10));
+            assertThat(executions.getFirst().getTrigger().getVariables().get("count"), is(3));
+            assertThat(eventIds(context.getKey(), executions.getFirst()), contains("evt_1", "evt_2", "evt_3"));
+
+            // Stopping flushes the partial batch of events already acknowledged to Stripe
+            assertThat(post(uri, event("evt_4", "invoice.paid")).statusCode(), is(200));
+            trigger.stop();
+            Await.until(() -> executions.size() == 2, Duration.ofMillis(50), Duration.ofSeconds(10));
+            assertThat(executions.get(1).getTrigger().getVariables().get("count"), is(1));
+            assertThat(eventIds(context.getKey(), executions.get(1)), contains("evt_4"));
+        } finally {
+            trigger.kill();
+            subscription.dispose();
+        }
+    }
+
+    @Test
+    void flushesPartialBatchAfterTheDefaultWindow() throws Exception {
+        int port = freePort();
+        RealtimeTrigger trigger = RealtimeTrigger.builder()
+            .id("webhook_" + IdUtils.create())
+            .type(RealtimeTrigger.class.getName())
+            .endpointSecret(Property.ofValue(SECRET))
+            .port(Property.ofValue(port))
+            .maxBatchSize(Property.ofValue(100))
+            .build();
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(runContextFactory, trigger);
+
+        List<Execution> executions = new CopyOnWriteArrayList<>();
+        Disposable subscription = Flux.from(trigger.evaluate(context.getKey(), context.getValue())).subscribe(executions::add);
+        try {
+            URI uri = URI.create("http://localhost:" + port + "/stripe/webhook");
+            Await.until(() -> reachable(uri), Duration.ofMillis(50), Duration.ofSeconds(10));
+
+            assertThat(post(uri, event("evt_1", "invoice.paid")).statusCode(), is(200));
+            assertThat(post(uri, event("evt_2", "customer.created")).statusCode(), is(200));
+
+            // Without batchWindow, a batch far from full still starts its execution
+            Await.until(() -> executions.size() == 1, Duration.ofMillis(100), Duration.ofSeconds(30));
+            assertThat(executions.getFirst().getTrigger().getVariables().get("count"), is(2));
+            assertThat(eventIds(context.getKey(), executions.getFirst()), contains("evt_1", "evt_2"));
+        } finally {
+            trigger.kill();
+            subscription.dispose();
+        }
+    }
+
+    @Test
+    void rejectsUnsignedAndOversizedCalls() throws Exception {
+        int port = freePort();
+        RealtimeTrigger trigger = RealtimeTrigger.builder()
+            .id("webhook_" + IdUtils.create())
+            .type(RealtimeTrigger.class.getName())
+            .endpointSecret(Property.ofValue(SECRET))
+            .port(Property.ofValue(port))
+            .build();
+        Map.Entry<ConditionContext, io.kestra.core.models.triggers.Trigger> context = TestsUtils.mockTrigger(runContextFactory, trigger);
+
+        List<Execution> executions = new CopyOnWriteArrayList<>();
+        Disposable subscription = Flux.from(trigger.evaluate(context.getKey(), context.getValue())).subscribe(executions::add);
+        try {
+            URI uri = URI.create("http://localhost:" + port + "/stripe/webhook");
+            Await.until(() -> reachable(uri), Duration.ofMillis(50), Duration.ofSeconds(10));
+
+            HttpRequest unsigned = HttpRequest.newBuilder(uri)
+                .POST(HttpRequest.BodyPublishers.ofString(event("evt_unsigned", "invoice.paid")))
+                .build();
+            assertThat(http.send(unsigned, HttpResponse.BodyHandlers.ofString()).statusCode(), is(400));
+
+            String oversized = "{\"id\": \"evt_large\", \"type\": \"invoice.paid\", \"padding\": \""
+                + "x".repeat(RealtimeTrigger.MAX_PAYLOAD_BYTES) + "\"}";
+            assertThat(post(uri, oversized).statusCode(), is(413));
+
+            assertThat(post(uri, event("evt_1", "invoice.paid")).statusCode(), is(200));
+            Await.until(() -> executions.size() == 1, Duration.ofMillis(50), Duration.ofSeconds(10));
+            assertThat(eventIds(context.getKey(), executions.getFirst()), contains("evt_1"));
+        } finally {
+            trigger.kill();
+            subscription.dispose();
+        }
+    }
+
+    private static List<Object> eventIds(ConditionContext conditionContext, Execution execution) throws Exception {
+        URI uri = URI.create((String) execution.getTrigger().getVariables().get("uri"));
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(conditionContext.getRunContext().storage().getFile(uri)))) {
+            return FileSerde.readAll(reader)
+                .map(row -> ((Map<?, ?>) row).get("id"))
+                .collectList()
+                .block();
+        }
+    }
+
+    private static String event(String id, String type) {
+        return "{\"id\": \"" + id + "\", \"object\": \"event\", \"type\": \"" + type + "\", \"data\": {\"object\": {\"id\": \"in_" + id + "\"}}}";
+    }
+
+    private HttpResponse<String> post(URI uri, String payload) throws Exception {
+        long timestamp = Webhook.Util.getTimeNow();
+        return post(uri, payload, "t=" + timestamp + ",v1=" + Webhook.Util.computeHmacSha256(SECRET, timestamp + "." + payload));
+    }
+
+    private HttpResponse<String> post(URI uri, String payload, String signature) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(uri)
+            .header("Stripe-Signature", signature)
+            .POST(HttpRequest.BodyPublishers.ofString(payload))
+            .build();
+        return http.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private boolean reachable(URI uri) {
+        try {
+            return http.send(HttpRequest.newBuilder(uri).GET().build(), HttpResponse.BodyHandlers.discarding()).statusCode() == 405;
+        } catch (Exception e) {
+            return false;
+        }
+    }
+
+    private static int freePort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}